@@ -7,6 +7,7 @@ import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamRead
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Created by John on 9/9/14.
@@ -45,7 +46,9 @@ public interface StringBasedAlignerFactory {
 
 
     /**
-     * Create a StringBasedAlignerFactory based on a SequenceStreamREader.
+     * Create a StringBasedAlignerFactory based on a SequenceStreamREader. Records are encoded in parallel and added
+     * in file order. A record that could not be encoded fails with an {@link InvalidDnaFormatException}, unless the
+     * reader was built to skip them.
      *
      * @param sequenceReader the SequenceStreamReader
      * @return the StringBasedAlignerFactory
@@ -53,9 +56,20 @@ public interface StringBasedAlignerFactory {
      * @throws java.io.IOException
      */
     default public PatternFirstAligner create(final SequenceStreamReader sequenceReader) throws IOException, InvalidDnaFormatException {
+        return create(sequenceReader.parallelStream());
+    }
+
+    /**
+     * Create a PatternFirstAligner from a stream of sequences, such as the stream of a {@link
+     * com.vitreoussoftware.bioinformatics.sequence.io.reader.ShardedSequenceSource}. The sequences are added one at
+     * a time, in order if the stream is ordered, while the stream may produce them in parallel.
+     *
+     * @param patterns the sequences
+     * @return the PatternFirstAligner for those sequences
+     */
+    default public PatternFirstAligner create(final Stream<Sequence> patterns) {
         final PatternFirstAligner aligner = create();
-        while (sequenceReader.hasNext())
-            aligner.addPattern(sequenceReader.next().orElseThrow(() -> new RuntimeException("TODO update this exception")));
+        patterns.forEachOrdered(aligner::addPattern);
 
         return aligner;
     }
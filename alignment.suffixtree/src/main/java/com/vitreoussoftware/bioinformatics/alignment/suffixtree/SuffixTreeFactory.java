@@ -6,6 +6,7 @@ import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamRead
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Create an instance of a Suffix Tree for use.
@@ -46,7 +47,9 @@ public interface SuffixTreeFactory {
 
 
     /**
-     * Create a SuffixTree based on a SequenceStreamREader.
+     * Create a SuffixTree based on a SequenceStreamREader. Records are encoded in parallel and added in file order.
+     * A record that could not be encoded fails with an {@link InvalidDnaFormatException}, unless the reader was built to
+     * skip them.
      *
      * @param sequenceReader the SequenceStreamReader
      * @return the SuffixTree
@@ -54,9 +57,20 @@ public interface SuffixTreeFactory {
      * @throws IOException
      */
     default public SuffixTree create(final SequenceStreamReader sequenceReader) throws IOException, InvalidDnaFormatException {
+        return create(sequenceReader.parallelStream());
+    }
+
+    /**
+     * Create a SuffixTree from a stream of sequences, such as the stream of a {@link
+     * com.vitreoussoftware.bioinformatics.sequence.io.reader.ShardedSequenceSource}. The sequences are added one at
+     * a time, in order if the stream is ordered, while the stream may produce them in parallel.
+     *
+     * @param texts the sequences
+     * @return the SuffixTree for those sequences
+     */
+    default public SuffixTree create(final Stream<Sequence> texts) {
         final SuffixTree tree = create();
-        while (sequenceReader.hasNext())
-            tree.addText(sequenceReader.next().orElseThrow(() -> new RuntimeException("TODO update this exception")));
+        texts.forEachOrdered(tree::addText);
 
         return tree;
     }
@@ -1,8 +1,6 @@
 package com.vitreoussoftware.bioinformatics.sequence.generator;
 
-import com.vitreoussoftware.bioinformatics.sequence.BasePair;
 import com.vitreoussoftware.bioinformatics.sequence.Sequence;
-import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
 import com.vitreoussoftware.bioinformatics.sequence.generator.distribution.ConditionalDistribution;
 import com.vitreoussoftware.bioinformatics.sequence.generator.distribution.Distribution;
 import com.vitreoussoftware.bioinformatics.sequence.generator.distribution.discrete.UniformDistribution;
@@ -10,11 +8,12 @@ import lombok.Builder;
 import lombok.NonNull;
 import lombok.val;
 
-import java.util.LinkedList;
-
 /**
  * Generate {@link Sequence} reads from some sample {@link Sequence} based on user configuration.
  * <p>
+ * Reads are views of the source rather than copies, so they keep the metadata of the source. Flipped reads are the
+ * reverse complement of the sampled window, as a read from the opposite strand would be.
+ * <p>
  * Created by John on 10/25/2016.
  */
 public final class ReadGenerator implements ConditionalDistribution<Sequence, Sequence> {
@@ -42,7 +41,7 @@ public final class ReadGenerator implements ConditionalDistribution<Sequence, Se
 
     /**
      * Construct a {@link ReadGenerator} from the given arguments.
-     * @param flipDistribution models the probability that the read will be a reverse of the source
+     * @param flipDistribution models the probability that the read will be the reverse complement of the source
      * @param lengthDistribution models the expected length of sample reads
      * @param startPointDistribution models the starting position of sample reads
      */
@@ -80,18 +79,11 @@ public final class ReadGenerator implements ConditionalDistribution<Sequence, Se
         if (attempts == MAX_RETRIES)
             throw new IllegalArgumentException("Unable to generate a sample read. Please correct your source and/or distributions.");
 
-        val flip = flipDistribution.sample();
-        val list = new LinkedList<BasePair>();
-
-        for (int i = startPoint; i < startPoint + length; i++) {
-            val basePair = source.get(i);
-            if (flip)
-                list.add(basePair.complement());
-            else
-                list.add(basePair);
-        }
+        val read = source.subSequence(startPoint, startPoint + length);
+        if (flipDistribution.sample())
+            return read.reverseComplement();
 
-        return BasicSequence.create(list).get();
+        return read;
     }
 
     /**
@@ -71,6 +71,60 @@ public class ReadGeneratorTest {
         assertThat(read.get(0), is(basePair.complement()));
     }
 
+    /**
+     * Test that flipped reads are the reverse complement of the source
+     */
+    @Test
+    public void testSampleFlippedIsReverseComplement() {
+        val source = BasicSequence.create("AACGTTTG", SCHEME).get();
+        val generator = ReadGenerator.builder()
+                .flipDistribution(() -> true)
+                .lengthDistribution(() -> 5)
+                .startPointDistribution(() -> 1)
+                .build();
+
+        val read = generator.sample(source);
+
+        assertThat(read.toString(), is("AACGT"));
+    }
+
+    /**
+     * Test that flipped reads are reversed as well as complemented, rather than complemented in place
+     */
+    @Test
+    public void testSampleFlippedOrientation() {
+        val source = BasicSequence.create("AACGTTTG", SCHEME).get();
+        val generator = ReadGenerator.builder()
+                .flipDistribution(() -> true)
+                .lengthDistribution(() -> 3)
+                .startPointDistribution(() -> 0)
+                .build();
+
+        val read = generator.sample(source);
+
+        // the window is AAC, complementing in place would give TTG
+        assertThat(read.toString(), is("GTT"));
+        assertThat(read.get(0), is(SCHEME.fromCharacter('G')));
+        assertThat(read.get(2), is(SCHEME.fromCharacter('T')));
+    }
+
+    /**
+     * Test that reads, flipped or not, keep the metadata of the source
+     */
+    @Test
+    public void testSampleKeepsMetadata() {
+        val source = BasicSequence.create("source", "AACGTTTG", SCHEME).get();
+        for (final boolean flip : new boolean[]{false, true}) {
+            val generator = ReadGenerator.builder()
+                    .flipDistribution(() -> flip)
+                    .lengthDistribution(() -> 3)
+                    .startPointDistribution(() -> 2)
+                    .build();
+
+            assertThat(generator.sample(source).getMetadata(), is("source"));
+        }
+    }
+
     /**
      * Test that we can sample repeatedly for a set of valid distributions
      */
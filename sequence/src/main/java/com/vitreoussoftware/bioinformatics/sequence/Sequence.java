@@ -1,10 +1,18 @@
 package com.vitreoussoftware.bioinformatics.sequence;
 
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.view.CharSequenceView;
+import com.vitreoussoftware.bioinformatics.sequence.view.ReverseComplementView;
+import com.vitreoussoftware.bioinformatics.sequence.view.SubSequenceView;
 import com.vitreoussoftware.collections.Streamable;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -25,6 +33,156 @@ public interface Sequence extends Iterable<BasePair>, Streamable<BasePair> {
      */
     public BasePair get(int index);
 
+    /**
+     * Get the encoded byte value of the BasePair at the specified index, as defined by {@link #getEncodingScheme()}.
+     * This skips the construction of the {@link BasePair} for callers that only need the value.
+     *
+     * @param index the index to get the value from
+     * @return the encoded byte value
+     */
+    public default byte getValue(final int index) {
+        return get(index).getValue();
+    }
+
+    /**
+     * Copy a range of the encoded byte values, as defined by {@link #getEncodingScheme()}, into the destination
+     *
+     * @param from        the index of the first value to copy
+     * @param destination the array to copy the values into
+     * @param offset      the position in the destination to start writing at
+     * @param length      the number of values to copy
+     * @throws IndexOutOfBoundsException the range is outside of the sequence or the destination
+     */
+    public default void copyValues(final int from, final byte[] destination, final int offset, final int length) {
+        Sequences.checkRange(this, from, length);
+        if (offset < 0 || offset + length > destination.length)
+            throw new IndexOutOfBoundsException("Destination of length " + destination.length + " cannot hold " + length + " values from " + offset);
+
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = getValue(from + i);
+        }
+    }
+
+    /**
+     * Get a read only {@link ByteBuffer} of the encoded byte values, as defined by {@link #getEncodingScheme()}.
+     * Implementations backed by a byte array return a view of it, others return a copy.
+     *
+     * @return the read only {@link ByteBuffer}, positioned at the start of the sequence
+     */
+    public default ByteBuffer asByteBuffer() {
+        final byte[] values = new byte[length()];
+        copyValues(0, values, 0, values.length);
+        return ByteBuffer.wrap(values).asReadOnlyBuffer();
+    }
+
+    /**
+     * Create a stream of the encoded byte values, as defined by {@link #getEncodingScheme()}
+     *
+     * @return an {@link IntStream} of the values
+     */
+    public default IntStream values() {
+        return IntStream.range(0, length()).map(this::getValue);
+    }
+
+    /**
+     * Get a {@link CharSequence} view of the nucleotides of this sequence, decoded on demand rather than copied into
+     * a String
+     *
+     * @return the {@link CharSequence} view
+     */
+    public default CharSequence asCharSequence() {
+        return CharSequenceView.of(this);
+    }
+
+    /**
+     * Decode a range of the nucleotides of this sequence into the destination
+     *
+     * @param from        the index of the first nucleotide to write
+     * @param length      the number of nucleotides to write
+     * @param destination the array to write the characters into
+     * @param offset      the position in the destination to start writing at
+     * @throws IndexOutOfBoundsException the range is outside of the sequence or the destination
+     */
+    public default void writeTo(final int from, final int length, final char[] destination, final int offset) {
+        Sequences.checkRange(this, from, length);
+        if (offset < 0 || offset + length > destination.length)
+            throw new IndexOutOfBoundsException("Destination of length " + destination.length + " cannot hold " + length + " values from " + offset);
+
+        final EncodingScheme encodingScheme = getEncodingScheme();
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = encodingScheme.toChar(getValue(from + i));
+        }
+    }
+
+    /**
+     * Decode all of the nucleotides of this sequence into the destination
+     *
+     * @param destination the array to write the characters into
+     * @param offset      the position in the destination to start writing at
+     * @throws IndexOutOfBoundsException the destination cannot hold the sequence
+     */
+    public default void writeTo(final char[] destination, final int offset) {
+        writeTo(0, length(), destination, offset);
+    }
+
+    /**
+     * Decode all of the nucleotides of this sequence into the destination, without building a String
+     *
+     * @param destination where to write the characters
+     * @throws IOException the destination failed to accept the characters
+     */
+    public default void writeTo(final Appendable destination) throws IOException {
+        Sequences.writeTo(this, destination);
+    }
+
+    /**
+     * Write all of the nucleotides of this sequence into the destination as ASCII bytes
+     *
+     * @param destination the buffer to write into, starting at its current position
+     * @throws BufferOverflowException the destination does not have room for the whole sequence, nothing is written
+     */
+    public default void writeTo(final ByteBuffer destination) {
+        if (destination.remaining() < length())
+            throw new BufferOverflowException();
+
+        final EncodingScheme encodingScheme = getEncodingScheme();
+        for (int i = 0; i < length(); i++) {
+            destination.put((byte) encodingScheme.toChar(getValue(i)));
+        }
+    }
+
+    /**
+     * Get a view of the range [start, end) of this sequence. The view shares the data of this sequence rather than
+     * copying it, and keeps the metadata of this sequence.
+     *
+     * @param start the index of the first element of the view, inclusive
+     * @param end   the index of the end of the view, exclusive
+     * @return the view
+     * @throws IndexOutOfBoundsException the range is outside of the sequence
+     * @throws IllegalArgumentException  the range is empty
+     */
+    public default Sequence subSequence(final int start, final int end) {
+        return SubSequenceView.of(this, start, end);
+    }
+
+    /**
+     * Get a view of the reverse complement of this sequence. The view reads the data of this sequence rather than
+     * copying it, use {@link com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence#copyOf(Sequence)} for a
+     * materialized copy.
+     *
+     * @return the view
+     */
+    public default Sequence reverseComplement() {
+        return ReverseComplementView.of(this);
+    }
+
+    /**
+     * Get the {@link EncodingScheme} that the values of this sequence are encoded with
+     *
+     * @return the {@link EncodingScheme}
+     */
+    public EncodingScheme getEncodingScheme();
+
     /**
      * Get the metadata string for the sequence
      *
@@ -38,6 +196,17 @@ public interface Sequence extends Iterable<BasePair>, Streamable<BasePair> {
     @Override
     public int hashCode();
 
+    /**
+     * A 64 bit fingerprint of the nucleotides of the sequence. Unlike {@link #hashCode()} it does not depend on the
+     * {@link EncodingScheme}, so sequences that are {@link #equals(Object)} share a fingerprint. Implementations
+     * cache it so deduplicating large sequences only scans them once.
+     *
+     * @return the fingerprint
+     */
+    public default long fingerprint() {
+        return Sequences.fingerprint(this);
+    }
+
     @Override
     public boolean equals(Object obj);
 
@@ -212,7 +381,7 @@ public interface Sequence extends Iterable<BasePair>, Streamable<BasePair> {
 
         @Override
         public long estimateSize() {
-            return (fence - origin) / 2;
+            return fence - origin;
         }
 
         @Override
@@ -29,6 +29,20 @@ public interface SequenceFactory {
      */
     Optional<Sequence> fromString(String metadata, String sequence) throws InvalidDnaFormatException;
 
+    /**
+     * Create a Sequence object from string input that carries quality scores. Factories for formats without quality
+     * scores ignore them.
+     *
+     * @param metadata the string metadata
+     * @param sequence the string sequence to process
+     * @param quality  the Phred+33 encoded quality scores, empty if there are none
+     * @return the sequence object
+     * @throws InvalidDnaFormatException
+     */
+    default Optional<Sequence> fromString(final String metadata, final String sequence, final String quality) throws InvalidDnaFormatException {
+        return fromString(metadata, sequence);
+    }
+
     /**
      * Create a Sequence object from another sequence object.
      * Used for changing encoding schemes.
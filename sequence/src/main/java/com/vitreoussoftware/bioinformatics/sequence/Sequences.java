@@ -0,0 +1,165 @@
+package com.vitreoussoftware.bioinformatics.sequence;
+
+import lombok.val;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Shared logic for {@link Sequence} implementations so that different representations of the same data agree with
+ * each other.
+ */
+public final class Sequences {
+    /**
+     * The mixing constants of the xxHash64 rounds used by {@link #fingerprint(Sequence)}
+     */
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * How many values {@link #fingerprint(Sequence)} decodes at a time, a multiple of the 8 characters in a round
+     */
+    private static final int FINGERPRINT_CHUNK = 8 * 1024;
+
+    /**
+     * How many characters {@link #writeTo(Sequence, Appendable)} decodes at a time
+     */
+    private static final int WRITE_CHUNK = 8 * 1024;
+
+    /**
+     * This class should never be instantiated, it is just a holder for shared {@link Sequence} logic
+     */
+    private Sequences() {
+    }
+
+    /**
+     * Ensure that a range falls inside of a {@link Sequence}
+     *
+     * @param sequence the {@link Sequence} the range is in
+     * @param from     the index of the start of the range
+     * @param length   the length of the range
+     * @throws IndexOutOfBoundsException the range is outside of the sequence
+     */
+    public static void checkRange(final Sequence sequence, final int from, final int length) {
+        // compared without adding, from + length can overflow
+        if (from < 0 || length < 0 || from > sequence.length() - length)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + ((long) from + length) + ") is outside of the Sequence of length " + sequence.length());
+    }
+
+    /**
+     * Compute the hash code of a {@link Sequence} from its nucleotides. Every implementation uses this, and it is
+     * folded from {@link Sequence#fingerprint()} so it ignores the
+     * {@link com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme} just like
+     * {@link #contentEquals(Sequence, Sequence)} does, and equal data hashes the same regardless of how it is stored.
+     *
+     * @param sequence the {@link Sequence} to hash
+     * @return the hash code
+     */
+    public static int hashCode(final Sequence sequence) {
+        final long fingerprint = sequence.fingerprint();
+        return (int) (fingerprint ^ (fingerprint >>> 32));
+    }
+
+    /**
+     * Compare the nucleotides of two {@link Sequence}s one position at a time without building any intermediate
+     * Strings. Works across implementations and {@link com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme}s,
+     * when the schemes differ the decoded characters are compared instead of the byte values. {@link #hashCode(Sequence)}
+     * agrees with it, so hash based collections deduplicate across schemes.
+     *
+     * @param sequenceA the first {@link Sequence}
+     * @param sequenceB the second {@link Sequence}
+     * @return true if both contain the same nucleotides
+     */
+    public static boolean contentEquals(final Sequence sequenceA, final Sequence sequenceB) {
+        if (sequenceA == sequenceB)
+            return true;
+        if (sequenceA.length() != sequenceB.length())
+            return false;
+
+        val schemeA = sequenceA.getEncodingScheme();
+        val schemeB = sequenceB.getEncodingScheme();
+        if (schemeA.equals(schemeB)) {
+            for (int i = 0; i < sequenceA.length(); i++) {
+                if (sequenceA.getValue(i) != sequenceB.getValue(i))
+                    return false;
+            }
+            return true;
+        }
+
+        for (int i = 0; i < sequenceA.length(); i++) {
+            if (schemeA.toChar(sequenceA.getValue(i)) != schemeB.toChar(sequenceB.getValue(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decode the nucleotides of a {@link Sequence} into an {@link Appendable} a chunk at a time, so the full String is
+     * never built. {@link Writer}s are handed the decoded characters directly.
+     *
+     * @param sequence    the {@link Sequence} to write
+     * @param destination where to write the characters
+     * @throws IOException the destination failed to accept the characters
+     */
+    public static void writeTo(final Sequence sequence, final Appendable destination) throws IOException {
+        final int length = sequence.length();
+        final char[] characters = new char[Math.min(length, WRITE_CHUNK)];
+
+        for (int from = 0; from < length; from += characters.length) {
+            final int count = Math.min(characters.length, length - from);
+            sequence.writeTo(from, count, characters, 0);
+
+            if (destination instanceof Writer)
+                ((Writer) destination).write(characters, 0, count);
+            else
+                destination.append(CharBuffer.wrap(characters, 0, count));
+        }
+    }
+
+    /**
+     * Compute a 64 bit fingerprint of the nucleotides of a {@link Sequence} using xxHash64 style rounds. The
+     * fingerprint is computed from the character representation so it is the same for any implementation or
+     * {@link com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme} holding the same nucleotides.
+     *
+     * @param sequence the {@link Sequence} to fingerprint
+     * @return the fingerprint
+     */
+    public static long fingerprint(final Sequence sequence) {
+        final int length = sequence.length();
+        final byte[] values = new byte[Math.min(length, FINGERPRINT_CHUNK)];
+        final char[] characters = new char[values.length];
+
+        long hash = PRIME_5 + length;
+        for (int from = 0; from < length; from += values.length) {
+            final int count = Math.min(values.length, length - from);
+            sequence.copyValues(from, values, 0, count);
+            sequence.getEncodingScheme().decode(values, 0, count, characters, 0);
+
+            // every chunk but the last is a whole number of rounds, so only the final one has a tail
+            int i = 0;
+            for (; i + Long.BYTES <= count; i += Long.BYTES) {
+                long word = 0;
+                for (int j = 0; j < Long.BYTES; j++) {
+                    word |= ((long) characters[i + j] & 0xFF) << (j * Byte.SIZE);
+                }
+                hash ^= Long.rotateLeft(word * PRIME_2, 31) * PRIME_1;
+                hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+            }
+            for (; i < count; i++) {
+                hash ^= ((long) characters[i] & 0xFF) * PRIME_5;
+                hash = Long.rotateLeft(hash, 11) * PRIME_1;
+            }
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+}
@@ -4,11 +4,12 @@ import com.google.common.base.Preconditions;
 import com.vitreoussoftware.bioinformatics.sequence.BasePair;
 import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
 import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.Sequences;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
 import lombok.NonNull;
 import lombok.val;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,17 +21,51 @@ import java.util.Optional;
 public final class BasicSequence implements Sequence {
     @NonNull
     private final byte[] sequence;
+    /**
+     * The position in the backing array of the first element, non-zero only for views created by {@link #subSequence(int, int)}
+     */
+    private final int offset;
+    private final int length;
     @NonNull
     private final EncodingScheme encodingScheme;
     private final String metadata;
 
+    /**
+     * Cache of {@link #hashCode()}, 0 until it is first computed
+     */
+    private int hash;
+
+    /**
+     * Cache of {@link #fingerprint()}, 0 until it is first computed
+     */
+    private long fingerprint;
+
     private BasicSequence(final EncodingScheme encodingSheme, final int size, final String metadata) {
         Preconditions.checkArgument(size > 0, "Cannot construct an empty Sequence");
         this.sequence = new byte[size];
+        this.offset = 0;
+        this.length = size;
         this.encodingScheme = encodingSheme;
         this.metadata = metadata;
     }
 
+    /**
+     * Create a view that shares the backing array of the parent
+     *
+     * @param parent the {@link BasicSequence} to share the data of
+     * @param start  the index in the parent of the first element of the view, inclusive
+     * @param end    the index in the parent of the end of the view, exclusive
+     */
+    private BasicSequence(final BasicSequence parent, final int start, final int end) {
+        Preconditions.checkArgument(end > start, "Cannot construct an empty Sequence");
+        Sequences.checkRange(parent, start, end - start);
+        this.sequence = parent.sequence;
+        this.offset = parent.offset + start;
+        this.length = end - start;
+        this.encodingScheme = parent.encodingScheme;
+        this.metadata = parent.metadata;
+    }
+
     /**
      * Create a new Sequence from a l{@link List<BasePair>}. We assume the first {@link BasePair} represents the
      * {@link EncodingScheme} of the whole {@link List<BasePair>}. If you have mixed {@link EncodingScheme} in the
@@ -93,26 +128,105 @@ public final class BasicSequence implements Sequence {
 
     public static Sequence createWithError(final String metadata, final String sequence, final EncodingScheme encodingSheme) throws InvalidDnaFormatException {
         val seq = new BasicSequence(encodingSheme, sequence.length(), metadata);
+        encodingSheme.encode(sequence, seq.sequence);
 
-        for (int i = 0; i < sequence.length(); i++) {
-            seq.sequence[i] = encodingSheme.getValue(sequence.charAt(i));
-        }
+        return seq;
+    }
+
+    /**
+     * Create a new Sequence holding a copy of the values of an existing {@link Sequence}. Use this to materialize a
+     * view such as {@link Sequence#reverseComplement()} when it will be read many times.
+     *
+     * @param sequence the {@link Sequence} to copy
+     * @return the copied sequence
+     */
+    public static Sequence copyOf(@NonNull final Sequence sequence) {
+        val seq = new BasicSequence(sequence.getEncodingScheme(), sequence.length(), sequence.getMetadata());
+        sequence.copyValues(0, seq.sequence, 0, seq.length);
 
         return seq;
     }
 
+    /**
+     * Create a new Sequence holding a copy of a range of values that are already encoded by the given encoding scheme.
+     * Lets readers that encode while they parse skip building a String first.
+     *
+     * @param metadata       the string metadata for the sequence
+     * @param values         the encoded values
+     * @param offset         the position of the first value to copy
+     * @param length         the number of values to copy
+     * @param encodingScheme the scheme the values were encoded with
+     * @return the sequence
+     * @throws IndexOutOfBoundsException the range is outside of the values
+     */
+    public static Sequence copyOf(final String metadata, @NonNull final byte[] values, final int offset, final int length, @NonNull final EncodingScheme encodingScheme) {
+        if (offset < 0 || length < 0 || offset + length > values.length)
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ") is outside of the values of length " + values.length);
+
+        val seq = new BasicSequence(encodingScheme, length, metadata);
+        System.arraycopy(values, offset, seq.sequence, 0, length);
+
+        return seq;
+    }
+
+
+    /**
+     * Convert an index in the sequence to a position in the backing array
+     *
+     * @param index the index in the sequence
+     * @return the position in the backing array
+     */
+    private int position(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the Sequence of length " + length);
+
+        return offset + index;
+    }
 
     @Override
     public BasePair get(final int index) {
+        final byte value = sequence[position(index)];
         try {
-            return this.encodingScheme.toBasePair(sequence[index]);
+            return this.encodingScheme.toBasePair(value);
         } catch (final InvalidDnaFormatException e) {
             // this should not have happened because we encoded everything using this scheme already
             e.printStackTrace();
-            throw new InvalidDnaFormatException("We failed to decode a value that was previously encoded in by the same encoding scheme, for value: " + sequence[index] + " encoding scheme " + this.encodingScheme.getClass().getName());
+            throw new InvalidDnaFormatException("We failed to decode a value that was previously encoded in by the same encoding scheme, for value: " + value + " encoding scheme " + this.encodingScheme.getClass().getName());
         }
     }
 
+    @Override
+    public byte getValue(final int index) {
+        return sequence[position(index)];
+    }
+
+    @Override
+    public void copyValues(final int from, final byte[] destination, final int offset, final int length) {
+        Sequences.checkRange(this, from, length);
+        System.arraycopy(sequence, this.offset + from, destination, offset, length);
+    }
+
+    @Override
+    public void writeTo(final int from, final int length, final char[] destination, final int offset) {
+        Sequences.checkRange(this, from, length);
+        this.encodingScheme.decode(sequence, this.offset + from, length, destination, offset);
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(sequence, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public Sequence subSequence(final int start, final int end) {
+        return new BasicSequence(this, start, end);
+    }
+
+    @Override
+    public EncodingScheme getEncodingScheme() {
+        return this.encodingScheme;
+    }
+
     @Override
     public String getMetadata() {
         return this.metadata;
@@ -120,25 +234,35 @@ public final class BasicSequence implements Sequence {
 
     @Override
     public String toString() {
-        val sb = new StringBuilder();
+        final char[] characters = new char[length];
         try {
-            for (final byte bp : sequence) {
-                sb.append(this.encodingScheme.toString(bp));
-            }
+            writeTo(characters, 0);
         } catch (final InvalidDnaFormatException e) {
             // this should never fail since the encoding came from the encapsulated BasePair
             e.printStackTrace();
             throw new InvalidDnaFormatException("We hit an unknown basepair encoding converting to string", e);
         }
-        return sb.toString();
+        return new String(characters);
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + encodingScheme.getClass().getName().hashCode();
-        result = prime * result + Arrays.hashCode(sequence);
+        // racy single check like String, every thread computes the same value so a lost write only costs a rescan
+        int result = hash;
+        if (result == 0) {
+            result = Sequences.hashCode(this);
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = Sequences.fingerprint(this);
+            fingerprint = result;
+        }
         return result;
     }
 
@@ -151,22 +275,31 @@ public final class BasicSequence implements Sequence {
         if (!(obj instanceof Sequence))
             return false;
         if (!(obj instanceof BasicSequence)) {
-            // We don't really want to hit this as it slows the system down, but it should be uncommon to mix sequence types
-            return obj.toString().equals(toString());
+            // compare nucleotide by nucleotide through the shared Sequence accessors
+            return Sequences.contentEquals(this, (Sequence) obj);
         }
         val other = (BasicSequence) obj;
         if (this.encodingScheme == null || other.encodingScheme == null)
             return false;
         if (!encodingScheme.equals(other.encodingScheme)) {
-            // We don't really want to hit this as it slows the system down, but it should be uncommon to mix encoding schemes
-            return obj.toString().equals(toString());
+            // the byte values differ between encoding schemes so compare the decoded nucleotides
+            return Sequences.contentEquals(this, other);
         }
 
-        return Arrays.equals(sequence, other.sequence);
+        if (length != other.length)
+            return false;
+        if (sequence == other.sequence && offset == other.offset)
+            return true;
+
+        for (int i = 0; i < length; i++) {
+            if (sequence[offset + i] != other.sequence[other.offset + i])
+                return false;
+        }
+        return true;
     }
 
     @Override
     public int length() {
-        return this.sequence.length;
+        return this.length;
     }
 }
@@ -20,7 +20,9 @@ public interface SequenceCollectionFactory {
     public Collection<Sequence> getSequenceCollection();
 
     /**
-     * Creates a Sequence collection from the given SequenceStreamReader
+     * Creates a Sequence collection from the given SequenceStreamReader. Records are encoded in parallel and added in
+     * file order. A record that could not be encoded fails with an {@link InvalidDnaFormatException}, unless the reader
+     * was built to skip them.
      *
      * @param reader the sequence reader
      * @return the collection built from the reader
@@ -29,9 +31,7 @@ public interface SequenceCollectionFactory {
      */
     public default Collection<Sequence> getSequenceCollection(final SequenceStreamReader reader) throws IOException, InvalidDnaFormatException {
         final Collection<Sequence> sequenceCollection = getSequenceCollection();
-        while (reader.hasNext()) {
-            sequenceCollection.add(reader.next().orElseThrow(() -> new RuntimeException("TODO use reason Optional")));
-        }
+        reader.parallelStream().forEachOrdered(sequenceCollection::add);
 
         return sequenceCollection;
     }
@@ -6,6 +6,7 @@ import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedSequences;
 
 import java.util.Optional;
 
@@ -17,6 +18,7 @@ import java.util.Optional;
 public class EmblSequenceFactory implements SequenceFactory {
 
     private final EncodingScheme encodingScheme;
+    private final boolean packed;
 
     /**
      * Initialize a new {@link EmblSequenceFactory} with default {@link EncodingScheme}
@@ -31,18 +33,36 @@ public class EmblSequenceFactory implements SequenceFactory {
      * @param encodingScheme the encoding scheme to use
      */
     public EmblSequenceFactory(final EncodingScheme encodingScheme) {
+        this(encodingScheme, false);
+    }
+
+    /**
+     * Initialize a new {@link EmblSequenceFactory} with a custom {@link EncodingScheme}
+     *
+     * @param encodingScheme the encoding scheme to use
+     * @param packed         store the sequences in the most compact representation the encoding scheme allows,
+     *                       {@see PackedSequences}
+     */
+    public EmblSequenceFactory(final EncodingScheme encodingScheme, final boolean packed) {
         this.encodingScheme = encodingScheme;
+        this.packed = packed;
     }
 
     @Override
     public Optional<Sequence> fromString(final String metadata, final String sequence) throws InvalidDnaFormatException {
         if (sequence.length() == 0) throw new InvalidDnaFormatException("The DNA sequence was empty!");
 
+        if (packed)
+            return PackedSequences.create(metadata, sequence, this.encodingScheme);
+
         return BasicSequence.create(metadata, sequence, this.encodingScheme);
     }
 
     @Override
     public Optional<Sequence> fromSequence(final Sequence sequence) throws InvalidDnaFormatException {
+        if (packed)
+            return PackedSequences.create("", sequence.toString(), this.encodingScheme);
+
         return BasicSequence.create(sequence.toString(), this.encodingScheme);
     }
 }
@@ -21,6 +21,15 @@ public final class BasicDnaEncodingScheme implements EncodingScheme {
 
     private static final byte SHIFT_RIGHT = NUCLEOTIDE_A | NUCLEOTIDE_C;
 
+    /**
+     * Lookup tables for the alphabet, the {@link BasePair}s are linked once the constants below are created
+     */
+    private static final EncodingTable TABLE = new EncodingTable()
+            .put('A', NUCLEOTIDE_A)
+            .put('T', NUCLEOTIDE_T)
+            .put('C', NUCLEOTIDE_C)
+            .put('G', NUCLEOTIDE_G);
+
     public static final EncodingScheme instance = new BasicDnaEncodingScheme();
 
     /**
@@ -43,6 +52,10 @@ public final class BasicDnaEncodingScheme implements EncodingScheme {
      */
     public static final BasePair T = create('T');
 
+    static {
+        TABLE.link(A, C, G, T);
+    }
+
     /**
      * Create an instance of the encoding scheme
      */
@@ -80,54 +93,32 @@ public final class BasicDnaEncodingScheme implements EncodingScheme {
 
     @Override
     public byte getValue(final char nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case 'a':
-            case 'A':
-                return NUCLEOTIDE_A;
-            case 't':
-            case 'T':
-                return NUCLEOTIDE_T;
-            case 'c':
-            case 'C':
-                return NUCLEOTIDE_C;
-            case 'g':
-            case 'G':
-                return NUCLEOTIDE_G;
-            default:
-                throw new InvalidDnaFormatException("There was an invalid value for DnaSequecne " + nucleotide);
-        }
+        return TABLE.getValue(nucleotide);
     }
 
     @Override
     public char toChar(final byte nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case NUCLEOTIDE_A:
-                return 'A';
-            case NUCLEOTIDE_T:
-                return 'T';
-            case NUCLEOTIDE_C:
-                return 'C';
-            case NUCLEOTIDE_G:
-                return 'G';
-            default:
-                throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
-        }
+        return TABLE.toChar(nucleotide);
     }
 
     @Override
     public BasePair toBasePair(final byte nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case NUCLEOTIDE_A:
-                return A;
-            case NUCLEOTIDE_T:
-                return T;
-            case NUCLEOTIDE_C:
-                return C;
-            case NUCLEOTIDE_G:
-                return G;
-            default:
-                throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
-        }
+        return TABLE.toBasePair(nucleotide);
+    }
+
+    @Override
+    public byte complement(final byte nucleotide) throws InvalidDnaFormatException {
+        return TABLE.complement(nucleotide);
+    }
+
+    @Override
+    public void encode(final CharSequence source, final int start, final int end, final byte[] destination, final int offset) throws InvalidDnaFormatException {
+        TABLE.encode(source, start, end, destination, offset);
+    }
+
+    @Override
+    public void decode(final byte[] source, final int offset, final int length, final char[] destination, final int destinationOffset) throws InvalidDnaFormatException {
+        TABLE.decode(source, offset, length, destination, destinationOffset);
     }
 
     @Override
@@ -0,0 +1,70 @@
+package com.vitreoussoftware.bioinformatics.sequence.encoding;
+
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed complement of every byte value of an {@link EncodingScheme}, so complementing a value is a single
+ * array lookup rather than building and flipping a {@link com.vitreoussoftware.bioinformatics.sequence.BasePair}.
+ * Backs {@link EncodingScheme#complement(byte)} for schemes that do not have an {@link EncodingTable}.
+ */
+final class ComplementTable {
+    private static final Map<EncodingScheme, ComplementTable> tables = new ConcurrentHashMap<>();
+
+    private final EncodingScheme encodingScheme;
+
+    /**
+     * The complement of each {@link EncodingScheme} byte value (as an unsigned index)
+     */
+    private final byte[] complements;
+
+    /**
+     * Whether each {@link EncodingScheme} byte value (as an unsigned index) is part of the alphabet
+     */
+    private final boolean[] valid;
+
+    private ComplementTable(final EncodingScheme encodingScheme) {
+        this.encodingScheme = encodingScheme;
+        this.complements = new byte[1 << Byte.SIZE];
+        this.valid = new boolean[1 << Byte.SIZE];
+
+        // The EncodingScheme does not publish its alphabet so discover it by asking which byte values it can decode
+        for (int value = Byte.MIN_VALUE; value <= Byte.MAX_VALUE; value++) {
+            try {
+                final byte complement = encodingScheme.complement(encodingScheme.toBasePair((byte) value)).getValue();
+                // make sure the complement can be decoded by the same scheme before trusting it
+                encodingScheme.toChar(complement);
+                this.complements[value & 0xFF] = complement;
+                this.valid[value & 0xFF] = true;
+            } catch (final InvalidDnaFormatException e) {
+                // not part of the alphabet
+            }
+        }
+    }
+
+    /**
+     * Get the {@link ComplementTable} for the given {@link EncodingScheme}
+     *
+     * @param encodingScheme the {@link EncodingScheme} to complement values of
+     * @return the {@link ComplementTable}
+     */
+    static ComplementTable of(final EncodingScheme encodingScheme) {
+        return tables.computeIfAbsent(encodingScheme, ComplementTable::new);
+    }
+
+    /**
+     * Get the complement of a byte value
+     *
+     * @param nucleotide the byte representation
+     * @return the byte representation of the complement
+     * @throws InvalidDnaFormatException the value is not part of the {@link EncodingScheme}
+     */
+    byte complement(final byte nucleotide) throws InvalidDnaFormatException {
+        if (!valid[nucleotide & 0xFF])
+            throw new InvalidDnaFormatException("There was an invalid complement request with byte representation " + nucleotide + " for encoding scheme " + encodingScheme.getClass().getName());
+
+        return complements[nucleotide & 0xFF];
+    }
+}
@@ -27,7 +27,7 @@ public interface EncodingScheme {
      * @throws InvalidDnaFormatException
      */
     default String toString(final byte nucleotide) throws InvalidDnaFormatException {
-        return toChar(nucleotide) + "";
+        return String.valueOf(toChar(nucleotide));
     }
 
     /**
@@ -64,4 +64,69 @@ public interface EncodingScheme {
      * @return the flipped {@link BasePair}
      */
     BasePair complement(BasePair basePair);
+
+    /**
+     * Given the byte representation of a nucleotide return the byte representation of its alternate
+     *
+     * @param nucleotide the byte representation
+     * @return the byte representation of the complement
+     * @throws InvalidDnaFormatException
+     */
+    default byte complement(final byte nucleotide) throws InvalidDnaFormatException {
+        return ComplementTable.of(this).complement(nucleotide);
+    }
+
+    /**
+     * Encode every nucleotide of the source into the start of the destination
+     *
+     * @param source      the character representations
+     * @param destination the array to write the byte representations into
+     * @throws InvalidDnaFormatException One of the nucleotides was not valid
+     */
+    default void encode(final CharSequence source, final byte[] destination) throws InvalidDnaFormatException {
+        encode(source, 0, source.length(), destination, 0);
+    }
+
+    /**
+     * Encode the nucleotides in the range [start, end) of the source into the destination
+     *
+     * @param source      the character representations
+     * @param start       the index of the first nucleotide to encode, inclusive
+     * @param end         the index of the end of the range, exclusive
+     * @param destination the array to write the byte representations into
+     * @param offset      the position in the destination to start writing at
+     * @throws InvalidDnaFormatException One of the nucleotides was not valid
+     */
+    default void encode(final CharSequence source, final int start, final int end, final byte[] destination, final int offset) throws InvalidDnaFormatException {
+        for (int i = start; i < end; i++) {
+            destination[offset + i - start] = getValue(source.charAt(i));
+        }
+    }
+
+    /**
+     * Decode every encoded nucleotide of the source into the start of the destination
+     *
+     * @param source      the byte representations
+     * @param destination the array to write the character representations into
+     * @throws InvalidDnaFormatException One of the byte representations was not valid
+     */
+    default void decode(final byte[] source, final char[] destination) throws InvalidDnaFormatException {
+        decode(source, 0, source.length, destination, 0);
+    }
+
+    /**
+     * Decode a range of encoded nucleotides from the source into the destination
+     *
+     * @param source            the byte representations
+     * @param offset            the position of the first value to decode
+     * @param length            the number of values to decode
+     * @param destination       the array to write the character representations into
+     * @param destinationOffset the position in the destination to start writing at
+     * @throws InvalidDnaFormatException One of the byte representations was not valid
+     */
+    default void decode(final byte[] source, final int offset, final int length, final char[] destination, final int destinationOffset) throws InvalidDnaFormatException {
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = toChar(source[offset + i]);
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package com.vitreoussoftware.bioinformatics.sequence.encoding;
+
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed lookup tables backing the built in {@link EncodingScheme}s, so converting between characters, byte
+ * values and {@link BasePair}s is a single array access instead of a switch per nucleotide.
+ * <p>
+ * The tables are filled in two steps because the {@link BasePair} constants of an {@link EncodingScheme} can only be
+ * created once its characters can be encoded: first {@link #put(char, byte)} every nucleotide, then once the
+ * constants exist {@link #link(BasePair...)} them to fill the {@link BasePair} and complement tables.
+ */
+final class EncodingTable {
+    /**
+     * Characters outside of ASCII are never valid nucleotides
+     */
+    private static final int CHARACTERS = 128;
+
+    /**
+     * Byte values are looked up as an unsigned index
+     */
+    private static final int VALUES = 1 << Byte.SIZE;
+
+    /**
+     * Marks a character that is not part of the alphabet. Every scheme uses the 8th bit to mean 'special thing
+     * happening here' so no valid value is negative.
+     */
+    private static final byte INVALID = -1;
+
+    /**
+     * The byte value for each character, {@link #INVALID} for characters outside the alphabet
+     */
+    private final byte[] values = new byte[CHARACTERS];
+
+    /**
+     * The character for each byte value, 0 for values outside the alphabet
+     */
+    private final char[] characters = new char[VALUES];
+
+    /**
+     * The {@link BasePair} for each byte value, null for values outside the alphabet
+     */
+    private final BasePair[] basePairs = new BasePair[VALUES];
+
+    /**
+     * The complement for each byte value, only meaningful where {@link #basePairs} is set
+     */
+    private final byte[] complements = new byte[VALUES];
+
+    EncodingTable() {
+        Arrays.fill(values, INVALID);
+    }
+
+    /**
+     * Add a nucleotide to the alphabet, both the upper and lower case forms of the character encode to the value
+     *
+     * @param nucleotide the upper case character representation
+     * @param value      the byte representation
+     * @return this table, for chaining
+     */
+    EncodingTable put(final char nucleotide, final byte value) {
+        values[Character.toUpperCase(nucleotide)] = value;
+        values[Character.toLowerCase(nucleotide)] = value;
+        characters[value & 0xFF] = nucleotide;
+        return this;
+    }
+
+    /**
+     * Record the {@link BasePair} constants of the {@link EncodingScheme} and their complements. Must be given every
+     * nucleotide in the alphabet.
+     *
+     * @param alphabet the {@link BasePair} for each nucleotide added with {@link #put(char, byte)}
+     */
+    void link(final BasePair... alphabet) {
+        for (final BasePair basePair : alphabet) {
+            basePairs[basePair.getValue() & 0xFF] = basePair;
+        }
+
+        // the complement logic of the schemes looks up BasePairs so it can only run once they are all linked
+        for (final BasePair basePair : alphabet) {
+            complements[basePair.getValue() & 0xFF] = basePair.complement().getValue();
+        }
+    }
+
+    /**
+     * @see EncodingScheme#getValue(char)
+     */
+    byte getValue(final char nucleotide) throws InvalidDnaFormatException {
+        final byte value = nucleotide < CHARACTERS ? values[nucleotide] : INVALID;
+        if (value == INVALID)
+            throw new InvalidDnaFormatException("There was an invalid value for DnaSequecne " + nucleotide);
+
+        return value;
+    }
+
+    /**
+     * @see EncodingScheme#toChar(byte)
+     */
+    char toChar(final byte nucleotide) throws InvalidDnaFormatException {
+        final char character = characters[nucleotide & 0xFF];
+        if (character == 0)
+            throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
+
+        return character;
+    }
+
+    /**
+     * @see EncodingScheme#toBasePair(byte)
+     */
+    BasePair toBasePair(final byte nucleotide) throws InvalidDnaFormatException {
+        final BasePair basePair = basePairs[nucleotide & 0xFF];
+        if (basePair == null)
+            throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
+
+        return basePair;
+    }
+
+    /**
+     * @see EncodingScheme#complement(byte)
+     */
+    byte complement(final byte nucleotide) throws InvalidDnaFormatException {
+        if (basePairs[nucleotide & 0xFF] == null)
+            throw new InvalidDnaFormatException("There was an invalid complement request with byte representation " + nucleotide);
+
+        return complements[nucleotide & 0xFF];
+    }
+
+    /**
+     * @see EncodingScheme#encode(CharSequence, int, int, byte[], int)
+     */
+    void encode(final CharSequence source, final int start, final int end, final byte[] destination, final int offset) throws InvalidDnaFormatException {
+        int position = offset;
+        for (int i = start; i < end; i++) {
+            destination[position++] = getValue(source.charAt(i));
+        }
+    }
+
+    /**
+     * @see EncodingScheme#decode(byte[], int, int, char[], int)
+     */
+    void decode(final byte[] source, final int offset, final int length, final char[] destination, final int destinationOffset) throws InvalidDnaFormatException {
+        int position = destinationOffset;
+        for (int i = offset; i < offset + length; i++) {
+            destination[position++] = toChar(source[i]);
+        }
+    }
+}
@@ -67,6 +67,29 @@ public final class ExpandedIupacEncodingScheme implements EncodingScheme {
      */
     private static final int AMBIGUITY_ANY = AMBIGUITY | NUCLEOTIDE_A | NUCLEOTIDE_T | NUCLEOTIDE_C | NUCLEOTIDE_G;
 
+    /**
+     * Lookup tables for the alphabet, the {@link BasePair}s are linked once the constants below are created
+     */
+    private static final EncodingTable TABLE = new EncodingTable()
+            .put('A', NUCLEOTIDE_A)
+            .put('T', NUCLEOTIDE_T)
+            .put('U', NUCLEOTIDE_U)
+            .put('C', NUCLEOTIDE_C)
+            .put('G', NUCLEOTIDE_G)
+            .put('N', NUCLEOTIDE_N)
+            .put('R', NUCLEOTIDE_R)
+            .put('Y', NUCLEOTIDE_Y)
+            .put('K', NUCLEOTIDE_K)
+            .put('M', NUCLEOTIDE_M)
+            .put('S', NUCLEOTIDE_S)
+            .put('W', NUCLEOTIDE_W)
+            .put('B', NUCLEOTIDE_B)
+            .put('D', NUCLEOTIDE_D)
+            .put('H', NUCLEOTIDE_H)
+            .put('V', NUCLEOTIDE_V)
+            .put('X', NUCLEOTIDE_X)
+            .put('-', NUCLEOTIDE_GAP);
+
     public static final EncodingScheme instance = new ExpandedIupacEncodingScheme();
 
     /**
@@ -159,6 +182,10 @@ public final class ExpandedIupacEncodingScheme implements EncodingScheme {
      */
     public static final BasePair GAP = create('-');
 
+    static {
+        TABLE.link(A, C, G, T, U, R, Y, K, M, S, W, B, D, H, V, N, X, GAP);
+    }
+
     /**
      * Create a new base pair from the given nucleotide
      *
@@ -172,71 +199,32 @@ public final class ExpandedIupacEncodingScheme implements EncodingScheme {
 
     @Override
     public byte getValue(final char nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case 'x':
-            case 'X':
-                return NUCLEOTIDE_X;
-            case '-':
-                return NUCLEOTIDE_GAP;
-            default:
-                return IupacEncodingScheme.instance.getValue(nucleotide);
-        }
+        return TABLE.getValue(nucleotide);
     }
 
     @Override
     public char toChar(final byte nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case NUCLEOTIDE_X:
-                return 'X';
-            case NUCLEOTIDE_GAP:
-                return '-';
-            default:
-                return IupacEncodingScheme.instance.toChar(nucleotide);
-        }
+        return TABLE.toChar(nucleotide);
     }
 
     @Override
     public BasePair toBasePair(final byte nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case NUCLEOTIDE_A:
-                return A;
-            case NUCLEOTIDE_T:
-                return T;
-            case NUCLEOTIDE_C:
-                return C;
-            case NUCLEOTIDE_G:
-                return G;
-            case NUCLEOTIDE_U:
-                return U;
-            case NUCLEOTIDE_N:
-                return N;
-            case NUCLEOTIDE_R:
-                return R;
-            case NUCLEOTIDE_Y:
-                return Y;
-            case NUCLEOTIDE_K:
-                return K;
-            case NUCLEOTIDE_M:
-                return M;
-            case NUCLEOTIDE_S:
-                return S;
-            case NUCLEOTIDE_W:
-                return W;
-            case NUCLEOTIDE_B:
-                return B;
-            case NUCLEOTIDE_D:
-                return D;
-            case NUCLEOTIDE_H:
-                return H;
-            case NUCLEOTIDE_V:
-                return V;
-            case NUCLEOTIDE_X:
-                return X;
-            case NUCLEOTIDE_GAP:
-                return GAP;
-            default:
-                throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
-        }
+        return TABLE.toBasePair(nucleotide);
+    }
+
+    @Override
+    public byte complement(final byte nucleotide) throws InvalidDnaFormatException {
+        return TABLE.complement(nucleotide);
+    }
+
+    @Override
+    public void encode(final CharSequence source, final int start, final int end, final byte[] destination, final int offset) throws InvalidDnaFormatException {
+        TABLE.encode(source, start, end, destination, offset);
+    }
+
+    @Override
+    public void decode(final byte[] source, final int offset, final int length, final char[] destination, final int destinationOffset) throws InvalidDnaFormatException {
+        TABLE.decode(source, offset, length, destination, destinationOffset);
     }
 
     @Override
@@ -39,6 +39,27 @@ public final class IupacEncodingScheme implements EncodingScheme {
     private static final byte NUCLEOTIDE_V = NUCLEOTIDE_A | NUCLEOTIDE_C | NUCLEOTIDE_G | AMBIGUITY;                   // 0b0_10_11_10
     private static final byte NUCLEOTIDE_N = NUCLEOTIDE_A | NUCLEOTIDE_C | NUCLEOTIDE_G | NUCLEOTIDE_T | NUCLEOTIDE_U | AMBIGUITY | REFLECTED;
 
+    /**
+     * Lookup tables for the alphabet, the {@link BasePair}s are linked once the constants below are created
+     */
+    private static final EncodingTable TABLE = new EncodingTable()
+            .put('A', NUCLEOTIDE_A)
+            .put('T', NUCLEOTIDE_T)
+            .put('U', NUCLEOTIDE_U)
+            .put('C', NUCLEOTIDE_C)
+            .put('G', NUCLEOTIDE_G)
+            .put('N', NUCLEOTIDE_N)
+            .put('R', NUCLEOTIDE_R)
+            .put('Y', NUCLEOTIDE_Y)
+            .put('K', NUCLEOTIDE_K)
+            .put('M', NUCLEOTIDE_M)
+            .put('S', NUCLEOTIDE_S)
+            .put('W', NUCLEOTIDE_W)
+            .put('B', NUCLEOTIDE_B)
+            .put('D', NUCLEOTIDE_D)
+            .put('H', NUCLEOTIDE_H)
+            .put('V', NUCLEOTIDE_V);
+
     public static final EncodingScheme instance = new IupacEncodingScheme();
 
     /**
@@ -121,6 +142,10 @@ public final class IupacEncodingScheme implements EncodingScheme {
      */
     public static final BasePair N = create('N');
 
+    static {
+        TABLE.link(A, C, G, T, U, R, Y, K, M, S, W, B, D, H, V, N);
+    }
+
     /**
      * Create an instance of the encoding scheme
      */
@@ -140,139 +165,32 @@ public final class IupacEncodingScheme implements EncodingScheme {
 
     @Override
     public byte getValue(final char nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case 'a':
-            case 'A':
-                return NUCLEOTIDE_A;
-            case 't':
-            case 'T':
-                return NUCLEOTIDE_T;
-            case 'u':
-            case 'U':
-                return NUCLEOTIDE_U;
-            case 'c':
-            case 'C':
-                return NUCLEOTIDE_C;
-            case 'g':
-            case 'G':
-                return NUCLEOTIDE_G;
-            case 'n':
-            case 'N':
-                return NUCLEOTIDE_N;
-            case 'r':
-            case 'R':
-                return NUCLEOTIDE_R;
-            case 'y':
-            case 'Y':
-                return NUCLEOTIDE_Y;
-            case 'k':
-            case 'K':
-                return NUCLEOTIDE_K;
-            case 'm':
-            case 'M':
-                return NUCLEOTIDE_M;
-            case 's':
-            case 'S':
-                return NUCLEOTIDE_S;
-            case 'w':
-            case 'W':
-                return NUCLEOTIDE_W;
-            case 'b':
-            case 'B':
-                return NUCLEOTIDE_B;
-            case 'd':
-            case 'D':
-                return NUCLEOTIDE_D;
-            case 'h':
-            case 'H':
-                return NUCLEOTIDE_H;
-            case 'v':
-            case 'V':
-                return NUCLEOTIDE_V;
-            default:
-                throw new InvalidDnaFormatException("There was an invalid value for DnaSequecne " + nucleotide);
-        }
+        return TABLE.getValue(nucleotide);
     }
 
     @Override
     public char toChar(final byte nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case NUCLEOTIDE_A:
-                return 'A';
-            case NUCLEOTIDE_T:
-                return 'T';
-            case NUCLEOTIDE_U:
-                return 'U';
-            case NUCLEOTIDE_C:
-                return 'C';
-            case NUCLEOTIDE_G:
-                return 'G';
-            case NUCLEOTIDE_N:
-                return 'N';
-            case NUCLEOTIDE_R:
-                return 'R';
-            case NUCLEOTIDE_Y:
-                return 'Y';
-            case NUCLEOTIDE_K:
-                return 'K';
-            case NUCLEOTIDE_M:
-                return 'M';
-            case NUCLEOTIDE_S:
-                return 'S';
-            case NUCLEOTIDE_W:
-                return 'W';
-            case NUCLEOTIDE_B:
-                return 'B';
-            case NUCLEOTIDE_D:
-                return 'D';
-            case NUCLEOTIDE_H:
-                return 'H';
-            case NUCLEOTIDE_V:
-                return 'V';
-
-            default:
-                throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
-        }
+        return TABLE.toChar(nucleotide);
     }
 
     @Override
     public BasePair toBasePair(final byte nucleotide) throws InvalidDnaFormatException {
-        switch (nucleotide) {
-            case NUCLEOTIDE_A:
-                return A;
-            case NUCLEOTIDE_T:
-                return T;
-            case NUCLEOTIDE_C:
-                return C;
-            case NUCLEOTIDE_G:
-                return G;
-            case NUCLEOTIDE_U:
-                return U;
-            case NUCLEOTIDE_N:
-                return N;
-            case NUCLEOTIDE_R:
-                return R;
-            case NUCLEOTIDE_Y:
-                return Y;
-            case NUCLEOTIDE_K:
-                return K;
-            case NUCLEOTIDE_M:
-                return M;
-            case NUCLEOTIDE_S:
-                return S;
-            case NUCLEOTIDE_W:
-                return W;
-            case NUCLEOTIDE_B:
-                return B;
-            case NUCLEOTIDE_D:
-                return D;
-            case NUCLEOTIDE_H:
-                return H;
-            case NUCLEOTIDE_V:
-                return V;
-            default:
-                throw new InvalidDnaFormatException("There was an invalid conversion request with byte representation " + nucleotide);
-        }
+        return TABLE.toBasePair(nucleotide);
+    }
+
+    @Override
+    public byte complement(final byte nucleotide) throws InvalidDnaFormatException {
+        return TABLE.complement(nucleotide);
+    }
+
+    @Override
+    public void encode(final CharSequence source, final int start, final int end, final byte[] destination, final int offset) throws InvalidDnaFormatException {
+        TABLE.encode(source, start, end, destination, offset);
+    }
+
+    @Override
+    public void decode(final byte[] source, final int offset, final int length, final char[] destination, final int destinationOffset) throws InvalidDnaFormatException {
+        TABLE.decode(source, offset, length, destination, destinationOffset);
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedSequences;
 
 import java.util.Optional;
 
@@ -16,12 +17,13 @@ import java.util.Optional;
  */
 public class FastaSequenceFactory implements SequenceFactory {
     private final EncodingScheme encodingSheme;
+    private final boolean packed;
 
     /**
      * Initialize a new FastaSequenceFactory with default encoding scheme
      */
     public FastaSequenceFactory() {
-        this.encodingSheme = new ExpandedIupacEncodingScheme();
+        this(new ExpandedIupacEncodingScheme());
     }
 
     /**
@@ -30,18 +32,36 @@ public class FastaSequenceFactory implements SequenceFactory {
      * @param encodingScheme the encoding scheme to use
      */
     public FastaSequenceFactory(final EncodingScheme encodingScheme) {
+        this(encodingScheme, false);
+    }
+
+    /**
+     * Initialize a new FastaSequenceFactory with a custom encoding scheme
+     *
+     * @param encodingScheme the encoding scheme to use
+     * @param packed         store the sequences in the most compact representation the encoding scheme allows,
+     *                       {@see PackedSequences}
+     */
+    public FastaSequenceFactory(final EncodingScheme encodingScheme, final boolean packed) {
         this.encodingSheme = encodingScheme;
+        this.packed = packed;
     }
 
     @Override
     public Optional<Sequence> fromString(final String metadata, final String sequence) throws InvalidDnaFormatException {
         if (sequence.length() == 0) throw new InvalidDnaFormatException("The DNA sequence was empty!");
 
+        if (packed)
+            return PackedSequences.create(metadata, sequence, this.encodingSheme);
+
         return BasicSequence.create(metadata, sequence, this.encodingSheme);
     }
 
     @Override
     public Optional<Sequence> fromSequence(final Sequence sequence) throws InvalidDnaFormatException {
+        if (packed)
+            return PackedSequences.create("", sequence.toString(), this.encodingSheme);
+
         return BasicSequence.create(sequence.toString(), this.encodingSheme);
     }
 }
@@ -6,6 +6,12 @@ import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedSequences;
+import com.vitreoussoftware.bioinformatics.sequence.quality.BasicQualitySequence;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import lombok.Builder;
+import lombok.NonNull;
 
 import java.util.Optional;
 
@@ -17,12 +23,15 @@ import java.util.Optional;
 public class FastqSequenceFactory implements SequenceFactory {
 
     private final EncodingScheme encodingSheme;
+    private final boolean packed;
+    private final boolean qualities;
+    private final boolean binned;
 
     /**
      * Initialize a new FastaSequenceFactory with default encoding scheme
      */
     public FastqSequenceFactory() {
-        this.encodingSheme = new ExpandedIupacEncodingScheme();
+        this(new ExpandedIupacEncodingScheme());
     }
 
     /**
@@ -31,18 +40,70 @@ public class FastqSequenceFactory implements SequenceFactory {
      * @param encodingScheme the encoding scheme to use
      */
     public FastqSequenceFactory(final EncodingScheme encodingScheme) {
+        this(encodingScheme, false, false, false);
+    }
+
+    /**
+     * Initialize a new FastqSequenceFactory
+     *
+     * @param encodingScheme Optionally set the encoding scheme to use
+     * @param packed         Optionally store the sequences in the most compact representation the encoding scheme
+     *                       allows, {@see PackedSequences}
+     * @param qualities      Optionally keep the quality scores of each record in a {@link QualitySequence}, which
+     *                       roughly doubles the memory of each record
+     * @param binned         Optionally bin the quality scores to 8 levels so they are stored in 3 bits each,
+     *                       {@see QualityScores}
+     */
+    @Builder
+    private FastqSequenceFactory(@NonNull final EncodingScheme encodingScheme, final boolean packed, final boolean qualities, final boolean binned) {
         this.encodingSheme = encodingScheme;
+        this.packed = packed;
+        this.qualities = qualities;
+        this.binned = binned;
+    }
+
+    /**
+     * Builder instance with default value for the encoding scheme
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class FastqSequenceFactoryBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private EncodingScheme encodingScheme = new ExpandedIupacEncodingScheme();
     }
 
     @Override
     public Optional<Sequence> fromString(final String metadata, final String sequence) throws InvalidDnaFormatException {
         if (sequence.length() == 0) throw new InvalidDnaFormatException("The DNA sequence was empty!");
 
+        if (packed)
+            return PackedSequences.create(metadata, sequence, this.encodingSheme);
+
         return BasicSequence.create(metadata, sequence, this.encodingSheme);
     }
 
+    @Override
+    public Optional<Sequence> fromString(final String metadata, final String sequence, final String quality) throws InvalidDnaFormatException {
+        if (quality.isEmpty())
+            return fromString(metadata, sequence);
+        if (quality.length() != sequence.length())
+            throw new InvalidDnaFormatException("Invalid file format, FASTQ requires a quality score for every nucleotide");
+        if (!qualities)
+            return fromString(metadata, sequence);
+
+        final QualityScores scores = QualityScores.parse(quality, binned);
+        return fromString(metadata, sequence).map(seq -> BasicQualitySequence.of(seq, scores));
+    }
+
     @Override
     public Optional<Sequence> fromSequence(final Sequence sequence) throws InvalidDnaFormatException {
-        return BasicSequence.create(sequence.toString(), this.encodingSheme);
+        final Optional<Sequence> converted;
+        if (packed)
+            converted = PackedSequences.create("", sequence.toString(), this.encodingSheme);
+        else
+            converted = BasicSequence.create(sequence.toString(), this.encodingSheme);
+
+        if (qualities && sequence instanceof QualitySequence)
+            return converted.map(seq -> BasicQualitySequence.of(seq, ((QualitySequence) sequence).getQualities()));
+        return converted;
     }
 }
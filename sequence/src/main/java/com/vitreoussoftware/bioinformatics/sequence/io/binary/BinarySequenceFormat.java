@@ -0,0 +1,92 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.binary;
+
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+
+/**
+ * Layout of the binary sequence container. All numbers are little endian.
+ * <pre>
+ * header:  magic (4) | version (4)
+ * record:  metadata length (4) | UTF-8 metadata | encoding scheme (1) | bits per base (1) | flags (1) | length (4)
+ *          | nucleotides | Phred scores, one byte each, when {@link #FLAG_QUALITY} is set
+ * index:   the offset of each record (8 each)
+ * trailer: index offset (8) | record count (4) | magic (4)
+ * </pre>
+ * Nucleotides are stored as the words of the packed representation for the encoding scheme, 2 or 4 bits per base,
+ * or as one encoded byte per base for alphabets too large to pack.
+ */
+final class BinarySequenceFormat {
+    /**
+     * Marks the start and end of the file, "VSEQ" as little endian bytes
+     */
+    static final int MAGIC = 'V' | 'S' << 8 | 'E' << 16 | 'Q' << 24;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 8;
+    static final int TRAILER_LENGTH = 16;
+
+    /**
+     * The record has quality scores
+     */
+    static final int FLAG_QUALITY = 1;
+
+    /**
+     * The encoding schemes that can be stored, the position in this array is the id written to the file
+     */
+    private static final EncodingScheme[] ENCODING_SCHEMES = {
+            BasicDnaEncodingScheme.instance,
+            IupacEncodingScheme.instance,
+            ExpandedIupacEncodingScheme.instance
+    };
+
+    /**
+     * This class should never be instantiated, it is just a holder for the layout
+     */
+    private BinarySequenceFormat() {
+    }
+
+    /**
+     * Get the id written to the file for an {@link EncodingScheme}
+     *
+     * @param encodingScheme the scheme
+     * @return the id
+     * @throws IllegalArgumentException the scheme cannot be stored
+     */
+    static byte idOf(final EncodingScheme encodingScheme) {
+        for (int id = 0; id < ENCODING_SCHEMES.length; id++) {
+            if (ENCODING_SCHEMES[id].equals(encodingScheme))
+                return (byte) id;
+        }
+
+        throw new IllegalArgumentException("Sequences encoded with " + encodingScheme.getClass().getName() + " cannot be stored");
+    }
+
+    /**
+     * Get the {@link EncodingScheme} for an id read from the file
+     *
+     * @param id the id
+     * @return the scheme
+     * @throws IllegalStateException the id is not known
+     */
+    static EncodingScheme schemeOf(final int id) {
+        if (id < 0 || id >= ENCODING_SCHEMES.length)
+            throw new IllegalStateException("Unknown encoding scheme id: " + id);
+
+        return ENCODING_SCHEMES[id];
+    }
+
+    /**
+     * The number of words needed to hold the packed nucleotides of a record
+     *
+     * @param length      the number of nucleotides
+     * @param bitsPerBase the number of bits used for each nucleotide
+     * @return the number of words
+     */
+    static int words(final int length, final int bitsPerBase) {
+        final int basesPerWord = Long.SIZE / bitsPerBase;
+        return (length + basesPerWord - 1) / basesPerWord;
+    }
+}
@@ -0,0 +1,343 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.binary;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedSequences;
+import com.vitreoussoftware.bioinformatics.sequence.quality.BasicQualitySequence;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import com.vitreoussoftware.collections.Streamable;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Random access reader for the binary sequence container written by {@link BinarySequenceWriter}. The records are
+ * memory mapped and handed back by copying their packed words, with no text to parse or nucleotides to encode. Reads
+ * do not share any position so a single reader can serve concurrent fetches, and parallel streams split by record.
+ */
+public final class BinarySequenceReader implements AutoCloseable, Iterable<Sequence>, Streamable<Sequence> {
+    private static final int DEFAULT_MAPPING_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final boolean binQualities;
+
+    /**
+     * The offset of each record in the file, and the position of the index which follows the last record
+     */
+    private final long[] offsets;
+    private final long indexOffset;
+
+    /**
+     * The file is mapped in segments that each hold whole records, so files larger than a single mapping can hold
+     * are supported
+     */
+    private final MappedByteBuffer[] segments;
+    private final long[] segmentStarts;
+    private final int[] recordSegments;
+
+    /**
+     * The index of each distinct metadata, built on the first lookup by metadata
+     */
+    private Map<String, Integer> names;
+
+    /**
+     * Create a {@link BinarySequenceReader} for a given file
+     *
+     * @param filePath     The path to the file to read
+     * @param binQualities Optionally bin quality scores to 8 levels to save memory
+     * @param mappingSize  Optionally set the largest region of the file mapped at a time
+     * @throws IOException the file could not be read, or is not a binary sequence container
+     */
+    @Builder
+    private BinarySequenceReader(@NonNull final String filePath, final boolean binQualities, final int mappingSize) throws IOException {
+        Preconditions.checkArgument(mappingSize > 0, "mappingSize must be a positive integer");
+
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        this.binQualities = binQualities;
+
+        try {
+            final long size = channel.size();
+            if (size < BinarySequenceFormat.HEADER_LENGTH + BinarySequenceFormat.TRAILER_LENGTH)
+                throw new IOException("The file is too short to be a binary sequence container");
+
+            val header = read(0, BinarySequenceFormat.HEADER_LENGTH);
+            if (header.getInt() != BinarySequenceFormat.MAGIC)
+                throw new IOException("The file is not a binary sequence container");
+            final int version = header.getInt();
+            if (version != BinarySequenceFormat.VERSION)
+                throw new IOException("Unsupported binary sequence container version: " + version);
+
+            val trailer = read(size - BinarySequenceFormat.TRAILER_LENGTH, BinarySequenceFormat.TRAILER_LENGTH);
+            this.indexOffset = trailer.getLong();
+            final int count = trailer.getInt();
+            if (trailer.getInt() != BinarySequenceFormat.MAGIC)
+                throw new IOException("The binary sequence container is incomplete, the writer was not closed");
+            if (count < 0 || indexOffset < BinarySequenceFormat.HEADER_LENGTH
+                    || indexOffset + (long) count * Long.BYTES + BinarySequenceFormat.TRAILER_LENGTH != size)
+                throw new IOException("The index of the binary sequence container is corrupt");
+
+            this.offsets = new long[count];
+            read(indexOffset, Math.toIntExact((long) count * Long.BYTES)).asLongBuffer().get(offsets);
+
+            // group whole records into mappings no larger than the mapping size
+            final List<MappedByteBuffer> mappings = new ArrayList<>();
+            final List<Long> mappingStarts = new ArrayList<>();
+            this.recordSegments = new int[count];
+            for (int i = 0; i < count; i++) {
+                final long end = end(i);
+                if (offsets[i] < BinarySequenceFormat.HEADER_LENGTH || end < offsets[i])
+                    throw new IOException("The index of the binary sequence container is corrupt");
+                if (end - offsets[i] > mappingSize)
+                    throw new IOException("Record " + i + " is larger than the mapping size");
+
+                if (mappings.isEmpty() || end - mappingStarts.get(mappingStarts.size() - 1) > mappingSize) {
+                    final long start = offsets[i];
+                    mappingStarts.add(start);
+                    mappings.add(channel.map(FileChannel.MapMode.READ_ONLY, start, lastRecordEnd(i, start, mappingSize) - start));
+                }
+                recordSegments[i] = mappings.size() - 1;
+            }
+
+            this.segments = mappings.toArray(new MappedByteBuffer[mappings.size()]);
+            this.segmentStarts = mappingStarts.stream().mapToLong(Long::longValue).toArray();
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Builder instance with default value for the mapping size
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class BinarySequenceReaderBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private int mappingSize = DEFAULT_MAPPING_SIZE;
+    }
+
+    /**
+     * Create a reader for the binary sequence container
+     *
+     * @param filePath the binary sequence file
+     * @return the reader
+     * @throws IOException the file could not be read, or is not a binary sequence container
+     */
+    public static BinarySequenceReader create(final String filePath) throws IOException {
+        return BinarySequenceReader.builder()
+                .filePath(filePath)
+                .build();
+    }
+
+    /**
+     * The number of records in the file
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Read a record
+     *
+     * @param index the index of the record
+     * @return the record, a {@link com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence} if it was
+     * written with quality scores
+     * @throws IndexOutOfBoundsException there is no record with that index
+     * @throws IllegalStateException     the record is corrupt
+     */
+    public Sequence get(final int index) {
+        val buffer = record(index);
+        val metadata = readMetadata(buffer);
+
+        final EncodingScheme encodingScheme = BinarySequenceFormat.schemeOf(buffer.get());
+        final int bitsPerBase = buffer.get();
+        final int flags = buffer.get();
+        final int length = buffer.getInt();
+        if (bitsPerBase != PackedSequences.bitsPerBase(encodingScheme) || length <= 0)
+            throw new IllegalStateException("Record " + index + " of the binary sequence container is corrupt");
+
+        final Sequence sequence;
+        if (bitsPerBase < Byte.SIZE) {
+            val words = new long[BinarySequenceFormat.words(length, bitsPerBase)];
+            buffer.asLongBuffer().get(words);
+            buffer.position(buffer.position() + words.length * Long.BYTES);
+            try {
+                sequence = PackedSequences.unpack(metadata, words, length, encodingScheme);
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalStateException("Record " + index + " of the binary sequence container is corrupt", e);
+            }
+        } else {
+            val values = new byte[length];
+            buffer.get(values);
+            sequence = BasicSequence.copyOf(metadata, values, 0, length, encodingScheme);
+        }
+
+        if ((flags & BinarySequenceFormat.FLAG_QUALITY) == 0)
+            return sequence;
+
+        val scores = new byte[length];
+        buffer.get(scores);
+        return BasicQualitySequence.of(sequence, QualityScores.of(scores, binQualities));
+    }
+
+    /**
+     * Read the first record with the given metadata
+     *
+     * @param metadata the metadata of the record
+     * @return the record, or empty if there is no record with that metadata
+     */
+    public Optional<Sequence> get(final String metadata) {
+        val index = names().get(metadata);
+        if (index == null)
+            return Optional.empty();
+
+        return Optional.of(get(index));
+    }
+
+    /**
+     * Read the metadata of a record without reading its nucleotides
+     *
+     * @param index the index of the record
+     * @return the metadata
+     * @throws IndexOutOfBoundsException there is no record with that index
+     */
+    public String getMetadata(final int index) {
+        return readMetadata(record(index));
+    }
+
+    /**
+     * Read the length of a record without reading its nucleotides
+     *
+     * @param index the index of the record
+     * @return the number of nucleotides
+     * @throws IndexOutOfBoundsException there is no record with that index
+     */
+    public int getLength(final int index) {
+        val buffer = record(index);
+        buffer.position(buffer.position() + Integer.BYTES + buffer.getInt(buffer.position()) + 3);
+        return buffer.getInt();
+    }
+
+    @Override
+    public Iterator<Sequence> iterator() {
+        return new Iterator<Sequence>() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public Sequence next() {
+                if (!hasNext())
+                    throw new NoSuchElementException("There are no more records in the file");
+
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public Stream<Sequence> stream() {
+        return IntStream.range(0, size()).mapToObj(this::get);
+    }
+
+    @Override
+    public Stream<Sequence> parallelStream() {
+        return stream().parallel();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Get a buffer positioned at the start of a record, independent of any other reads
+     */
+    private ByteBuffer record(final int index) {
+        if (index < 0 || index >= offsets.length)
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the " + offsets.length + " records");
+
+        final int segment = recordSegments[index];
+        val buffer = segments[segment].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position((int) (offsets[index] - segmentStarts[segment]));
+        return buffer;
+    }
+
+    private static String readMetadata(final ByteBuffer buffer) {
+        val metadata = new byte[buffer.getInt()];
+        buffer.get(metadata);
+        return new String(metadata, StandardCharsets.UTF_8);
+    }
+
+    private synchronized Map<String, Integer> names() {
+        if (names == null) {
+            val found = new HashMap<String, Integer>();
+            for (int i = 0; i < size(); i++) {
+                found.putIfAbsent(getMetadata(i), i);
+            }
+            names = found;
+        }
+        return names;
+    }
+
+    /**
+     * The position in the file just past the end of a record
+     */
+    private long end(final int index) {
+        return index + 1 < offsets.length ? offsets[index + 1] : indexOffset;
+    }
+
+    /**
+     * The end of the last whole record, starting from the given one, that fits in a mapping from the start position
+     */
+    private long lastRecordEnd(final int index, final long start, final int mappingSize) {
+        long last = end(index);
+        for (int i = index + 1; i < offsets.length && end(i) - start <= mappingSize; i++) {
+            last = end(i);
+        }
+        return last;
+    }
+
+    /**
+     * Read a region of the file
+     *
+     * @param position the position of the region
+     * @param length   the length of the region
+     * @return a little endian buffer holding the region
+     * @throws IOException the file could not be read, or ended before the region
+     */
+    private ByteBuffer read(final long position, final int length) throws IOException {
+        val buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException("The binary sequence container ended early");
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,207 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.binary;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.BufferFileStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedSequences;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writer for the binary sequence container read by {@link BinarySequenceReader}. Records are stored already encoded
+ * and packed, with an index of their offsets at the end of the file, so loading them again is a memory map rather
+ * than a parse. The index is only written when the writer is closed.
+ */
+public final class BinarySequenceWriter implements SequenceStreamWriter {
+    private static final int SCRATCH_SIZE = 8 * 1024;
+    private static final int INITIAL_RECORDS = 1024;
+
+    private final BufferFileStreamWriter file;
+
+    /**
+     * Collects numbers and packed words before they are handed to the file
+     */
+    private final ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The number of bytes written to the file so far, including those still in the scratch buffer
+     */
+    private long position;
+
+    private long[] offsets = new long[INITIAL_RECORDS];
+    private int count;
+    private boolean closed;
+
+    /**
+     * Create a binary sequence writer for the given file
+     *
+     * @param file the file to write
+     * @throws IOException the header could not be written
+     */
+    private BinarySequenceWriter(final BufferFileStreamWriter file) throws IOException {
+        this.file = file;
+
+        writeInt(BinarySequenceFormat.MAGIC);
+        writeInt(BinarySequenceFormat.VERSION);
+    }
+
+    /**
+     * Create an output stream for the binary sequence container
+     *
+     * @param fileName the binary sequence file
+     * @return the output stream
+     * @throws IOException the file could not be opened
+     */
+    public static SequenceStreamWriter create(final String fileName) throws IOException {
+        return create(BufferFileStreamWriter.builder().filePath(fileName).build());
+    }
+
+    /**
+     * Create an output stream for the binary sequence container on a configured file. The file must not be
+     * compressed, otherwise it cannot be memory mapped when it is read.
+     *
+     * @param file the binary sequence file
+     * @return the output stream
+     * @throws IOException the header could not be written
+     */
+    public static SequenceStreamWriter create(@NonNull final BufferFileStreamWriter file) throws IOException {
+        return new BinarySequenceWriter(file);
+    }
+
+    /**
+     * Write a record
+     *
+     * @param sequence the sequence to write, quality scores are kept when it is a {@link QualitySequence}
+     * @return the number of bytes written
+     * @throws IOException              the file could not be written
+     * @throws IllegalArgumentException the {@link com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme}
+     *                                  of the sequence cannot be stored
+     */
+    @Override
+    public int write(final Sequence sequence) throws IOException {
+        final byte encodingScheme = BinarySequenceFormat.idOf(sequence.getEncodingScheme());
+        final int bitsPerBase = PackedSequences.bitsPerBase(sequence.getEncodingScheme());
+        final boolean hasQuality = sequence instanceof QualitySequence;
+
+        if (count == offsets.length)
+            offsets = Arrays.copyOf(offsets, count * 2);
+        final long start = position;
+        offsets[count++] = start;
+
+        val metadata = sequence.getMetadata().getBytes(StandardCharsets.UTF_8);
+        writeInt(metadata.length);
+        writeBytes(metadata);
+
+        ensure(3 + Integer.BYTES);
+        scratch.put(encodingScheme);
+        scratch.put((byte) bitsPerBase);
+        scratch.put((byte) (hasQuality ? BinarySequenceFormat.FLAG_QUALITY : 0));
+        scratch.putInt(sequence.length());
+        position += 3 + Integer.BYTES;
+
+        if (bitsPerBase < Byte.SIZE) {
+            for (final long word : PackedSequences.pack(sequence)) {
+                writeLong(word);
+            }
+        } else {
+            val values = new byte[sequence.length()];
+            sequence.copyValues(0, values, 0, values.length);
+            writeBytes(values);
+        }
+
+        if (hasQuality)
+            writeBytes(scores(((QualitySequence) sequence).getQualities()));
+
+        return (int) (position - start);
+    }
+
+    private static byte[] scores(final QualityScores qualities) {
+        val scores = new byte[qualities.length()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = qualities.get(i);
+        }
+        return scores;
+    }
+
+    private void writeInt(final int value) throws IOException {
+        ensure(Integer.BYTES);
+        scratch.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void writeLong(final long value) throws IOException {
+        ensure(Long.BYTES);
+        scratch.putLong(value);
+        position += Long.BYTES;
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        drain();
+        file.write(bytes, 0, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(final int length) throws IOException {
+        if (scratch.remaining() < length)
+            drain();
+    }
+
+    /**
+     * Hand the contents of the scratch buffer to the file
+     */
+    private void drain() throws IOException {
+        file.write(scratch.array(), 0, scratch.position());
+        scratch.clear();
+    }
+
+    /**
+     * Write the buffered records to the file. The file cannot be read until the writer is closed.
+     *
+     * @throws IOException the file could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        file.flush();
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        this.file.close();
+        super.finalize();
+    }
+
+    /**
+     * Write the index of the records and close the file
+     *
+     * @throws IOException the file could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            final long indexOffset = position;
+            for (int i = 0; i < count; i++) {
+                writeLong(offsets[i]);
+            }
+
+            writeLong(indexOffset);
+            writeInt(count);
+            writeInt(BinarySequenceFormat.MAGIC);
+            drain();
+        } finally {
+            this.file.close();
+        }
+    }
+}
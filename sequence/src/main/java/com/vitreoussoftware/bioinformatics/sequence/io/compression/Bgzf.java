@@ -0,0 +1,139 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+/**
+ * Constants of the BGZF format, a series of gzip members of at most 64 KB that each record their compressed size
+ * in a 'BC' extra field so they can be found, and inflated, independently.
+ */
+final class Bgzf {
+    static final int GZIP_ID1 = 0x1f;
+    static final int GZIP_ID2 = 0x8b;
+    static final int CM_DEFLATE = 8;
+    static final int FLG_FEXTRA = 4;
+
+    /**
+     * The length of the fixed gzip header, up to and including XLEN
+     */
+    static final int HEADER_LENGTH = 12;
+
+    /**
+     * The length of the CRC32 and ISIZE trailer
+     */
+    static final int TRAILER_LENGTH = 8;
+
+    static final int SUBFIELD_ID1 = 'B';
+    static final int SUBFIELD_ID2 = 'C';
+
+    /**
+     * The largest block, compressed or not
+     */
+    static final int MAX_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * The amount of data put in each block when writing, as htslib does, which leaves room for the header, trailer
+     * and the overhead of deflating incompressible data
+     */
+    static final int BLOCK_DATA_SIZE = 0xff00;
+
+    /**
+     * The length of the header written for every block, the fixed header plus the 'BC' subfield
+     */
+    static final int BLOCK_HEADER_LENGTH = HEADER_LENGTH + 6;
+
+    /**
+     * The empty block that marks the end of a BGZF file
+     */
+    static final byte[] EOF_BLOCK = {
+            0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0, 0x1b, 0,
+            3, 0, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    /**
+     * This class should never be instantiated, it is just a holder for the BGZF constants
+     */
+    private Bgzf() {
+    }
+
+    /**
+     * Read a little endian unsigned short
+     *
+     * @param bytes  the bytes to read from
+     * @param offset the position of the low byte
+     * @return the value
+     */
+    static int readShort(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    /**
+     * Read a little endian unsigned int
+     *
+     * @param bytes  the bytes to read from
+     * @param offset the position of the low byte
+     * @return the value
+     */
+    static long readInt(final byte[] bytes, final int offset) {
+        return readShort(bytes, offset) | (long) readShort(bytes, offset + 2) << 16;
+    }
+
+    /**
+     * Write a little endian short
+     *
+     * @param bytes  the bytes to write to
+     * @param offset the position of the low byte
+     * @param value  the value
+     */
+    static void writeShort(final byte[] bytes, final int offset, final int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+    }
+
+    /**
+     * Write a little endian int
+     *
+     * @param bytes  the bytes to write to
+     * @param offset the position of the low byte
+     * @param value  the value
+     */
+    static void writeInt(final byte[] bytes, final int offset, final long value) {
+        writeShort(bytes, offset, (int) value);
+        writeShort(bytes, offset + 2, (int) (value >>> 16));
+    }
+
+    /**
+     * Fill in the header of a block
+     *
+     * @param block     the block, with room for the header at the start
+     * @param blockSize the total size of the block
+     */
+    static void writeHeader(final byte[] block, final int blockSize) {
+        block[0] = (byte) GZIP_ID1;
+        block[1] = (byte) GZIP_ID2;
+        block[2] = CM_DEFLATE;
+        block[3] = FLG_FEXTRA;
+        // MTIME and XFL are 0, OS is unknown
+        block[9] = (byte) 0xff;
+        writeShort(block, 10, 6);
+        block[12] = SUBFIELD_ID1;
+        block[13] = SUBFIELD_ID2;
+        writeShort(block, 14, 2);
+        writeShort(block, 16, blockSize - 1);
+    }
+
+    /**
+     * Find the BSIZE of the 'BC' subfield in a gzip extra field
+     *
+     * @param extra  the bytes of the extra field
+     * @param length the length of the extra field
+     * @return the total size of the block minus one, or -1 if there is no 'BC' subfield
+     */
+    static int findBlockSize(final byte[] extra, final int length) {
+        int position = 0;
+        while (position + 4 <= length) {
+            final int subfieldLength = readShort(extra, position + 2);
+            if (extra[position] == SUBFIELD_ID1 && extra[position + 1] == SUBFIELD_ID2 && subfieldLength == 2 && position + 6 <= length)
+                return readShort(extra, position + 4);
+            position += 4 + subfieldLength;
+        }
+        return -1;
+    }
+}
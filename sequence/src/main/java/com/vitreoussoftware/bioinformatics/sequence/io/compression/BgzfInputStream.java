@@ -0,0 +1,221 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses BGZF data on several threads. BGZF blocks are independent so the blocks ahead of the reader are
+ * inflated in parallel while the current one is consumed, overlapping decompression with parsing.
+ */
+public final class BgzfInputStream extends InputStream {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final InputStream source;
+    private final ExecutorService executor;
+    private final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+    private final int readAhead;
+    private boolean sourceExhausted;
+
+    private byte[] block = EMPTY;
+    private int index;
+
+    /**
+     * Create a {@link BgzfInputStream} that inflates blocks on the given number of threads
+     *
+     * @param source  the BGZF data
+     * @param threads the number of threads to inflate blocks on
+     */
+    public BgzfInputStream(@NonNull final InputStream source, final int threads) {
+        Preconditions.checkArgument(threads > 0, "threads must be a positive integer");
+
+        this.source = source;
+        this.readAhead = threads * 2;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "bgzf-inflater");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill())
+            return -1;
+
+        return block[index++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] destination, final int offset, final int length) throws IOException {
+        if (length == 0)
+            return 0;
+        if (!fill())
+            return -1;
+
+        final int count = Math.min(length, block.length - index);
+        System.arraycopy(block, index, destination, offset, count);
+        index += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return block.length - index;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        source.close();
+    }
+
+    /**
+     * Make sure there is data in the current block, waiting for the next inflated block if needed
+     *
+     * @return false if there is no more data
+     * @throws IOException the data could not be read or is not valid BGZF
+     */
+    private boolean fill() throws IOException {
+        while (index >= block.length) {
+            submitBlocks();
+            final Future<byte[]> next = pending.poll();
+            if (next == null)
+                return false;
+
+            try {
+                block = next.get();
+                index = 0;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while inflating a BGZF block", e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof IOException)
+                    throw (IOException) e.getCause();
+                throw new IOException("Unable to inflate a BGZF block", e.getCause());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read compressed blocks from the source and queue them for inflation until enough are in flight
+     *
+     * @throws IOException the data could not be read or is not valid BGZF
+     */
+    private void submitBlocks() throws IOException {
+        while (!sourceExhausted && pending.size() < readAhead) {
+            final byte[] compressed = readBlock();
+            if (compressed == null) {
+                sourceExhausted = true;
+                return;
+            }
+            pending.add(executor.submit(() -> inflate(compressed)));
+        }
+    }
+
+    /**
+     * Read the next whole block from the source
+     *
+     * @return the block, or null at the end of the source
+     * @throws IOException the data could not be read or is not valid BGZF
+     */
+    private byte[] readBlock() throws IOException {
+        final byte[] header = new byte[Bgzf.HEADER_LENGTH];
+        final int read = readFully(header, 0, header.length);
+        if (read == 0)
+            return null;
+        if (read < header.length)
+            throw new EOFException("The BGZF data ended inside of a block header");
+        if ((header[0] & 0xFF) != Bgzf.GZIP_ID1 || (header[1] & 0xFF) != Bgzf.GZIP_ID2 || header[2] != Bgzf.CM_DEFLATE || (header[3] & Bgzf.FLG_FEXTRA) == 0)
+            throw new ZipException("Not a BGZF block header");
+
+        final int extraLength = Bgzf.readShort(header, 10);
+        final byte[] extra = new byte[extraLength];
+        if (readFully(extra, 0, extraLength) < extraLength)
+            throw new EOFException("The BGZF data ended inside of a block header");
+
+        final int blockSize = Bgzf.findBlockSize(extra, extraLength);
+        if (blockSize < 0)
+            throw new ZipException("The gzip member does not have a BGZF block size");
+
+        final int headerLength = Bgzf.HEADER_LENGTH + extraLength;
+        if (blockSize + 1 > Bgzf.MAX_BLOCK_SIZE || blockSize + 1 < headerLength + Bgzf.TRAILER_LENGTH)
+            throw new ZipException("Invalid BGZF block size: " + (blockSize + 1));
+
+        final byte[] compressed = Arrays.copyOf(header, blockSize + 1);
+        System.arraycopy(extra, 0, compressed, Bgzf.HEADER_LENGTH, extraLength);
+        if (readFully(compressed, headerLength, compressed.length - headerLength) < compressed.length - headerLength)
+            throw new EOFException("The BGZF data ended inside of a block");
+
+        return compressed;
+    }
+
+    /**
+     * Inflate a whole block and check it against its trailer
+     *
+     * @param compressed the block, including its header and trailer
+     * @return the inflated data
+     * @throws IOException the block is not valid
+     */
+    private static byte[] inflate(final byte[] compressed) throws IOException {
+        final int dataStart = Bgzf.HEADER_LENGTH + Bgzf.readShort(compressed, 10);
+        final int trailer = compressed.length - Bgzf.TRAILER_LENGTH;
+        final long crc = Bgzf.readInt(compressed, trailer);
+        final long inflatedSize = Bgzf.readInt(compressed, trailer + 4);
+        if (inflatedSize > Bgzf.MAX_BLOCK_SIZE)
+            throw new ZipException("Invalid BGZF inflated block size: " + inflatedSize);
+        final int size = (int) inflatedSize;
+
+        final byte[] data = new byte[size];
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed, dataStart, trailer - dataStart);
+            int inflated = 0;
+            while (inflated < size && !inflater.finished()) {
+                final int count = inflater.inflate(data, inflated, size - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                inflated += count;
+            }
+            if (inflated != size)
+                throw new ZipException("The BGZF block inflated to " + inflated + " bytes instead of " + size);
+        } catch (final DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(data, 0, size);
+        if (checksum.getValue() != crc)
+            throw new ZipException("The BGZF block failed its CRC check");
+
+        return data;
+    }
+
+    private int readFully(final byte[] destination, final int offset, final int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            final int count = source.read(destination, offset + total, length - total);
+            if (count < 0)
+                break;
+            total += count;
+        }
+        return total;
+    }
+}
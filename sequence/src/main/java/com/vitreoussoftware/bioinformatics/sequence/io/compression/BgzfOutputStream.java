@@ -0,0 +1,191 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses data as BGZF on several threads. Data is cut into blocks that are deflated independently on a pool of
+ * workers, and the compressed blocks are written in the order their data arrived, so the output is identical to
+ * compressing on a single thread.
+ */
+public final class BgzfOutputStream extends OutputStream {
+    private final OutputStream destination;
+    private final ExecutorService executor;
+    private final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+    private final int maxPending;
+    private final int level;
+
+    private byte[] block = new byte[Bgzf.BLOCK_DATA_SIZE];
+    private int length;
+    private boolean closed;
+
+    /**
+     * Create a {@link BgzfOutputStream} that deflates blocks on the given number of threads
+     *
+     * @param destination where to write the compressed data
+     * @param threads     the number of threads to deflate blocks on
+     * @param level       the {@link Deflater} compression level
+     */
+    public BgzfOutputStream(@NonNull final OutputStream destination, final int threads, final int level) {
+        Preconditions.checkArgument(threads > 0, "threads must be a positive integer");
+        Preconditions.checkArgument(level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION, "level must be a Deflater compression level");
+
+        this.destination = destination;
+        this.maxPending = threads * 2;
+        this.level = level;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "bgzf-deflater");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a {@link BgzfOutputStream} with the default compression level
+     *
+     * @param destination where to write the compressed data
+     * @param threads     the number of threads to deflate blocks on
+     */
+    public BgzfOutputStream(final OutputStream destination, final int threads) {
+        this(destination, threads, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        block[length++] = (byte) b;
+        if (length == block.length)
+            submitBlock();
+    }
+
+    @Override
+    public void write(final byte[] source, final int offset, final int count) throws IOException {
+        int start = 0;
+        while (start < count) {
+            final int chunk = Math.min(count - start, block.length - length);
+            System.arraycopy(source, offset + start, block, length, chunk);
+            length += chunk;
+            start += chunk;
+            if (length == block.length)
+                submitBlock();
+        }
+    }
+
+    /**
+     * Compress the buffered data as a block, even if it is not full, and write every block to the destination
+     *
+     * @throws IOException the destination could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        if (length > 0)
+            submitBlock();
+        while (!pending.isEmpty())
+            writeBlock();
+        destination.flush();
+    }
+
+    /**
+     * Write every block and the end of file marker, then close the destination
+     *
+     * @throws IOException the destination could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            flush();
+            destination.write(Bgzf.EOF_BLOCK);
+        } finally {
+            executor.shutdownNow();
+            destination.close();
+        }
+    }
+
+    /**
+     * Hand the buffered data to a worker, writing finished blocks while too many are in flight
+     */
+    private void submitBlock() throws IOException {
+        final byte[] data = block;
+        final int dataLength = length;
+        pending.add(executor.submit(() -> deflate(data, dataLength, level)));
+
+        block = new byte[Bgzf.BLOCK_DATA_SIZE];
+        length = 0;
+
+        while (pending.size() > maxPending)
+            writeBlock();
+    }
+
+    /**
+     * Wait for the oldest block and write it
+     */
+    private void writeBlock() throws IOException {
+        try {
+            destination.write(pending.poll().get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while deflating a BGZF block", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Unable to deflate a BGZF block", e.getCause());
+        }
+    }
+
+    /**
+     * Deflate data into a whole block, with its header and trailer
+     *
+     * @param data   the data
+     * @param length the number of bytes of data
+     * @param level  the compression level
+     * @return the block
+     */
+    private static byte[] deflate(final byte[] data, final int length, final int level) {
+        final byte[] block = new byte[Bgzf.MAX_BLOCK_SIZE];
+        final int capacity = Bgzf.MAX_BLOCK_SIZE - Bgzf.BLOCK_HEADER_LENGTH - Bgzf.TRAILER_LENGTH;
+
+        int compressed = deflate(data, length, level, block, capacity);
+        if (compressed < 0) // incompressible data, store it instead
+            compressed = deflate(data, length, Deflater.NO_COMPRESSION, block, capacity);
+
+        final CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+
+        final int blockSize = Bgzf.BLOCK_HEADER_LENGTH + compressed + Bgzf.TRAILER_LENGTH;
+        Bgzf.writeHeader(block, blockSize);
+        Bgzf.writeInt(block, Bgzf.BLOCK_HEADER_LENGTH + compressed, crc.getValue());
+        Bgzf.writeInt(block, Bgzf.BLOCK_HEADER_LENGTH + compressed + 4, length);
+
+        return Arrays.copyOf(block, blockSize);
+    }
+
+    /**
+     * Deflate data into a block after its header
+     *
+     * @return the compressed length, or -1 if it did not fit in the capacity
+     */
+    private static int deflate(final byte[] data, final int length, final int level, final byte[] block, final int capacity) {
+        final Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            final int compressed = deflater.deflate(block, Bgzf.BLOCK_HEADER_LENGTH, capacity);
+            return deflater.finished() ? compressed : -1;
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens files that may be compressed, detecting gzip and BGZF from their leading bytes rather than the file name
+ */
+public final class CompressedInputStreams {
+    private static final int BUFFER_SIZE = 64 * 1024; // 64 KB read size
+
+    /**
+     * This class should never be instantiated, it is just a holder for the factory methods
+     */
+    private CompressedInputStreams() {
+    }
+
+    /**
+     * Open a file for reading, transparently decompressing it if it is gzip or BGZF compressed
+     *
+     * @param filePath the file to open
+     * @param threads  the number of threads to inflate BGZF blocks on, 1 to inflate on the reading thread
+     * @return the decompressed data
+     * @throws java.io.FileNotFoundException the file was not found
+     * @throws IOException                   the leading bytes of the file could not be read
+     */
+    public static InputStream open(final String filePath, final int threads) throws IOException {
+        final InputStream file = new BufferedInputStream(new FileInputStream(filePath), BUFFER_SIZE);
+        try {
+            return open(file, threads);
+        } catch (final IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wrap a stream, transparently decompressing it if it is gzip or BGZF compressed
+     *
+     * @param source  the stream to wrap, which must support {@link InputStream#mark(int)}
+     * @param threads the number of threads to inflate BGZF blocks on, 1 to inflate on the reading thread
+     * @return the decompressed data
+     * @throws IOException the leading bytes of the stream could not be read
+     */
+    public static InputStream open(final InputStream source, final int threads) throws IOException {
+        switch (detect(source)) {
+            case BGZF:
+                if (threads > 1)
+                    return new BgzfInputStream(source, threads);
+                // BGZF is also valid multi-member gzip
+                return new GZIPInputStream(source, BUFFER_SIZE);
+            case GZIP:
+                return new GZIPInputStream(source, BUFFER_SIZE);
+            default:
+                return source;
+        }
+    }
+
+    /**
+     * Detect the compression of a file from its leading bytes
+     *
+     * @param filePath the file to inspect
+     * @return the {@link Compression}
+     * @throws java.io.FileNotFoundException the file was not found
+     * @throws IOException                   the leading bytes of the file could not be read
+     */
+    public static Compression detect(final String filePath) throws IOException {
+        try (InputStream file = new BufferedInputStream(new FileInputStream(filePath), Bgzf.HEADER_LENGTH + 6)) {
+            return detect(file);
+        }
+    }
+
+    /**
+     * Detect the compression of a stream from its leading bytes, without consuming them
+     *
+     * @param source the stream, which must support {@link InputStream#mark(int)}
+     * @return the {@link Compression}
+     * @throws IOException the leading bytes of the stream could not be read
+     */
+    public static Compression detect(final InputStream source) throws IOException {
+        final byte[] header = new byte[Bgzf.HEADER_LENGTH + 6];
+        source.mark(header.length);
+        int read = 0;
+        try {
+            while (read < header.length) {
+                final int count = source.read(header, read, header.length - read);
+                if (count < 0)
+                    break;
+                read += count;
+            }
+        } finally {
+            source.reset();
+        }
+
+        if (read < 2 || (header[0] & 0xFF) != Bgzf.GZIP_ID1 || (header[1] & 0xFF) != Bgzf.GZIP_ID2)
+            return Compression.NONE;
+        if (read == header.length && header[2] == Bgzf.CM_DEFLATE && (header[3] & Bgzf.FLG_FEXTRA) != 0
+                && header[Bgzf.HEADER_LENGTH] == Bgzf.SUBFIELD_ID1 && header[Bgzf.HEADER_LENGTH + 1] == Bgzf.SUBFIELD_ID2)
+            return Compression.BGZF;
+        return Compression.GZIP;
+    }
+}
@@ -0,0 +1,42 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+import lombok.NonNull;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens files for writing with a chosen {@link Compression}
+ */
+public final class CompressedOutputStreams {
+    private static final int BUFFER_SIZE = 64 * 1024; // 64 KB write size
+
+    /**
+     * This class should never be instantiated, it is just a holder for the factory methods
+     */
+    private CompressedOutputStreams() {
+    }
+
+    /**
+     * Open a file for writing, replacing any existing contents
+     *
+     * @param filePath    the file to write
+     * @param compression how to compress the data
+     * @param threads     the number of threads to compress BGZF blocks on
+     * @return the stream to write the uncompressed data to
+     * @throws IOException the file could not be opened
+     */
+    public static OutputStream open(final String filePath, @NonNull final Compression compression, final int threads) throws IOException {
+        final OutputStream file = new FileOutputStream(filePath);
+        switch (compression) {
+            case GZIP:
+                return new GZIPOutputStream(file, BUFFER_SIZE, true); // flush() writes out the pending data
+            case BGZF:
+                return new BgzfOutputStream(file, threads);
+            default:
+                return file;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+/**
+ * The compression formats understood by the readers and writers
+ */
+public enum Compression {
+    /**
+     * Plain, uncompressed data
+     */
+    NONE,
+    /**
+     * A single gzip stream, which can only be inflated sequentially
+     */
+    GZIP,
+    /**
+     * Blocked gzip, a series of independent gzip members that can be inflated in parallel
+     */
+    BGZF
+}
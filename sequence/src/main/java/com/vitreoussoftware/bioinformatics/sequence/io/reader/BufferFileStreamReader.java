@@ -1,50 +1,109 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.reader;
 
 import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.io.compression.CompressedInputStreams;
+import com.vitreoussoftware.bioinformatics.sequence.io.compression.Compression;
 import lombok.Builder;
 import lombok.NonNull;
 
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.function.Predicate;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
- * File stream reader for EMBL data files
+ * File stream reader for EMBL data files. Gzip and BGZF compressed files are detected from their contents and
+ * decompressed as they are read.
+ * <p>
+ * The file is scanned as bytes, one per character, with lookup table driven primitives that append tokens to a
+ * reusable {@link ByteSlice} so parsing a record does not allocate. Optionally the file is read ahead on a
+ * background thread by a {@link ReadAheadReader}, so the parser does not wait on the disk each time it runs out of
+ * data.
  *
  * @author John
  */
 public final class BufferFileStreamReader implements AutoCloseable {
     private static final int DEFAULT_BUFFER_SIZE = 64 * 1024; // 64 KB read size
+    private static final int DEFAULT_DECOMPRESSION_THREADS = 2; // per reader, enough to keep ahead of one parser
 
-    private final FileReader file;
-    private final char[] buffer;
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * The source of the data, exactly one of these is set
+     */
+    private final InputStream file;
+    private final ReadAheadReader readAhead;
+
+    private byte[] buffer;
     private int length;
     private int index;
 
     /**
      * Create a {@link BufferFileStreamReader} for a given file with the specified
      *
-     * @param filePath   The path to the file to read
-     * @param bufferSize Optionally set the size of the buffer
+     * @param filePath             The path to the file to read
+     * @param bufferSize           Optionally set the size of the buffer
+     * @param decompressionThreads Optionally set the number of threads used to decompress BGZF files, each reader has
+     *                             its own
+     * @param readAheadBuffers     Optionally read ahead on a background thread with a ring of this many buffers,
+     *                             0 reads on the parsing thread
+     * @param directBuffers        Optionally use direct {@link ByteBuffer}s for the read ahead ring
      */
     @Builder
-    private BufferFileStreamReader(@NonNull final String filePath, final int bufferSize) throws FileNotFoundException {
+    private BufferFileStreamReader(@NonNull final String filePath,
+                                   final int bufferSize,
+                                   final int decompressionThreads,
+                                   final int readAheadBuffers,
+                                   final boolean directBuffers) throws FileNotFoundException {
         Preconditions.checkArgument(bufferSize > 0, "bufferSize must be a positive integer");
+        Preconditions.checkArgument(decompressionThreads > 0, "decompressionThreads must be a positive integer");
+        Preconditions.checkArgument(readAheadBuffers == 0 || readAheadBuffers >= 2, "readAheadBuffers must be 0 or at least 2");
 
-        file = new FileReader(filePath);
-        buffer = new char[bufferSize];
+        try {
+            if (readAheadBuffers == 0) {
+                file = CompressedInputStreams.open(filePath, decompressionThreads);
+                readAhead = null;
+            } else {
+                file = null;
+                readAhead = new ReadAheadReader(openChannel(filePath, decompressionThreads), readAheadBuffers, bufferSize, directBuffers);
+            }
+        } catch (final FileNotFoundException e) {
+            throw e;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // heap read ahead buffers are scanned in place, the others are copied into our own buffer
+        buffer = readAhead == null || directBuffers ? new byte[bufferSize] : EMPTY;
         length = 0;  // we don't have anything in the buffer
         index = 0;   // index starts at 0
     }
 
     /**
-     * Builder instance with default value for buffer size
+     * Open a channel for the read ahead ring. Uncompressed files are read straight from a {@link FileChannel}, which
+     * can fill direct buffers without copying.
+     */
+    private static ReadableByteChannel openChannel(final String filePath, final int decompressionThreads) throws IOException {
+        if (CompressedInputStreams.detect(filePath) == Compression.NONE)
+            return FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+
+        return Channels.newChannel(CompressedInputStreams.open(filePath, decompressionThreads));
+    }
+
+    /**
+     * Builder instance with default values for buffer size and decompression threads, reading on the parsing thread
      */
     @SuppressWarnings("unused") // Lombok @Builder
     public static class BufferFileStreamReaderBuilder {
         @SuppressWarnings("FieldMayBeFinal")
         private int bufferSize = DEFAULT_BUFFER_SIZE;
+        @SuppressWarnings("FieldMayBeFinal")
+        private int decompressionThreads = DEFAULT_DECOMPRESSION_THREADS;
     }
 
 
@@ -64,15 +123,13 @@ public final class BufferFileStreamReader implements AutoCloseable {
     }
 
     /**
-     * Does the current position satisfy the predicate?
+     * Is the current position in the {@link ByteSet}?
      *
-     * @param predicate The {@link Predicate} to test
-     * @return true if the predicate matches, false if it does not OR eof {@see isEof}
+     * @param set The {@link ByteSet} to test
+     * @return true if it is in the set, false if it is not OR eof {@see isEof}
      */
-    public boolean is(@NonNull final Predicate<Character> predicate) {
-        if (index >= length)
-            bufferData();
-        return index < length && predicate.test(buffer[index]);
+    public boolean is(@NonNull final ByteSet set) {
+        return fill() && set.contains(buffer[index]);
     }
 
     /**
@@ -82,9 +139,7 @@ public final class BufferFileStreamReader implements AutoCloseable {
      * @return true if they match, false if they do not OR eof {@see isEof}
      */
     public boolean is(final char character) {
-        if (index >= length)
-            bufferData();
-        return index < length && character == buffer[index];
+        return fill() && (byte) character == buffer[index];
     }
 
     /**
@@ -97,11 +152,9 @@ public final class BufferFileStreamReader implements AutoCloseable {
         int position = 0;
 
         while (position != maxPosition) {
-            if (index >= length)
-                bufferData();
-            if (length == -1)
+            if (!fill())
                 return;
-            if (buffer[index] == flag.charAt(position)) {
+            if (buffer[index] == (byte) flag.charAt(position)) {
                 position++;
             } else {
                 position = 0;
@@ -111,47 +164,88 @@ public final class BufferFileStreamReader implements AutoCloseable {
     }
 
     /**
-     * Ignore characters in the buffer until the {@link Predicate} {@see predicate} evaluates to true
+     * Move to the next occurrence of the {@see character}, without consuming it
      *
-     * @param predicate The {@link Predicate} to test
+     * @param character the character to search for
+     * @return true if it was found, false if eof was reached first
      */
-    public void dropUntil(final Predicate<Character> predicate) {
-        while (true) {
-            if (index >= length)
-                bufferData();
-            if (length == -1 || predicate.test(buffer[index]))
-                return;
+    public boolean findByte(final char character) {
+        final byte value = (byte) character;
+        while (fill()) {
+            final byte[] data = buffer;
+            final int end = length;
+            int i = index;
+            while (i < end && data[i] != value)
+                i++;
+
+            index = i;
+            if (i < end)
+                return true;
+        }
+        return false;
+    }
 
-            index++;
+    /**
+     * Move to the next '\n', without consuming it
+     *
+     * @return true if it was found, false if eof was reached first
+     */
+    public boolean findNewline() {
+        return findByte('\n');
+    }
+
+    /**
+     * Ignore characters in the buffer until one in the {@link ByteSet} is found
+     *
+     * @param set The {@link ByteSet} to search for
+     * @return true if it was found, false if eof was reached first
+     */
+    public boolean dropUntil(@NonNull final ByteSet set) {
+        while (fill()) {
+            final byte[] data = buffer;
+            final int end = length;
+            int i = index;
+            while (i < end && !set.contains(data[i]))
+                i++;
+
+            index = i;
+            if (i < end)
+                return true;
         }
+        return false;
     }
 
     /**
-     * Ignore characters in the buffer while they are whitespace
+     * Ignore characters in the buffer while they are in the {@link ByteSet}
+     *
+     * @param set The {@link ByteSet} to skip
      */
-    public void dropWhileWhitespace() {
-        while (true) {
-            if (index >= length)
-                bufferData();
-            if (length == -1 || !Character.isWhitespace(buffer[index]))
+    public void dropWhile(@NonNull final ByteSet set) {
+        while (fill()) {
+            final byte[] data = buffer;
+            final int end = length;
+            int i = index;
+            while (i < end && set.contains(data[i]))
+                i++;
+
+            index = i;
+            if (i < end)
                 return;
-
-            index++;
         }
     }
 
+    /**
+     * Ignore characters in the buffer while they are whitespace
+     */
+    public void dropWhileWhitespace() {
+        dropWhile(ByteSet.WHITESPACE);
+    }
+
     /**
      * Ignore characters in the buffer until they are whitespace
      */
     public void dropUntilWhiteSpace() {
-        while (true) {
-            if (index >= length)
-                bufferData();
-            if (length == -1 || Character.isWhitespace(buffer[index]))
-                return;
-
-            index++;
-        }
+        dropUntil(ByteSet.WHITESPACE);
     }
 
     /**
@@ -167,84 +261,139 @@ public final class BufferFileStreamReader implements AutoCloseable {
      * Ignore the next {@see characters} characters in the buffer
      *
      * @param characters The number of characters to drop
-     * @return How many characters were dropped
+     * @return How many characters were dropped, fewer than requested if eof was reached
      */
     public int drop(final int characters) {
-        index += characters;
+        int dropped = 0;
+        while (dropped < characters && fill()) {
+            final int count = Math.min(characters - dropped, length - index);
+            index += count;
+            dropped += count;
+        }
 
-        return characters;
+        return dropped;
     }
 
     /**
-     * Take characters from the buffer until the {@link Predicate} {@see predicate} is found [start, predicate)
+     * Take characters from the buffer until one in the {@link ByteSet} is found [start, stop), leaving the stop
+     * character in the buffer
      *
-     * @param predicate The {@link Predicate} to test
-     * @return The characters taken from the buffer
+     * @param stop        The {@link ByteSet} that ends the token
+     * @param destination The {@link ByteSlice} to append the characters to
+     * @return The number of characters taken
      */
-    public String takeUntil(final Predicate<Character> predicate) {
-        final StringBuilder sb = new StringBuilder();
-
-        boolean found = false;
-        while (!found) {
-            if (index >= length)
-                bufferData();
-            if (length == -1 || predicate.test(buffer[index]))
-                found = true;
-            else
-                sb.append(buffer[index]);
-            index++;
+    public int takeUntil(@NonNull final ByteSet stop, @NonNull final ByteSlice destination) {
+        int taken = 0;
+        while (fill()) {
+            final byte[] data = buffer;
+            final int end = length;
+            final int from = index;
+            int i = from;
+            while (i < end && !stop.contains(data[i]))
+                i++;
+
+            destination.append(data, from, i - from);
+            taken += i - from;
+            index = i;
+            if (i < end)
+                break;
         }
-
-        return sb.toString();
+        return taken;
     }
 
     /**
-     * Take characters from the buffer until a whitespace character is found
+     * Take characters from the buffer until the {@see stop} character is found [start, stop), leaving the stop
+     * character in the buffer
      *
-     * @return The characters taken from the buffer
+     * @param stop        The character that ends the token
+     * @param destination The {@link ByteSlice} to append the characters to
+     * @return The number of characters taken
      */
-    public String takeUntilWhitespace() {
-        final StringBuilder sb = new StringBuilder();
-
-        boolean found = false;
-        while (!found) {
-            if (index >= length)
-                bufferData();
-            if (length == -1 || Character.isWhitespace(buffer[index]))
-                found = true;
-            else
-                sb.append(buffer[index]);
-            index++;
+    public int takeUntil(final char stop, @NonNull final ByteSlice destination) {
+        final byte value = (byte) stop;
+        int taken = 0;
+        while (fill()) {
+            final byte[] data = buffer;
+            final int end = length;
+            final int from = index;
+            int i = from;
+            while (i < end && data[i] != value)
+                i++;
+
+            destination.append(data, from, i - from);
+            taken += i - from;
+            index = i;
+            if (i < end)
+                break;
         }
+        return taken;
+    }
 
-        return sb.toString();
+    /**
+     * Take characters from the buffer until a whitespace character is found, leaving the whitespace in the buffer
+     *
+     * @param destination The {@link ByteSlice} to append the characters to
+     * @return The number of characters taken
+     */
+    public int takeUntilWhitespace(@NonNull final ByteSlice destination) {
+        return takeUntil(ByteSet.WHITESPACE, destination);
+    }
+
+    /**
+     * Make sure the current position is buffered
+     *
+     * @return true if there is a character at the current position, false if eof {@see isEof}
+     */
+    private boolean fill() {
+        return index < length || bufferData() > 0;
     }
 
     /**
      * Refresh the buffer with new data from the source file. This method will block until some input
      * is available, an I/O error occurs, or the end of the stream is reached.
      *
-     * @return The number of characters read, or -1 if EOF
+     * @return The number of bytes read, or -1 if EOF
      */
     private int bufferData() {
         try {
             index = 0;
-            length = file.read(buffer);
+            length = readAhead == null ? file.read(buffer) : takeReadAhead();
             return length;
         } catch (final IOException e) {
-            e.printStackTrace();
-            throw new IllegalStateException("Unable to read from file");
+            throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Move to the next buffer of the read ahead ring
+     *
+     * @return The number of bytes available, or -1 if EOF
+     * @throws IOException the background read failed
+     */
+    private int takeReadAhead() throws IOException {
+        final ByteBuffer next = readAhead.next();
+        if (next == null)
+            return -1;
+
+        final int count = next.remaining();
+        if (next.hasArray())
+            buffer = next.array();
+        else
+            next.get(buffer, 0, count);
+        return count;
+    }
+
     @Override
     public void finalize() throws Throwable {
-        this.file.close();
+        close();
         super.finalize();
     }
 
     @Override
     public void close() throws IOException {
-        this.file.close();
+        if (readAhead != null)
+            this.readAhead.close();
+        else
+            this.file.close();
     }
 }
@@ -0,0 +1,86 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import java.util.function.IntPredicate;
+
+/**
+ * An immutable set of byte values backed by a lookup table, so testing membership while scanning a buffer is a
+ * single array read instead of boxing the value and calling a {@link java.util.function.Predicate}.
+ */
+public final class ByteSet {
+    private static final int VALUES = 256;
+
+    /**
+     * The bytes {@link Character#isWhitespace(char)} considers whitespace
+     */
+    public static final ByteSet WHITESPACE = matching(Character::isWhitespace);
+
+    /**
+     * The line terminators, '\n' and '\r'
+     */
+    public static final ByteSet LINE_END = of('\n', '\r');
+
+    /**
+     * The ASCII digits
+     */
+    public static final ByteSet DIGITS = matching(Character::isDigit);
+
+    private final boolean[] members;
+
+    private ByteSet(final boolean[] members) {
+        this.members = members;
+    }
+
+    /**
+     * Create a set of the given characters
+     *
+     * @param characters the characters in the set, which must be single byte values
+     * @return the set
+     * @throws IllegalArgumentException one of the characters does not fit in a byte
+     */
+    public static ByteSet of(final char... characters) {
+        final boolean[] members = new boolean[VALUES];
+        for (final char character : characters) {
+            if (character >= VALUES)
+                throw new IllegalArgumentException("The character " + character + " does not fit in a byte");
+            members[character] = true;
+        }
+        return new ByteSet(members);
+    }
+
+    /**
+     * Create a set of the byte values that satisfy a predicate
+     *
+     * @param predicate the predicate, given each unsigned byte value
+     * @return the set
+     */
+    public static ByteSet matching(final IntPredicate predicate) {
+        final boolean[] members = new boolean[VALUES];
+        for (int value = 0; value < VALUES; value++) {
+            members[value] = predicate.test(value);
+        }
+        return new ByteSet(members);
+    }
+
+    /**
+     * Create the set of every byte value not in this set
+     *
+     * @return the complement of this set
+     */
+    public ByteSet negate() {
+        final boolean[] complement = new boolean[VALUES];
+        for (int value = 0; value < VALUES; value++) {
+            complement[value] = !members[value];
+        }
+        return new ByteSet(complement);
+    }
+
+    /**
+     * Is the byte in the set?
+     *
+     * @param value the byte to test
+     * @return true if the byte is in the set
+     */
+    public boolean contains(final byte value) {
+        return members[value & 0xFF];
+    }
+}
@@ -0,0 +1,152 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable run of bytes that readers append tokens into. A slice is meant to be cleared and reused for every
+ * record so scanning does not allocate, the only copy made is when the caller asks for a {@link String}.
+ * <p>
+ * As a {@link CharSequence} each byte is one character, as in ISO-8859-1, which covers the ASCII the sequence and
+ * quality data use. Metadata may hold any text, so it is decoded with {@link #toString(Charset)} instead.
+ */
+public final class ByteSlice implements CharSequence {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private byte[] bytes;
+    private int start;
+    private int end;
+
+    /**
+     * Create an empty {@link ByteSlice} with the default capacity
+     */
+    public ByteSlice() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty {@link ByteSlice}
+     *
+     * @param capacity the number of bytes the slice can hold before it grows
+     */
+    public ByteSlice(final int capacity) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be a positive integer");
+
+        this.bytes = new byte[capacity];
+    }
+
+    /**
+     * Remove all of the bytes, keeping the storage for reuse
+     */
+    public void clear() {
+        start = 0;
+        end = 0;
+    }
+
+    /**
+     * Add bytes to the end of the slice
+     *
+     * @param source the array to copy from
+     * @param offset the position in the source of the first byte
+     * @param length the number of bytes to copy
+     */
+    public void append(final byte[] source, final int offset, final int length) {
+        if (end + length > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, end + length));
+
+        System.arraycopy(source, offset, bytes, end, length);
+        end += length;
+    }
+
+    /**
+     * Add characters to the end of the slice, one byte each
+     *
+     * @param characters the characters to add, which must be single byte values
+     */
+    public void append(final CharSequence characters) {
+        final int length = characters.length();
+        if (end + length > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, end + length));
+
+        for (int i = 0; i < length; i++) {
+            bytes[end++] = (byte) characters.charAt(i);
+        }
+    }
+
+    /**
+     * Remove leading and trailing whitespace and control characters, as {@link String#trim()} does
+     *
+     * @return this slice
+     */
+    public ByteSlice trim() {
+        while (start < end && (bytes[start] & 0xFF) <= ' ')
+            start++;
+        while (end > start && (bytes[end - 1] & 0xFF) <= ' ')
+            end--;
+        return this;
+    }
+
+    /**
+     * Get the byte at the given index
+     *
+     * @param index the index in the slice
+     * @return the byte
+     */
+    public byte byteAt(final int index) {
+        if (index < 0 || index >= length())
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the slice of length " + length());
+
+        return bytes[start + index];
+    }
+
+    /**
+     * The storage backing the slice, only valid until the slice is next changed
+     *
+     * @return the storage, the slice starts at {@link #offset()}
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * The position in {@link #array()} of the first byte of the slice
+     *
+     * @return the offset
+     */
+    public int offset() {
+        return start;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return (char) (byteAt(index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int from, final int to) {
+        return toString().subSequence(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decode the bytes of the slice
+     *
+     * @param charset the encoding of the bytes
+     * @return the decoded string
+     */
+    public String toString(final Charset charset) {
+        return new String(bytes, start, length(), charset);
+    }
+}
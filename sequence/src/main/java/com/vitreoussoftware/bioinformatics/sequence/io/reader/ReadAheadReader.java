@@ -0,0 +1,128 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a channel ahead of its consumer on a background thread. A ring of buffers cycles between the I/O thread,
+ * which fills free buffers, and the consumer, which hands each buffer back when it asks for the next one, so the
+ * wait for the disk or network overlaps with parsing instead of alternating with it.
+ */
+public final class ReadAheadReader implements AutoCloseable {
+    /**
+     * Marks the end of the data, or a failure, in the queue of filled buffers
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final ReadableByteChannel source;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> filled;
+    private final Thread thread;
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    private ByteBuffer current;
+    private boolean ended;
+
+    /**
+     * Start reading a channel ahead of the consumer
+     *
+     * @param source     the channel to read
+     * @param buffers    the number of buffers in the ring, at least 2 so one can fill while the other is consumed
+     * @param bufferSize the size of each buffer
+     * @param direct     use direct {@link ByteBuffer}s, which channels such as files can fill without an extra copy
+     */
+    public ReadAheadReader(@NonNull final ReadableByteChannel source, final int buffers, final int bufferSize, final boolean direct) {
+        Preconditions.checkArgument(buffers >= 2, "buffers must be at least 2");
+        Preconditions.checkArgument(bufferSize > 0, "bufferSize must be a positive integer");
+
+        this.source = source;
+        this.free = new ArrayBlockingQueue<>(buffers);
+        // room for every buffer plus the end marker, so the I/O thread never blocks handing over the end
+        this.filled = new ArrayBlockingQueue<>(buffers + 1);
+        for (int i = 0; i < buffers; i++) {
+            free.add(direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize));
+        }
+
+        this.thread = new Thread(this::readAhead, "read-ahead");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Get the next filled buffer, returning the previous one to the ring. The previous buffer must not be used after
+     * this is called.
+     *
+     * @return the next buffer, positioned at its data, or null at the end of the channel
+     * @throws IOException the channel could not be read
+     */
+    public ByteBuffer next() throws IOException {
+        if (current != null) {
+            free.add(current);
+            current = null;
+        }
+        if (ended)
+            return null;
+
+        final ByteBuffer buffer;
+        try {
+            buffer = filled.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for data to be read");
+        }
+
+        if (buffer == END) {
+            ended = true;
+            if (failure != null)
+                throw new IOException("Unable to read ahead", failure);
+            return null;
+        }
+
+        current = buffer;
+        return buffer;
+    }
+
+    /**
+     * Fill free buffers until the end of the channel, run on the I/O thread
+     */
+    private void readAhead() {
+        try {
+            int read = 0;
+            while (read >= 0) {
+                final ByteBuffer buffer = free.take();
+                buffer.clear();
+                // fill the whole buffer so the consumer hands off as rarely as possible
+                do {
+                    read = source.read(buffer);
+                } while (read >= 0 && buffer.hasRemaining());
+
+                buffer.flip();
+                if (buffer.hasRemaining())
+                    filled.put(buffer);
+            }
+        } catch (final InterruptedException e) {
+            // closed
+        } catch (final IOException e) {
+            if (!closed)
+                failure = e;
+        }
+
+        filled.offer(END);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        thread.interrupt();
+        source.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+/**
+ * A mutable record that readers refill in place. Scanning workloads that only inspect each record, such as
+ * filtering or counting, can reuse one holder for a whole file instead of allocating Strings and a {@link
+ * com.vitreoussoftware.bioinformatics.sequence.Sequence} per record. The contents are only valid until the holder is
+ * next refilled.
+ */
+public final class SequenceRecord {
+    private final ByteSlice metadata = new ByteSlice();
+    private final ByteSlice sequence = new ByteSlice();
+    private final ByteSlice quality = new ByteSlice();
+
+    /**
+     * The metadata of the record
+     *
+     * @return the metadata bytes
+     */
+    public ByteSlice getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * The nucleotides of the record, as they appear in the file
+     *
+     * @return the nucleotide bytes
+     */
+    public ByteSlice getSequence() {
+        return sequence;
+    }
+
+    /**
+     * The Phred+33 encoded quality scores of the record, empty for formats that do not have them
+     *
+     * @return the quality bytes
+     */
+    public ByteSlice getQuality() {
+        return quality;
+    }
+
+    /**
+     * The number of nucleotides in the record
+     *
+     * @return length
+     */
+    public int length() {
+        return sequence.length();
+    }
+
+    /**
+     * Empty the record, keeping its storage for reuse
+     */
+    public void clear() {
+        metadata.clear();
+        sequence.clear();
+        quality.clear();
+    }
+}
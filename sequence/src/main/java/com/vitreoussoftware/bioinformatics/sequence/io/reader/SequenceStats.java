@@ -0,0 +1,202 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaIndex;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Record count and length distribution of a sequence file, for sizing indexes before loading them. Stats are
+ * gathered by parsing the records without encoding them into {@link com.vitreoussoftware.bioinformatics.sequence.Sequence}s,
+ * or straight from a {@link FastaIndex} without reading the data at all.
+ */
+public final class SequenceStats {
+    private final long count;
+    private final long totalBases;
+    private final long minLength;
+    private final long maxLength;
+    private final long n50;
+    private final SortedMap<Long, Long> lengths;
+
+    private SequenceStats(final TreeMap<Long, Long> lengths) {
+        long records = 0;
+        long bases = 0;
+        for (val entry : lengths.entrySet()) {
+            records += entry.getValue();
+            bases += entry.getKey() * entry.getValue();
+        }
+
+        this.count = records;
+        this.totalBases = bases;
+        this.minLength = lengths.isEmpty() ? 0 : lengths.firstKey();
+        this.maxLength = lengths.isEmpty() ? 0 : lengths.lastKey();
+        this.n50 = computeN50(lengths, bases);
+        this.lengths = Collections.unmodifiableSortedMap(lengths);
+    }
+
+    /**
+     * The length at which records of that length or longer hold at least half of the bases
+     */
+    private static long computeN50(final TreeMap<Long, Long> lengths, final long totalBases) {
+        long covered = 0;
+        for (val entry : lengths.descendingMap().entrySet()) {
+            covered += entry.getKey() * entry.getValue();
+            if (covered * 2 >= totalBases)
+                return entry.getKey();
+        }
+        return 0;
+    }
+
+    /**
+     * Gather the stats of the remaining records of a reader. Each record is still fully parsed, its bases and qualities
+     * are copied into a reusable {@link SequenceRecord}, but no {@link com.vitreoussoftware.bioinformatics.sequence.Sequence}
+     * is encoded for it. The reader is left at the end of its input.
+     *
+     * @param reader the reader of any format
+     * @return the stats
+     */
+    public static SequenceStats scan(@NonNull final StringStreamReader reader) {
+        val accumulator = new Accumulator();
+        val record = new SequenceRecord();
+        while (reader.hasNext()) {
+            reader.readInto(record);
+            accumulator.add(record.length());
+        }
+        return accumulator.build();
+    }
+
+    /**
+     * Get the stats of an indexed FASTA file from its index alone
+     *
+     * @param index the index of the file
+     * @return the stats
+     */
+    public static SequenceStats of(@NonNull final FastaIndex index) {
+        val accumulator = new Accumulator();
+        for (val entry : index.entries()) {
+            accumulator.add(entry.getLength());
+        }
+        return accumulator.build();
+    }
+
+    /**
+     * Collects record lengths into {@link SequenceStats}, for sources the factory methods do not cover
+     */
+    public static final class Accumulator {
+        private final TreeMap<Long, Long> lengths = new TreeMap<>();
+
+        /**
+         * Count a record
+         *
+         * @param length the number of nucleotides in the record
+         * @return this accumulator
+         */
+        public Accumulator add(final long length) {
+            Preconditions.checkArgument(length >= 0, "length must not be negative");
+
+            lengths.merge(length, 1L, Long::sum);
+            return this;
+        }
+
+        /**
+         * Create the stats of the records counted so far
+         *
+         * @return the stats
+         */
+        public SequenceStats build() {
+            return new SequenceStats(new TreeMap<>(lengths));
+        }
+    }
+
+    /**
+     * The number of records
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The number of nucleotides in all of the records
+     *
+     * @return total bases
+     */
+    public long getTotalBases() {
+        return totalBases;
+    }
+
+    /**
+     * The length of the shortest record, 0 if there are none
+     *
+     * @return min length
+     */
+    public long getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * The length of the longest record, 0 if there are none
+     *
+     * @return max length
+     */
+    public long getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * The largest length L such that records of length L or longer hold at least half of the nucleotides, 0 if there
+     * are no records
+     *
+     * @return N50
+     */
+    public long getN50() {
+        return n50;
+    }
+
+    /**
+     * The mean record length, 0 if there are no records
+     *
+     * @return mean length
+     */
+    public double getMeanLength() {
+        return count == 0 ? 0 : (double) totalBases / count;
+    }
+
+    /**
+     * The number of records of each length
+     *
+     * @return record counts by exact length, in increasing order of length
+     */
+    public SortedMap<Long, Long> getLengths() {
+        return lengths;
+    }
+
+    /**
+     * The number of records in fixed width bins of length
+     *
+     * @param binWidth the width of each bin
+     * @return record counts by the lower bound of each non-empty bin, in increasing order
+     * @throws IllegalArgumentException the width is not positive
+     */
+    public SortedMap<Long, Long> histogram(final long binWidth) {
+        Preconditions.checkArgument(binWidth > 0, "binWidth must be a positive integer");
+
+        final SortedMap<Long, Long> bins = new TreeMap<>();
+        for (final Map.Entry<Long, Long> entry : lengths.entrySet()) {
+            bins.merge(entry.getKey() / binWidth * binWidth, entry.getValue(), Long::sum);
+        }
+        return bins;
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceStats(count=" + count + ", totalBases=" + totalBases + ", minLength=" + minLength
+                + ", maxLength=" + maxLength + ", n50=" + n50 + ")";
+    }
+}
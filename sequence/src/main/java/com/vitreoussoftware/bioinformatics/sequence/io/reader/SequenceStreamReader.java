@@ -1,35 +1,65 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.reader;
 
+import com.google.common.base.Preconditions;
 import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
 import com.vitreoussoftware.bioinformatics.sequence.Sequence;
 import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
+import com.vitreoussoftware.collections.Streamable;
 import lombok.Builder;
 import lombok.NonNull;
-import org.javatuples.Pair;
+import org.javatuples.Triplet;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A stream reader for pulling in Sequence data from some external source
  *
  * @author John
  */
-public class SequenceStreamReader implements AutoCloseable, Iterable<Optional<Sequence>>, Iterator<Optional<Sequence>> {
+public class SequenceStreamReader implements AutoCloseable, Iterable<Optional<Sequence>>, Iterator<Optional<Sequence>>, Streamable<Sequence> {
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
     private final StringStreamReader reader;
     private final SequenceFactory factory;
+    private final int batchSize;
+    private final boolean skipInvalid;
+    private final LongAdder skipped = new LongAdder();
 
     /**
      * Create a {@link SequenceStreamReader} that will produce sequences from the {@link StringStreamReader}
      *
-     * @param reader  The {@link StringStreamReader} to read sequences from
-     * @param factory The {@link SequenceFactory} to construct the proper {@link Sequence} instances
+     * @param reader      The {@link StringStreamReader} to read sequences from
+     * @param factory     The {@link SequenceFactory} to construct the proper {@link Sequence} instances
+     * @param batchSize   Optionally set the number of records handed to each worker of a parallel stream
+     * @param skipInvalid Optionally skip the records the {@link SequenceFactory} rejects when streaming, counting them
+     *                    in {@link #getSkipped()}, instead of failing the stream
      */
     @Builder
-    protected SequenceStreamReader(@NonNull final StringStreamReader reader, @NonNull final SequenceFactory factory) {
+    protected SequenceStreamReader(@NonNull final StringStreamReader reader, @NonNull final SequenceFactory factory, final int batchSize, final boolean skipInvalid) {
+        Preconditions.checkArgument(batchSize > 0, "batchSize must be a positive integer");
+
         this.reader = reader;
         this.factory = factory;
+        this.batchSize = batchSize;
+        this.skipInvalid = skipInvalid;
+    }
+
+    /**
+     * Builder instance with default value for batch size
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class SequenceStreamReaderBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private int batchSize = DEFAULT_BATCH_SIZE;
     }
 
     /**
@@ -50,8 +80,24 @@ public class SequenceStreamReader implements AutoCloseable, Iterable<Optional<Se
      * @throws InvalidDnaFormatException
      */
     public Optional<Sequence> next() {
-        final Pair<String, String> next = this.reader.next();
-        return this.factory.fromString(next.getValue0(), next.getValue1());
+        final Triplet<String, String, String> next = this.reader.nextWithQuality();
+        return this.factory.fromString(next.getValue0(), next.getValue1(), next.getValue2());
+    }
+
+    /**
+     * Reads the next record into a reusable holder, without converting it to a {@link Sequence}. Reusing one holder
+     * for a whole file produces next to no garbage, for workloads that inspect records rather than keep them.
+     *
+     * @param record the holder to refill
+     * @return true if a record was read, false if there are no more records
+     * @throws InvalidDnaFormatException the record was malformed
+     */
+    public boolean readInto(@NonNull final SequenceRecord record) {
+        if (!reader.hasNext())
+            return false;
+
+        reader.readInto(record);
+        return true;
     }
 
     @Override
@@ -59,8 +105,100 @@ public class SequenceStreamReader implements AutoCloseable, Iterable<Optional<Se
         return this;
     }
 
+    /**
+     * The number of records the streams have skipped because the {@link SequenceFactory} rejected them
+     *
+     * @return the number of skipped records
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Stream the remaining records
+     *
+     * @throws InvalidDnaFormatException from the stream, for a record the {@link SequenceFactory} rejects, unless the
+     *                                   reader skips them
+     *
+     * @return the records
+     */
+    @Override
+    public Stream<Sequence> stream() {
+        return stream(false);
+    }
+
+    /**
+     * Stream the remaining records in parallel. Records are read on the splitting thread in batches and the batches
+     * are converted to {@link Sequence}s by the workers, so encoding runs in parallel with reading.
+     *
+     * @throws InvalidDnaFormatException from the stream, for a record the {@link SequenceFactory} rejects, unless the
+     *                                   reader skips them
+     *
+     * @return the records
+     */
+    @Override
+    public Stream<Sequence> parallelStream() {
+        return stream(true);
+    }
+
+    private Stream<Sequence> stream(final boolean parallel) {
+        return StreamSupport.stream(new RecordSpliterator(), parallel)
+                .map(this::convert)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Convert a raw record, failing or counting it if the {@link SequenceFactory} rejects it
+     *
+     * @param record the raw record
+     * @return the sequence, or null if the record was skipped
+     */
+    private Sequence convert(final Triplet<String, String, String> record) {
+        final Optional<Sequence> sequence = factory.fromString(record.getValue0(), record.getValue1(), record.getValue2());
+        if (sequence.isPresent())
+            return sequence.get();
+
+        if (!skipInvalid)
+            throw new InvalidDnaFormatException("The record could not be converted to a sequence: " + record.getValue0());
+
+        skipped.increment();
+        return null;
+    }
+
     @Override
     public void close() throws Exception {
         reader.close();
     }
+
+    /**
+     * Splits off batches of raw records, the {@link StringStreamReader} can only be read sequentially but everything
+     * downstream of it can run on the batches in parallel
+     */
+    private final class RecordSpliterator extends Spliterators.AbstractSpliterator<Triplet<String, String, String>> {
+        private RecordSpliterator() {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Triplet<String, String, String>> action) {
+            if (!reader.hasNext())
+                return false;
+
+            action.accept(reader.nextWithQuality());
+            return true;
+        }
+
+        @Override
+        public Spliterator<Triplet<String, String, String>> trySplit() {
+            final Object[] batch = new Object[batchSize];
+            int size = 0;
+            while (size < batchSize && reader.hasNext()) {
+                batch[size++] = reader.nextWithQuality();
+            }
+            if (size == 0)
+                return null;
+
+            return Spliterators.spliterator(batch, 0, size, ORDERED | NONNULL);
+        }
+    }
 }
@@ -0,0 +1,329 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
+import com.vitreoussoftware.collections.Streamable;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads many files as a single source of {@link Sequence}s. The files are read concurrently by a pool of reader
+ * threads that feed a bounded queue, so readers block when consumers fall behind instead of buffering whole files,
+ * and throughput scales with the number of disks and cores. Records from different files are interleaved.
+ */
+public final class ShardedSequenceSource implements AutoCloseable, Streamable<Sequence> {
+    private static final int DEFAULT_QUEUE_SIZE = 4096;
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Queued by a reader thread when it has finished a file
+     */
+    private static final Object DONE = new Object();
+
+    /**
+     * Opens a file as a {@link StringStreamReader}, such as {@link
+     * com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader#create(String)}
+     */
+    @FunctionalInterface
+    public interface ReaderFactory {
+        /**
+         * Open a file
+         *
+         * @param filePath the file to open
+         * @return the reader for the file
+         * @throws IOException the file could not be opened
+         */
+        StringStreamReader open(String filePath) throws IOException;
+    }
+
+    /**
+     * Queued by a reader thread when reading a file failed
+     */
+    private static final class Failure {
+        private final String filePath;
+        private final Throwable cause;
+
+        private Failure(final String filePath, final Throwable cause) {
+            this.filePath = filePath;
+            this.cause = cause;
+        }
+    }
+
+    private final List<String> files;
+    private final ReaderFactory readerFactory;
+    private final SequenceFactory factory;
+    private final int readerThreads;
+    private final boolean skipInvalid;
+    private final BlockingQueue<Object> queue;
+    private final LongAdder skipped = new LongAdder();
+
+    private ExecutorService executor;
+
+    /**
+     * Create a {@link ShardedSequenceSource} for a set of files
+     *
+     * @param files         The paths of the files to read
+     * @param readerFactory The {@link ReaderFactory} to open each file with
+     * @param factory       The {@link SequenceFactory} to construct the proper {@link Sequence} instances
+     * @param readerThreads Optionally set the number of files read at once
+     * @param queueSize     Optionally set the number of records that can be waiting for consumers
+     * @param skipInvalid   Optionally skip the records the {@link SequenceFactory} rejects, counting them in
+     *                      {@link #getSkipped()}, instead of failing the stream
+     */
+    @Builder
+    private ShardedSequenceSource(@NonNull final List<String> files,
+                                  @NonNull final ReaderFactory readerFactory,
+                                  @NonNull final SequenceFactory factory,
+                                  final int readerThreads,
+                                  final int queueSize,
+                                  final boolean skipInvalid) {
+        Preconditions.checkArgument(readerThreads > 0, "readerThreads must be a positive integer");
+        Preconditions.checkArgument(queueSize > 0, "queueSize must be a positive integer");
+
+        this.files = Collections.unmodifiableList(new ArrayList<>(files));
+        this.readerFactory = readerFactory;
+        this.factory = factory;
+        this.readerThreads = readerThreads;
+        this.skipInvalid = skipInvalid;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Builder instance with default values for reader threads and queue size
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class ShardedSequenceSourceBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private int readerThreads = Runtime.getRuntime().availableProcessors();
+        @SuppressWarnings("FieldMayBeFinal")
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+    }
+
+    /**
+     * Find the files in a directory whose names match a glob, such as "*.fastq.gz"
+     *
+     * @param directory the directory to search
+     * @param glob      the pattern for the file names
+     * @return the matching files, sorted by name
+     * @throws IOException the directory could not be listed
+     */
+    public static List<String> glob(@NonNull final String directory, @NonNull final String glob) throws IOException {
+        val matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> paths = Files.list(Paths.get(directory))) {
+            return paths.filter(path -> Files.isRegularFile(path) && matcher.matches(path.getFileName()))
+                    .map(Path::toString)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * The files this source reads
+     *
+     * @return the file paths
+     */
+    public List<String> getFiles() {
+        return files;
+    }
+
+    /**
+     * The number of records skipped so far because the {@link SequenceFactory} rejected them
+     *
+     * @return the number of skipped records
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Stream the records of all of the files. A source can only be streamed once.
+     *
+     * @return the records
+     * @throws IllegalStateException     the source has already been streamed
+     * @throws InvalidDnaFormatException from the stream, for a record the {@link SequenceFactory} rejects, unless the
+     *                                   source skips them
+     */
+    @Override
+    public Stream<Sequence> stream() {
+        return stream(false);
+    }
+
+    /**
+     * Stream the records of all of the files in parallel, handing the workers batches of records from the queue. A
+     * source can only be streamed once.
+     *
+     * @return the records
+     * @throws IllegalStateException     the source has already been streamed
+     * @throws InvalidDnaFormatException from the stream, for a record the {@link SequenceFactory} rejects, unless the
+     *                                   source skips them
+     */
+    @Override
+    public Stream<Sequence> parallelStream() {
+        return stream(true);
+    }
+
+    private synchronized Stream<Sequence> stream(final boolean parallel) {
+        Preconditions.checkState(executor == null, "The sharded source has already been streamed");
+
+        executor = Executors.newFixedThreadPool(readerThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "shard-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (val file : files) {
+            executor.execute(() -> read(file));
+        }
+        executor.shutdown();
+
+        return StreamSupport.stream(new QueueSpliterator(), parallel).onClose(this::close);
+    }
+
+    /**
+     * Read a whole file into the queue, run on a reader thread
+     *
+     * @param filePath the file to read
+     */
+    private void read(final String filePath) {
+        try {
+            // closed explicitly rather than with try-with-resources, SequenceStreamReader.close() is declared to throw
+            // InterruptedException
+            val reader = SequenceStreamReader.builder()
+                    .reader(readerFactory.open(filePath))
+                    .factory(factory)
+                    .build();
+            try {
+                while (reader.hasNext()) {
+                    val sequence = reader.next();
+                    if (sequence.isPresent())
+                        queue.put(sequence.get());
+                    else if (skipInvalid)
+                        skipped.increment();
+                    else
+                        throw new InvalidDnaFormatException("A record in " + filePath + " could not be converted to a sequence");
+                }
+            } finally {
+                reader.close();
+            }
+            queue.put(DONE);
+        } catch (final InterruptedException e) {
+            // closed
+        } catch (final Throwable e) {
+            // errors are queued too, otherwise the consumer would wait forever for this file
+            try {
+                queue.put(new Failure(filePath, e));
+            } catch (final InterruptedException interrupted) {
+                // closed
+            }
+        }
+    }
+
+    /**
+     * Stop the reader threads, records that have not been consumed are discarded
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null)
+            executor.shutdownNow();
+    }
+
+    private static RuntimeException rethrow(final Failure failure) {
+        if (failure.cause instanceof InvalidDnaFormatException)
+            return (InvalidDnaFormatException) failure.cause;
+        if (failure.cause instanceof IOException)
+            return new UncheckedIOException("Unable to read " + failure.filePath, (IOException) failure.cause);
+        return new IllegalStateException("Unable to read " + failure.filePath, failure.cause);
+    }
+
+    /**
+     * Takes records from the queue until every file has been read
+     */
+    private final class QueueSpliterator implements Spliterator<Sequence> {
+        private int remaining = files.size();
+
+        /**
+         * Take the next record from the queue
+         *
+         * @return the record, or null once every file has been read
+         */
+        private Sequence take() {
+            while (remaining > 0) {
+                final Object next;
+                try {
+                    next = queue.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for records to be read", e);
+                }
+
+                if (next == DONE) {
+                    remaining--;
+                } else if (next instanceof Failure) {
+                    remaining = 0;
+                    close();
+                    throw rethrow((Failure) next);
+                } else {
+                    return (Sequence) next;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Sequence> action) {
+            final Sequence next = take();
+            if (next == null)
+                return false;
+
+            action.accept(next);
+            return true;
+        }
+
+        @Override
+        public Spliterator<Sequence> trySplit() {
+            final Object[] batch = new Object[BATCH_SIZE];
+            int size = 0;
+            Sequence next;
+            while (size < BATCH_SIZE && (next = take()) != null) {
+                batch[size++] = next;
+            }
+            if (size == 0)
+                return null;
+
+            return Spliterators.spliterator(batch, 0, size, NONNULL);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.reader;
 
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 
 /**
@@ -28,6 +30,33 @@ public interface StringStreamReader extends AutoCloseable, Iterable<Pair<String,
      */
     public abstract Pair<String, String> next();
 
+    /**
+     * Reads a record from the file along with its quality scores
+     *
+     * @return the metadata, sequence and Phred+33 encoded quality scores of the record, the quality scores are empty
+     * for formats that do not have them
+     * @throws IOException something went wrong reading from the file
+     */
+    public default Triplet<String, String, String> nextWithQuality() {
+        return next().add("");
+    }
+
+    /**
+     * Reads a record from the file into a reusable holder instead of allocating a new one
+     *
+     * @param record the holder to refill
+     * @throws IOException something went wrong reading from the file
+     */
+    public default void readInto(final SequenceRecord record) {
+        final Triplet<String, String, String> next = nextWithQuality();
+
+        record.clear();
+        final byte[] metadata = next.getValue0().getBytes(StandardCharsets.UTF_8);
+        record.getMetadata().append(metadata, 0, metadata.length);
+        record.getSequence().append(next.getValue1());
+        record.getQuality().append(next.getValue2());
+    }
+
     @Override
     default public Iterator<Pair<String, String>> iterator() {
         return this;
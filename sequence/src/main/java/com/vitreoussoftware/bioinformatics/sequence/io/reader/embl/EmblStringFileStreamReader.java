@@ -2,12 +2,16 @@ package com.vitreoussoftware.bioinformatics.sequence.io.reader.embl;
 
 import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.BufferFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.ByteSet;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.ByteSlice;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceRecord;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
 import lombok.NonNull;
 import org.javatuples.Pair;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * File stream reader for EMBL data files
@@ -15,11 +19,18 @@ import java.io.IOException;
  * @author John
  */
 public final class EmblStringFileStreamReader implements StringStreamReader {
+    private static final ByteSet NOT_ALPHABETIC = ByteSet.matching(Character::isAlphabetic).negate();
+
     /**
      * The EMBL file wrapped in a {@link BufferFileStreamReader}
      */
     private final BufferFileStreamReader reader;
 
+    /**
+     * Reused for every record
+     */
+    private final SequenceRecord record = new SequenceRecord();
+
     /**
      * Create a EMBL File Stream Reader for the given file
      *
@@ -59,6 +70,35 @@ public final class EmblStringFileStreamReader implements StringStreamReader {
                         .build());
     }
 
+    /**
+     * Create an input stream for EMBL file format
+     *
+     * @param filePath             the EMBL file, optionally gzip or BGZF compressed
+     * @param pagingSize           the size of the buffer for paging data from disk
+     * @param decompressionThreads the number of threads used to decompress BGZF files
+     * @return the input stream
+     * @throws FileNotFoundException the specified file was not found
+     */
+    public static StringStreamReader create(final String filePath, final int pagingSize, final int decompressionThreads) throws FileNotFoundException {
+        return new EmblStringFileStreamReader(
+                BufferFileStreamReader.builder()
+                        .filePath(filePath)
+                        .bufferSize(pagingSize)
+                        .decompressionThreads(decompressionThreads)
+                        .build());
+    }
+
+    /**
+     * Create an input stream for EMBL file format from a configured {@link BufferFileStreamReader}, for options such
+     * as read ahead that the other factory methods do not expose
+     *
+     * @param reader the reader of the EMBL file
+     * @return the input stream
+     */
+    public static StringStreamReader create(@NonNull final BufferFileStreamReader reader) {
+        return new EmblStringFileStreamReader(reader);
+    }
+
     /**
      * Reads a record from the file
      *
@@ -66,10 +106,21 @@ public final class EmblStringFileStreamReader implements StringStreamReader {
      */
     @Override
     public Pair<String, String> next() {
-        final String metadata = readMetadata();
-        final String data = readSequenceData();
+        readInto(record);
+
+        return Pair.with(record.getMetadata().toString(StandardCharsets.UTF_8), record.getSequence().toString());
+    }
 
-        return Pair.with(metadata, data);
+    /**
+     * Reads a record from the file into a reusable holder
+     *
+     * @param record the holder to refill
+     */
+    @Override
+    public void readInto(@NonNull final SequenceRecord record) {
+        readMetadata(record.getMetadata());
+        readSequenceData(record.getSequence());
+        record.getQuality().clear();
     }
 
     /**
@@ -97,7 +148,9 @@ public final class EmblStringFileStreamReader implements StringStreamReader {
         this.reader.close();
     }
 
-    private String readMetadata() {
+    private void readMetadata(final ByteSlice metadata) {
+        metadata.clear();
+
         // Find the Start flag
         reader.dropUntil("ID");
 
@@ -105,55 +158,54 @@ public final class EmblStringFileStreamReader implements StringStreamReader {
         reader.dropWhileWhitespace();
 
         // Deal with the rest of the metadata
-        return reader.takeUntil(x -> x == '\n');
+        reader.takeUntil('\n', metadata);
+        reader.drop();
     }
 
-    private String readSequenceData() {
-        final StringBuilder sb = new StringBuilder();
+    private void readSequenceData(final ByteSlice data) {
+        data.clear();
         boolean readingSequence = true;
 
         // Seek for the flag that starts the Sequence
         reader.dropUntil("SQ");
 
         // skip the line
-        reader.dropUntil(x -> x == '\n');
+        reader.findNewline();
 
         do {
             if (reader.isEof())
                 throw new InvalidDnaFormatException("Did not find end of sequence before end of file");
 
             // Read Rows of data until we run out of them
-            sb.append(readDataRow());
+            readDataRow(data);
 
 
             // If our cursor is currently on the '/' character we've either at a valid termination or a fault
-            if (reader.is(x -> x == '/')) {
+            if (reader.is('/')) {
                 // Advance one character and recheck
                 reader.drop();
-                if (reader.is(x -> x == '/')) {
+                if (reader.is('/')) {
                     readingSequence = false;
                     reader.drop();
                 } else
                     throw new InvalidDnaFormatException("Malformed sequence, found partial terminator '/' only, not '//'.");
             }
         } while (readingSequence);
-
-        return sb.toString();
     }
 
-    private String readDataRow() {
-        final StringBuilder row = new StringBuilder();
+    private void readDataRow(final ByteSlice data) {
         boolean readingRow = true;
 
         reader.dropWhileWhitespace();
 
         do {
-            // read elements from the buffer reader.takeUntil we find the start of the next sequence, terminator for current sequence
-            // or white space
-            row.append(reader.takeUntil(Character::isWhitespace));
+            // read elements from the buffer until we find the start of the next sequence, terminator for current sequence
+            // or white space, then drop the character that stopped us
+            reader.takeUntilWhitespace(data);
+            reader.drop();
 
             // determine if this is the last data block on the row. To do this we need to ensure the buffer is not empty
-            if (reader.is(x -> !Character.isAlphabetic(x))) {
+            if (reader.is(NOT_ALPHABETIC)) {
                 readingRow = false;
             }
             if (reader.isEof())
@@ -163,10 +215,8 @@ public final class EmblStringFileStreamReader implements StringStreamReader {
 
         // Now that we've read the sequence data run to the end of the row and drop the count data
         // TODO should we check the counts?
-        reader.dropUntil(Character::isDigit);
+        reader.dropUntil(ByteSet.DIGITS);
         reader.dropUntilWhiteSpace();
         reader.dropWhileWhitespace();
-
-        return row.toString();
     }
 }
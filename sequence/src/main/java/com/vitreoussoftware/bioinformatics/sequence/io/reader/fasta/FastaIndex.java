@@ -0,0 +1,283 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
+
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Index of the records in a FASTA file, compatible with the samtools .fai format. Each record is described by its
+ * name, length, the byte offset of its first nucleotide, and the number of nucleotides and bytes on each line, which
+ * is enough to find the bytes of any region without reading the rest of the file.
+ * <p>
+ * Like samtools only '>' headers are supported and every line of a record except the last must be the same length.
+ */
+public final class FastaIndex {
+    /**
+     * The extension samtools uses for FASTA index files
+     */
+    public static final String EXTENSION = ".fai";
+
+    private static final int BUFFER_SIZE = 64 * 1024; // 64 KB read size
+    private static final int FIELDS = 5;
+
+    /**
+     * A single record of the index
+     */
+    @Value
+    public static class Entry {
+        /**
+         * The name of the record, the header up to the first whitespace
+         */
+        String name;
+        /**
+         * The number of nucleotides in the record
+         */
+        long length;
+        /**
+         * The byte offset in the file of the first nucleotide of the record
+         */
+        long offset;
+        /**
+         * The number of nucleotides on each line
+         */
+        int lineBases;
+        /**
+         * The number of bytes on each line, including the line terminator
+         */
+        int lineWidth;
+
+        /**
+         * Find the byte offset in the file of a nucleotide of this record
+         *
+         * @param index the index of the nucleotide in the record
+         * @return the byte offset, an empty record only has its offset
+         */
+        public long position(final long index) {
+            if (lineBases == 0)
+                return offset;
+            return offset + (index / lineBases) * lineWidth + index % lineBases;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private FastaIndex(final Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Get the path the index of a FASTA file is stored at
+     *
+     * @param fastaPath the FASTA file
+     * @return the path of the index file
+     */
+    public static String indexPath(final String fastaPath) {
+        return fastaPath + EXTENSION;
+    }
+
+    /**
+     * Build the index of a FASTA file by scanning it once
+     *
+     * @param fastaPath the FASTA file
+     * @return the index
+     * @throws IOException               the file could not be read
+     * @throws InvalidDnaFormatException the file does not have the consistent line lengths an index requires, or two
+     *                                   records have the same name
+     */
+    public static FastaIndex build(@NonNull final String fastaPath) throws IOException {
+        try (val input = new BufferedInputStream(new FileInputStream(fastaPath), BUFFER_SIZE)) {
+            return build(input);
+        }
+    }
+
+    private static FastaIndex build(final InputStream input) throws IOException {
+        val entries = new LinkedHashMap<String, Entry>();
+        val header = new ByteArrayOutputStream();
+
+        String name = null;
+        long length = 0;
+        long offset = 0;
+        int lineBases = 0;
+        int lineWidth = 0;
+        boolean ended = false;
+
+        long position = 0;
+        int b;
+        while ((b = input.read()) != -1) {
+            final boolean isHeader = b == '>';
+            header.reset();
+
+            // consume the line, counting the printable characters separately from the terminators
+            int width = 0;
+            int bases = 0;
+            while (b != -1 && b != '\n') {
+                width++;
+                if (b > ' ')
+                    bases++;
+                if (isHeader)
+                    header.write(b);
+                b = input.read();
+            }
+            if (b == '\n')
+                width++;
+            position += width;
+
+            if (isHeader) {
+                if (name != null)
+                    add(entries, new Entry(name, length, offset, lineBases, lineWidth));
+
+                name = parseName(header);
+                length = 0;
+                offset = position;
+                lineBases = 0;
+                lineWidth = 0;
+                ended = false;
+                continue;
+            }
+
+            if (bases == 0) {
+                // blank lines may only follow the data of a record
+                if (lineBases == 0)
+                    offset = position;
+                else
+                    ended = true;
+                continue;
+            }
+            if (name == null)
+                throw new InvalidDnaFormatException("Found sequence data before the first header of the FASTA file");
+            if (ended || (lineBases > 0 && bases > lineBases))
+                throw new InvalidDnaFormatException("Different line length in sequence " + name);
+
+            if (lineBases == 0) {
+                lineBases = bases;
+                lineWidth = width;
+            }
+            ended = bases < lineBases || width != lineWidth;
+            length += bases;
+        }
+
+        if (name != null)
+            add(entries, new Entry(name, length, offset, lineBases, lineWidth));
+
+        return new FastaIndex(Collections.unmodifiableMap(entries));
+    }
+
+    private static void add(final Map<String, Entry> entries, final Entry entry) {
+        // a name has to find a single record
+        if (entries.putIfAbsent(entry.getName(), entry) != null)
+            throw new InvalidDnaFormatException("Found more than one sequence named " + entry.getName());
+    }
+
+    private static String parseName(final ByteArrayOutputStream header) {
+        // skip the '>', the name ends at the first whitespace
+        val text = new String(header.toByteArray(), 1, header.size() - 1, StandardCharsets.UTF_8).trim();
+        return text.split("\\s", 2)[0];
+    }
+
+    /**
+     * Read an index from a .fai file
+     *
+     * @param indexPath the index file
+     * @return the index
+     * @throws IOException the file could not be read or is not a valid index
+     */
+    public static FastaIndex read(@NonNull final String indexPath) throws IOException {
+        val entries = new LinkedHashMap<String, Entry>();
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(indexPath), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty())
+                    continue;
+
+                val fields = line.split("\t");
+                if (fields.length < FIELDS)
+                    throw new IOException("Expected " + FIELDS + " fields in the index line: " + line);
+
+                try {
+                    val entry = new Entry(fields[0],
+                            Long.parseLong(fields[1]),
+                            Long.parseLong(fields[2]),
+                            Integer.parseInt(fields[3]),
+                            Integer.parseInt(fields[4]));
+                    if (entry.getLineBases() <= 0 && entry.getLength() > 0)
+                        throw new IOException("Expected a positive line length in the index line: " + line);
+                    if (entries.putIfAbsent(entry.getName(), entry) != null)
+                        throw new IOException("Found more than one index line for " + entry.getName());
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Invalid number in the index line: " + line, e);
+                }
+            }
+        }
+
+        return new FastaIndex(Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * Write the index as a .fai file
+     *
+     * @param indexPath the file to write
+     * @throws IOException the file could not be written
+     */
+    public void write(@NonNull final String indexPath) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(indexPath), StandardCharsets.UTF_8)) {
+            for (val entry : entries.values()) {
+                writer.write(entry.getName());
+                writer.write('\t');
+                writer.write(Long.toString(entry.getLength()));
+                writer.write('\t');
+                writer.write(Long.toString(entry.getOffset()));
+                writer.write('\t');
+                writer.write(Integer.toString(entry.getLineBases()));
+                writer.write('\t');
+                writer.write(Integer.toString(entry.getLineWidth()));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Get the index entry for a record
+     *
+     * @param name the name of the record
+     * @return the entry, or empty if there is no record with that name
+     */
+    public Optional<Entry> get(final String name) {
+        return Optional.ofNullable(entries.get(name));
+    }
+
+    /**
+     * Get all of the index entries in the order they appear in the file
+     *
+     * @return the entries
+     */
+    public Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    /**
+     * The number of records in the index
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -1,12 +1,16 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
 
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.BufferFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.ByteSet;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.ByteSlice;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceRecord;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
 import lombok.NonNull;
 import org.javatuples.Pair;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * File stream reader for FASTA data files
@@ -14,11 +18,20 @@ import java.io.IOException;
  * @author John
  */
 public final class FastaStringFileStreamReader implements StringStreamReader {
+    private static final ByteSet RECORD_START = ByteSet.of(';', '>');
+    private static final ByteSet DATA_END = ByteSet.matching(x -> x == '*' || Character.isWhitespace(x));
+
     /**
      * The FASTA file wrapped in a {@link BufferFileStreamReader}
      */
     private final BufferFileStreamReader reader;
 
+    /**
+     * Reused for every record
+     */
+    private final SequenceRecord record = new SequenceRecord();
+    private final ByteSlice comments = new ByteSlice();
+
     /**
      * Create a FASTA File Stream Reader for the given file
      *
@@ -58,6 +71,35 @@ public final class FastaStringFileStreamReader implements StringStreamReader {
                         .build());
     }
 
+    /**
+     * Create an input stream for FASTA file format
+     *
+     * @param filePath             the FASTA file, optionally gzip or BGZF compressed
+     * @param pagingSize           the size of the buffer for paging data from disk
+     * @param decompressionThreads the number of threads used to decompress BGZF files
+     * @return the input stream
+     * @throws FileNotFoundException the specified file was not found
+     */
+    public static StringStreamReader create(final String filePath, final int pagingSize, final int decompressionThreads) throws FileNotFoundException {
+        return new FastaStringFileStreamReader(
+                BufferFileStreamReader.builder()
+                        .filePath(filePath)
+                        .bufferSize(pagingSize)
+                        .decompressionThreads(decompressionThreads)
+                        .build());
+    }
+
+    /**
+     * Create an input stream for FASTA file format from a configured {@link BufferFileStreamReader}, for options such
+     * as read ahead that the other factory methods do not expose
+     *
+     * @param reader the reader of the FASTA file
+     * @return the input stream
+     */
+    public static StringStreamReader create(@NonNull final BufferFileStreamReader reader) {
+        return new FastaStringFileStreamReader(reader);
+    }
+
     /**
      * Reads a record from the file
      *
@@ -65,11 +107,22 @@ public final class FastaStringFileStreamReader implements StringStreamReader {
      */
     @Override
     public Pair<String, String> next() {
-        final String metadata = readMetadata();
-        final String comments = readComments();
-        final String data = readSequenceData();
+        readInto(record);
+
+        return Pair.with(record.getMetadata().toString(StandardCharsets.UTF_8), record.getSequence().toString());
+    }
 
-        return Pair.with(metadata, data);
+    /**
+     * Reads a record from the file into a reusable holder
+     *
+     * @param record the holder to refill
+     */
+    @Override
+    public void readInto(@NonNull final SequenceRecord record) {
+        readMetadata(record.getMetadata());
+        readComments();
+        readSequenceData(record.getSequence());
+        record.getQuality().clear();
     }
 
     /**
@@ -81,7 +134,7 @@ public final class FastaStringFileStreamReader implements StringStreamReader {
     @Override
     public boolean hasNext() {
         // Dump whitespace
-        reader.dropUntil(x -> !Character.isWhitespace(x));
+        reader.dropWhileWhitespace();
 
         return !reader.isEof();
     }
@@ -97,41 +150,40 @@ public final class FastaStringFileStreamReader implements StringStreamReader {
         super.finalize();
     }
 
-    private String readMetadata() {
-        final StringBuilder sb = new StringBuilder();
-        // if we are out of buffered data read more
+    private void readMetadata(final ByteSlice destination) {
+        destination.clear();
 
-        reader.dropUntil(x -> x == ';' || x == '>');
+        reader.dropUntil(RECORD_START);
         reader.drop();
 
-        sb.append(reader.takeUntil(x -> x == '\n'));
+        reader.takeUntil('\n', destination);
+        reader.drop();
 
-        return sb.toString().trim();
+        destination.trim();
     }
 
-    private String readComments() {
-        final StringBuilder sb = new StringBuilder();
+    private void readComments() {
+        comments.clear();
 
         // spin until we are out of white space
         reader.dropWhileWhitespace();
 
         // if we have comments
         if (reader.is(';'))
-            sb.append(readMetadata());
-
-        return sb.toString();
+            readMetadata(comments);
     }
 
-    private String readSequenceData() {
-        final StringBuilder sb = new StringBuilder();
+    private void readSequenceData(final ByteSlice data) {
+        data.clear();
         boolean readingSequence = true;
 
         while (readingSequence && !reader.isEof()) {
             reader.dropWhileWhitespace();
 
             // read elements from the buffer until we find the start of the next sequence, terminator for current sequence
-            // or white space
-            sb.append(reader.takeUntil(character -> character == '*' || Character.isWhitespace(character)));
+            // or white space, then drop the character that stopped us
+            reader.takeUntil(DATA_END, data);
+            reader.drop();
 
             reader.dropWhileWhitespace();
 
@@ -142,7 +194,5 @@ public final class FastaStringFileStreamReader implements StringStreamReader {
             if (reader.is('>') || reader.is(';'))
                 readingSequence = false;
         }
-
-        return sb.toString();
     }
 }
@@ -0,0 +1,169 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Random access reader for FASTA data files. Uses a {@link FastaIndex} to seek straight to the bytes of a record, or a
+ * region of one, instead of streaming through the file from the start. Reads do not share any position so a single
+ * reader can serve concurrent fetches.
+ */
+public final class IndexedFastaReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final FastaIndex index;
+    private final EncodingScheme encodingScheme;
+
+    /**
+     * Create an {@link IndexedFastaReader} for a given file
+     *
+     * @param filePath       The path to the file to read
+     * @param index          Optionally set the index, otherwise the .fai file next to the FASTA file is used if it
+     *                       exists, or an index is built by scanning the file
+     * @param encodingScheme Optionally set the {@link EncodingScheme} for the sequences
+     * @throws IOException the file or its index could not be read
+     */
+    @Builder
+    private IndexedFastaReader(@NonNull final String filePath, final FastaIndex index, @NonNull final EncodingScheme encodingScheme) throws IOException {
+        this.index = index != null ? index : loadIndex(filePath);
+        this.encodingScheme = encodingScheme;
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+    }
+
+    /**
+     * Builder instance with default value for encoding scheme
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class IndexedFastaReaderBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private EncodingScheme encodingScheme = new ExpandedIupacEncodingScheme();
+    }
+
+    /**
+     * Create a random access reader for FASTA file format
+     *
+     * @param filePath the FASTA file
+     * @return the reader
+     * @throws IOException the file or its index could not be read
+     */
+    public static IndexedFastaReader create(final String filePath) throws IOException {
+        return IndexedFastaReader.builder()
+                .filePath(filePath)
+                .build();
+    }
+
+    private static FastaIndex loadIndex(final String filePath) throws IOException {
+        val indexPath = FastaIndex.indexPath(filePath);
+        if (Files.exists(Paths.get(indexPath)))
+            return FastaIndex.read(indexPath);
+
+        return FastaIndex.build(filePath);
+    }
+
+    /**
+     * Get the {@link FastaIndex} used to find records
+     *
+     * @return the index
+     */
+    public FastaIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Read a whole record
+     *
+     * @param name the name of the record
+     * @return the record, or empty if there is no record with that name or it contained values not supported by the
+     * {@link EncodingScheme}
+     * @throws IOException the file could not be read
+     */
+    public Optional<Sequence> fetch(final String name) throws IOException {
+        val entry = index.get(name);
+        if (!entry.isPresent())
+            return Optional.empty();
+
+        return fetch(name, 0, entry.get().getLength());
+    }
+
+    /**
+     * Read the range [start, end) of a record
+     *
+     * @param name  the name of the record
+     * @param start the index of the first nucleotide, inclusive
+     * @param end   the index of the end of the region, exclusive
+     * @return the region, or empty if there is no record with that name or it contained values not supported by the
+     * {@link EncodingScheme}
+     * @throws IOException               the file could not be read
+     * @throws IndexOutOfBoundsException the range is outside of the record
+     * @throws IllegalArgumentException  the range is empty
+     */
+    public Optional<Sequence> fetch(final String name, final long start, final long end) throws IOException {
+        val found = index.get(name);
+        if (!found.isPresent())
+            return Optional.empty();
+        val entry = found.get();
+
+        if (start < 0 || end > entry.getLength() || start > end)
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is outside of " + name + " of length " + entry.getLength());
+        Preconditions.checkArgument(end > start, "Cannot construct an empty Sequence");
+        Preconditions.checkArgument(end - start <= Integer.MAX_VALUE, "The region is too large for a single Sequence");
+
+        final long from = entry.position(start);
+        final long to = entry.position(end - 1) + 1;
+        final byte[] bytes = new byte[Math.toIntExact(to - from)];
+        read(bytes, from);
+
+        // encode in place, skipping the line terminators, the write position never passes the read position
+        int length = 0;
+        try {
+            for (final byte b : bytes) {
+                if (b > ' ')
+                    bytes[length++] = encodingScheme.getValue((char) (b & 0xFF));
+            }
+        } catch (final InvalidDnaFormatException e) {
+            System.err.println(e.getMessage());
+            System.err.println("\t" + name + ":" + start + "-" + end);
+            return Optional.empty();
+        }
+        if (length != end - start)
+            throw new IOException("The FASTA file does not match its index for " + name);
+
+        return Optional.of(BasicSequence.copyOf(name, bytes, 0, length, encodingScheme));
+    }
+
+    /**
+     * Fill the destination with the bytes of the file starting at the given position
+     *
+     * @param destination the array to read into
+     * @param position    the position in the file to start reading at
+     * @throws IOException the file could not be read, or ended before the destination was filled
+     */
+    private void read(final byte[] destination, final long position) throws IOException {
+        val buffer = ByteBuffer.wrap(destination);
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position + buffer.position());
+            if (read < 0)
+                throw new EOFException("The FASTA file ended before the region from its index");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
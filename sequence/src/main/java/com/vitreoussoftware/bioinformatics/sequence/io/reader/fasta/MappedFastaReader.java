@@ -0,0 +1,291 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Reader for FASTA data files that memory maps the file and encodes the nucleotides directly from the mapped bytes,
+ * skipping the character decoding and intermediate Strings of {@link FastaStringFileStreamReader}. The file is mapped
+ * a window at a time so files larger than a single mapping can hold are supported.
+ */
+public final class MappedFastaReader implements AutoCloseable, Iterable<Optional<Sequence>>, Iterator<Optional<Sequence>> {
+    private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024; // 256 MB mappings
+    private static final int INITIAL_RECORD_SIZE = 64 * 1024;
+    private static final int MAX_RETAINED_RECORD_SIZE = 64 * 1024 * 1024; // 64 MB kept between records
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8; // some VMs reserve header words in an array
+    private static final int EOF = -1;
+
+    /**
+     * The bytes that {@link Character#isWhitespace(char)} treats as whitespace
+     */
+    private static final boolean[] WHITESPACE = new boolean[256];
+
+    static {
+        for (int i = 0; i < 128; i++) {
+            WHITESPACE[i] = Character.isWhitespace((char) i);
+        }
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private final EncodingScheme encodingScheme;
+
+    /**
+     * The position in the file of the start of the current window
+     */
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    /**
+     * Reused between records to hold the encoded values, and the metadata bytes, while a record is parsed
+     */
+    private byte[] values;
+    private byte[] metadata;
+
+    /**
+     * Create a {@link MappedFastaReader} for the given file
+     *
+     * @param filePath       The path to the file to read
+     * @param encodingScheme Optionally set the {@link EncodingScheme} for the sequences
+     * @param windowSize     Optionally set the size of the region of the file mapped at a time
+     * @throws IOException the file could not be opened or mapped
+     */
+    @Builder
+    private MappedFastaReader(@NonNull final String filePath, @NonNull final EncodingScheme encodingScheme, final int windowSize) throws IOException {
+        Preconditions.checkArgument(windowSize > 0, "windowSize must be a positive integer");
+
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        this.encodingScheme = encodingScheme;
+        this.values = new byte[INITIAL_RECORD_SIZE];
+        this.metadata = new byte[256];
+        this.windowStart = 0;
+        this.window = map(0);
+    }
+
+    /**
+     * Builder instance with default values for the encoding scheme and window size
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class MappedFastaReaderBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private EncodingScheme encodingScheme = new ExpandedIupacEncodingScheme();
+        @SuppressWarnings("FieldMayBeFinal")
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+    }
+
+    /**
+     * Create a reader for FASTA file format
+     *
+     * @param filePath the FASTA file
+     * @return the reader
+     * @throws IOException the file could not be opened or mapped
+     */
+    public static MappedFastaReader create(final String filePath) throws IOException {
+        return MappedFastaReader.builder()
+                .filePath(filePath)
+                .build();
+    }
+
+    /**
+     * Does the reader still have a record?
+     *
+     * @return boolean indicator
+     */
+    @Override
+    public boolean hasNext() {
+        dropWhileWhitespace();
+
+        return peek() != EOF;
+    }
+
+    /**
+     * Reads a record from the file
+     *
+     * @return the record, or empty if it contained values not supported by the {@link EncodingScheme}
+     * @throws InvalidDnaFormatException the record did not contain any sequence data
+     */
+    @Override
+    public Optional<Sequence> next() {
+        if (!hasNext())
+            throw new NoSuchElementException("There are no more records in the file");
+
+        final String header = readMetadata();
+        readComments();
+
+        return readSequenceData(header);
+    }
+
+    @Override
+    public Iterator<Optional<Sequence>> iterator() {
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private String readMetadata() {
+        int b = peek();
+        while (b != EOF && b != ';' && b != '>') {
+            b = advance();
+        }
+        if (b != EOF)
+            b = advance();
+
+        int length = 0;
+        while (b != EOF && b != '\n') {
+            if (length == metadata.length)
+                metadata = grow(metadata);
+            metadata[length++] = (byte) b;
+            b = advance();
+        }
+
+        return new String(metadata, 0, length, StandardCharsets.UTF_8).trim();
+    }
+
+    private void readComments() {
+        dropWhileWhitespace();
+
+        if (peek() == ';')
+            readMetadata();
+    }
+
+    private Optional<Sequence> readSequenceData(final String header) {
+        InvalidDnaFormatException error = null;
+        int length = 0;
+
+        int b = dropWhileWhitespace();
+        while (b != EOF && b != '>' && b != ';') {
+            // read nucleotides until we find the terminator for the current sequence or white space
+            while (b != EOF && b != '*' && !WHITESPACE[b]) {
+                if (error == null) {
+                    try {
+                        if (length == values.length)
+                            values = grow(values);
+                        values[length++] = encodingScheme.getValue((char) b);
+                    } catch (final InvalidDnaFormatException e) {
+                        // keep going so the reader ends up at the start of the next record
+                        error = e;
+                    }
+                }
+                b = advance();
+            }
+
+            if (b == '*') {
+                advance();
+                break;
+            }
+            b = dropWhileWhitespace();
+        }
+
+        try {
+            if (error != null) {
+                System.err.println(error.getMessage());
+                System.err.println("\t" + header);
+                return Optional.empty();
+            }
+            if (length == 0) throw new InvalidDnaFormatException("The DNA sequence was empty!");
+
+            return Optional.of(BasicSequence.copyOf(header, values, 0, length, encodingScheme));
+        } finally {
+            // the values have been copied, don't hold on to the space of a very large record for the rest of the file
+            if (values.length > MAX_RETAINED_RECORD_SIZE)
+                values = new byte[INITIAL_RECORD_SIZE];
+        }
+    }
+
+    /**
+     * Double the size of a full scratch array, capped at the largest array the VM can allocate
+     *
+     * @param array the full array
+     * @return a larger copy of the array
+     */
+    private static byte[] grow(final byte[] array) {
+        if (array.length >= MAX_ARRAY_SIZE)
+            throw new OutOfMemoryError("The record is too large to hold in an array");
+
+        final int needed = array.length + 1;
+        return Arrays.copyOf(array, Math.max(needed, (int) Math.min(MAX_ARRAY_SIZE, 2L * array.length)));
+    }
+
+    /**
+     * Skip past any whitespace
+     *
+     * @return the first byte that is not whitespace, or {@link #EOF}
+     */
+    private int dropWhileWhitespace() {
+        int b = peek();
+        while (b != EOF && WHITESPACE[b]) {
+            b = advance();
+        }
+        return b;
+    }
+
+    /**
+     * Get the byte at the current position without consuming it
+     *
+     * @return the byte as an unsigned value, or {@link #EOF}
+     */
+    private int peek() {
+        if (!window.hasRemaining() && !nextWindow())
+            return EOF;
+
+        return window.get(window.position()) & 0xFF;
+    }
+
+    /**
+     * Consume the byte at the current position
+     *
+     * @return the byte after it as an unsigned value, or {@link #EOF}
+     */
+    private int advance() {
+        window.position(window.position() + 1);
+        return peek();
+    }
+
+    /**
+     * Map the region of the file following the current window
+     *
+     * @return false if the end of the file has been reached
+     */
+    private boolean nextWindow() {
+        final long next = windowStart + window.limit();
+        if (next >= size)
+            return false;
+
+        windowStart = next;
+        window = map(next);
+        return true;
+    }
+
+    private MappedByteBuffer map(final long position) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
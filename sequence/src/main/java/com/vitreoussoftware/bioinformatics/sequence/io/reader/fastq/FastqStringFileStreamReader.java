@@ -2,12 +2,17 @@ package com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq;
 
 import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.BufferFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.ByteSet;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.ByteSlice;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceRecord;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
 import lombok.NonNull;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * File stream reader for FASTA data files
@@ -20,6 +25,12 @@ public final class FastqStringFileStreamReader implements StringStreamReader {
      */
     private final BufferFileStreamReader reader;
 
+    /**
+     * Reused for every record
+     */
+    private final SequenceRecord record = new SequenceRecord();
+    private final ByteSlice comments = new ByteSlice();
+
     /**
      * Create a FASTQ File Stream Reader for the given file
      *
@@ -59,6 +70,35 @@ public final class FastqStringFileStreamReader implements StringStreamReader {
                         .build());
     }
 
+    /**
+     * Create an input stream for FASTQ file format
+     *
+     * @param filePath             the FASTQ file, optionally gzip or BGZF compressed
+     * @param pagingSize           the size of the buffer for paging data from disk
+     * @param decompressionThreads the number of threads used to decompress BGZF files
+     * @return the input stream
+     * @throws FileNotFoundException the specified file was not found
+     */
+    public static StringStreamReader create(final String filePath, final int pagingSize, final int decompressionThreads) throws FileNotFoundException {
+        return new FastqStringFileStreamReader(
+                BufferFileStreamReader.builder()
+                        .filePath(filePath)
+                        .bufferSize(pagingSize)
+                        .decompressionThreads(decompressionThreads)
+                        .build());
+    }
+
+    /**
+     * Create an input stream for FASTQ file format from a configured {@link BufferFileStreamReader}, for options such
+     * as read ahead that the other factory methods do not expose
+     *
+     * @param reader the reader of the FASTQ file
+     * @return the input stream
+     */
+    public static StringStreamReader create(@NonNull final BufferFileStreamReader reader) {
+        return new FastqStringFileStreamReader(reader);
+    }
+
     /**
      * Reads a record from the file
      *
@@ -66,12 +106,32 @@ public final class FastqStringFileStreamReader implements StringStreamReader {
      */
     @Override
     public Pair<String, String> next() {
-        final String metadata = readMetadata();
-        final String data = readSequenceData();
-        final String comments = readComments();
-        final String quality = readQuality(data.length());
+        return nextWithQuality().removeFrom2();
+    }
+
+    /**
+     * Reads a record from the file along with its quality scores
+     *
+     * @return the metadata, sequence and Phred+33 encoded quality scores of the record
+     */
+    @Override
+    public Triplet<String, String, String> nextWithQuality() {
+        readInto(record);
 
-        return Pair.with(metadata, data);
+        return Triplet.with(record.getMetadata().toString(StandardCharsets.UTF_8), record.getSequence().toString(), record.getQuality().toString());
+    }
+
+    /**
+     * Reads a record from the file, along with its quality scores, into a reusable holder
+     *
+     * @param record the holder to refill
+     */
+    @Override
+    public void readInto(@NonNull final SequenceRecord record) {
+        readMetadata(record.getMetadata());
+        readSequenceData(record.getSequence());
+        readComments();
+        readQuality(record.getQuality(), record.length());
     }
 
     /**
@@ -83,7 +143,7 @@ public final class FastqStringFileStreamReader implements StringStreamReader {
     @Override
     public boolean hasNext() {
         // Dump whitespace
-        reader.dropUntil(x -> !Character.isWhitespace(x));
+        reader.dropWhileWhitespace();
 
         return !reader.isEof();
     }
@@ -93,23 +153,26 @@ public final class FastqStringFileStreamReader implements StringStreamReader {
         this.reader.close();
     }
 
-    private String readMetadata() {
+    private void readMetadata(final ByteSlice metadata) {
+        metadata.clear();
+
         // Find the Start symbol
-        reader.dropUntil(x -> x == '@');
+        reader.findByte('@');
         // move past the start symbol
         reader.drop();
 
-        return reader.takeUntil(x -> x == '\n' || x == '\r');
+        reader.takeUntil(ByteSet.LINE_END, metadata);
+        reader.drop();
     }
 
-    private String readSequenceData() {
-        final StringBuilder sb = new StringBuilder();
+    private void readSequenceData(final ByteSlice data) {
+        data.clear();
         boolean readingSequence = true;
 
         do {
-            // read elements from the buffer reader.takeUntil we find the start of the next sequence, terminator for current sequence
+            // read elements from the buffer until we find the start of the next sequence, terminator for current sequence
             // or white space
-            sb.append(reader.takeUntilWhitespace());
+            reader.takeUntilWhitespace(data);
 
             // Drop white space characters
             reader.dropWhileWhitespace();
@@ -117,45 +180,45 @@ public final class FastqStringFileStreamReader implements StringStreamReader {
             if (reader.isEof())
                 throw new InvalidDnaFormatException("Invalid file format, FASTQ requires quality data to accompany sequence data");
 
-            if (reader.is(x -> x == '+')) {
+            if (reader.is('+')) {
                 readingSequence = false;
             }
         } while (readingSequence);
-
-        return sb.toString();
     }
 
-    private String readComments() {
-        reader.dropUntil(c -> c == '+');
+    private void readComments() {
+        comments.clear();
+
+        reader.findByte('+');
         // move past index
         reader.drop();
 
-        return reader.takeUntil(c -> c == '\n' || c == '\r');
+        reader.takeUntil(ByteSet.LINE_END, comments);
+        reader.drop();
     }
 
-    private String readQuality(final int sequenceLength) {
-        final StringBuilder sb = new StringBuilder();
+    private void readQuality(final ByteSlice quality, final int sequenceLength) {
+        quality.clear();
         boolean readingQuaility = true;
 
         do {
             if (reader.isEof())
                 throw new InvalidDnaFormatException("Invalid file format, FASTQ requires quality data to accompany sequence data");
-            // read elements from the buffer reader.takeUntil we find the start of the next sequence, terminator for current sequence
+            // read elements from the buffer until we find the start of the next sequence, terminator for current sequence
             // or white space
-            sb.append(reader.takeUntilWhitespace());
+            reader.takeUntilWhitespace(quality);
 
             // Drop white space characters
             reader.dropWhileWhitespace();
 
-            if (reader.is(x -> x == '@'))
+            if (reader.is('@'))
                 readingQuaility = false;
 
-            if (sb.length() == sequenceLength)
+            if (quality.length() == sequenceLength)
                 readingQuaility = false;
         } while (readingQuaility);
 
-        assert (sequenceLength == sb.length());
-        return sb.toString();
+        assert (sequenceLength == quality.length());
     }
 
     @Override
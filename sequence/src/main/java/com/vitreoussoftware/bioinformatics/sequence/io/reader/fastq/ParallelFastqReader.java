@@ -0,0 +1,598 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.collections.Streamable;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader for FASTQ data files that parses the file on multiple cores. The file is split into byte ranges, each range
+ * is moved forward to the start of the first complete record in it, and the ranges are parsed independently on a
+ * {@link ForkJoinPool}.
+ * <p>
+ * Only about twice the parallelism of the pool chunks are parsed ahead of the consumer, the next chunk is submitted as
+ * each one is handed out, so the file is never held in memory as a whole.
+ * <p>
+ * Quality lines may also start with '@', so a boundary is only accepted when a whole record parses from it: a header,
+ * sequence lines, a '+' line, as many quality values as nucleotides, and then another header or the end of the file.
+ */
+public final class ParallelFastqReader implements AutoCloseable, Streamable<Sequence> {
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024; // 8 MB per task
+    private static final int RESYNC_WINDOW = 64 * 1024;
+
+    /**
+     * Results of {@link RecordScanner#scan(int, boolean)} that are not positions
+     */
+    private static final int NEED_MORE = -1;
+    private static final int INVALID = -2;
+
+    private final FileChannel channel;
+    private final long size;
+    private final SequenceFactory factory;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final boolean skipInvalid;
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * The windows of the spliterators that are still parsing, cancelled when the reader is closed
+     */
+    private final Set<ChunkWindow> windows = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Create a {@link ParallelFastqReader} for a given file
+     *
+     * @param filePath    The path to the file to read
+     * @param factory     Optionally set the {@link SequenceFactory} to construct the {@link Sequence} instances
+     * @param chunkSize   Optionally set the number of bytes parsed by each task
+     * @param pool        Optionally set the {@link ForkJoinPool} to parse on, defaults to the common pool
+     * @param skipInvalid Optionally skip the records the {@link SequenceFactory} rejects, counting them in
+     *                    {@link #getSkipped()}, instead of failing the stream
+     * @throws IOException the file could not be opened
+     */
+    @Builder
+    private ParallelFastqReader(@NonNull final String filePath, @NonNull final SequenceFactory factory, final int chunkSize, @NonNull final ForkJoinPool pool, final boolean skipInvalid) throws IOException {
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be a positive integer");
+
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.factory = factory;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.skipInvalid = skipInvalid;
+    }
+
+    /**
+     * Builder instance with default values for the factory, chunk size and pool
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class ParallelFastqReaderBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private SequenceFactory factory = new FastqSequenceFactory();
+        @SuppressWarnings("FieldMayBeFinal")
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        @SuppressWarnings("FieldMayBeFinal")
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Create a parallel reader for FASTQ file format
+     *
+     * @param filePath the FASTQ file
+     * @return the reader
+     * @throws IOException the file could not be opened
+     */
+    public static ParallelFastqReader create(final String filePath) throws IOException {
+        return ParallelFastqReader.builder()
+                .filePath(filePath)
+                .build();
+    }
+
+    /**
+     * The number of records skipped so far because the {@link SequenceFactory} rejected them
+     *
+     * @return the number of skipped records
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Start parsing the file and expose the records as they become available. Parsing failures, and records the
+     * {@link SequenceFactory} rejects unless the reader skips them, are rethrown from the {@link Spliterator} as
+     * {@link InvalidDnaFormatException}s.
+     *
+     * @param ordered true to produce the records in file order, false to produce each chunk as soon as it is parsed
+     * @return the {@link Spliterator} of the records
+     */
+    public Spliterator<Sequence> spliterator(final boolean ordered) {
+        return new ChunkSpliterator(new ChunkWindow(ordered), ordered);
+    }
+
+    @Override
+    public Stream<Sequence> stream() {
+        return StreamSupport.stream(spliterator(true), false);
+    }
+
+    @Override
+    public Stream<Sequence> parallelStream() {
+        return StreamSupport.stream(spliterator(true), true);
+    }
+
+    /**
+     * Cancel the chunks that are still being parsed and close the file
+     *
+     * @throws IOException the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        for (val window : windows) {
+            window.cancel();
+        }
+        windows.clear();
+        channel.close();
+    }
+
+    /**
+     * Find the start of the first complete record at or after a position
+     *
+     * @param nominal the position to start searching from
+     * @return the position of the record, or the size of the file if there are none
+     */
+    private long findBoundary(final long nominal) {
+        // include the previous byte so we can tell if the first position starts a line
+        final long start = nominal - 1;
+        int window = RESYNC_WINDOW;
+        int candidate = 1;
+
+        while (true) {
+            val scanner = new RecordScanner(read(start, window), start + window >= size);
+
+            for (; candidate < scanner.limit; candidate++) {
+                if (scanner.data[candidate] != '@' || (scanner.data[candidate - 1] != '\n' && scanner.data[candidate - 1] != '\r'))
+                    continue;
+
+                int end = scanner.scan(candidate, false);
+                if (end >= 0)
+                    end = scanner.peekHeader(end);
+                if (end == NEED_MORE)
+                    break;
+                if (end != INVALID)
+                    return start + candidate;
+            }
+
+            if (candidate >= scanner.limit && scanner.eof)
+                return size;
+            if (window > Integer.MAX_VALUE / 2)
+                throw new InvalidDnaFormatException("Could not find a FASTQ record boundary after byte " + nominal);
+            window *= 2;
+        }
+    }
+
+    /**
+     * Parse the records in the range [start, end) of the file, which must hold whole records
+     *
+     * @param start the position of the first record
+     * @param end   the position after the last record
+     * @return the records
+     */
+    private List<Sequence> parseChunk(final long start, final long end) {
+        if (start >= end)
+            return Collections.emptyList();
+
+        val scanner = new RecordScanner(read(start, Math.toIntExact(end - start)), true);
+        val sequences = new ArrayList<Sequence>();
+
+        int position = scanner.skipWhitespace(0);
+        while (position < scanner.limit) {
+            final int next = scanner.scan(position, true);
+            if (next < 0)
+                throw new InvalidDnaFormatException("Invalid file format, could not parse the FASTQ record at byte " + (start + position));
+
+            final Optional<Sequence> sequence = factory.fromString(scanner.metadata(), scanner.sequence(), scanner.quality());
+            if (sequence.isPresent())
+                sequences.add(sequence.get());
+            else if (skipInvalid)
+                skipped.increment();
+            else
+                throw new InvalidDnaFormatException("The FASTQ record at byte " + (start + position) + " could not be converted to a sequence");
+            position = scanner.skipWhitespace(next);
+        }
+
+        return sequences;
+    }
+
+    /**
+     * Read a range of the file
+     *
+     * @param position the position in the file to start reading at
+     * @param length   the number of bytes to read, fewer are returned if the file ends first
+     * @return the bytes
+     */
+    private byte[] read(final long position, final int length) {
+        final byte[] bytes = new byte[(int) Math.min(length, size - position)];
+        val buffer = ByteBuffer.wrap(bytes);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0)
+                    break;
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.position() == bytes.length ? bytes : Arrays.copyOf(bytes, buffer.position());
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    private static boolean isLineEnd(final byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Walks the FASTQ records in a block of bytes
+     */
+    private static final class RecordScanner {
+        private final byte[] data;
+        private final int limit;
+        /**
+         * Does the block end at the end of the file, rather than somewhere that more data could follow?
+         */
+        private final boolean eof;
+
+        private int metadataStart;
+        private int metadataEnd;
+        private byte[] bases = new byte[256];
+        private byte[] qualities = new byte[256];
+        private int length;
+
+        private RecordScanner(final byte[] data, final boolean eof) {
+            this.data = data;
+            this.limit = data.length;
+            this.eof = eof;
+        }
+
+        /**
+         * Walk the record at the given position
+         *
+         * @param position the position of the '@' starting the record
+         * @param capture  keep the metadata and nucleotides of the record
+         * @return the position after the record, {@link #NEED_MORE} if the block ended first or {@link #INVALID}
+         */
+        private int scan(final int position, final boolean capture) {
+            int p = position;
+            if (data[p] != '@')
+                return INVALID;
+
+            metadataStart = ++p;
+            while (p < limit && !isLineEnd(data[p])) p++;
+            if (p >= limit)
+                return ended();
+            metadataEnd = p;
+
+            // sequence lines until the '+' separator
+            length = 0;
+            while (true) {
+                p = skipWhitespace(p);
+                if (p >= limit)
+                    return ended();
+                if (data[p] == '+')
+                    break;
+                if (data[p] == '@')
+                    return INVALID;
+
+                for (; p < limit && !isWhitespace(data[p]); p++) {
+                    if (capture) {
+                        if (length == bases.length)
+                            bases = Arrays.copyOf(bases, bases.length * 2);
+                        bases[length] = data[p];
+                    }
+                    length++;
+                }
+                if (p >= limit)
+                    return ended();
+            }
+
+            // the separator line may repeat the metadata
+            while (p < limit && !isLineEnd(data[p])) p++;
+            if (p >= limit && length > 0)
+                return ended();
+
+            // one quality value for every nucleotide, possibly across several lines
+            if (capture && qualities.length < length)
+                qualities = new byte[bases.length];
+            int quality = 0;
+            while (quality < length) {
+                p = skipWhitespace(p);
+                if (p >= limit)
+                    return ended();
+                for (; p < limit && !isWhitespace(data[p]); p++) {
+                    if (capture && quality < length)
+                        qualities[quality] = data[p];
+                    quality++;
+                }
+                if (p >= limit && !eof)
+                    return NEED_MORE;
+            }
+
+            return quality == length ? p : INVALID;
+        }
+
+        /**
+         * Check that the next record starts at the given position
+         *
+         * @param position the position after a record
+         * @return the position if it is followed by a header or the end of the file, {@link #NEED_MORE} if the block
+         * ended first or {@link #INVALID}
+         */
+        private int peekHeader(final int position) {
+            final int p = skipWhitespace(position);
+            if (p >= limit)
+                return eof ? position : NEED_MORE;
+
+            return data[p] == '@' ? position : INVALID;
+        }
+
+        private int ended() {
+            return eof ? INVALID : NEED_MORE;
+        }
+
+        private int skipWhitespace(final int position) {
+            int p = position;
+            while (p < limit && isWhitespace(data[p])) p++;
+            return p;
+        }
+
+        private String metadata() {
+            return new String(data, metadataStart, metadataEnd - metadataStart, StandardCharsets.UTF_8);
+        }
+
+        private String sequence() {
+            return new String(bases, 0, length, StandardCharsets.ISO_8859_1);
+        }
+
+        private String quality() {
+            return new String(qualities, 0, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Wait for a chunk to be parsed, rethrowing any failure from the task that parsed it
+     *
+     * @param chunk the chunk
+     * @return the records of the chunk
+     */
+    private static List<Sequence> join(final CompletableFuture<List<Sequence>> chunk) {
+        try {
+            return chunk.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Keeps a bounded number of chunks being parsed ahead of the consumer, submitting the next chunk as each one is
+     * taken and dropping the taken ones
+     */
+    private final class ChunkWindow {
+        private final int count;
+        private final int window;
+        /**
+         * Chunks that have been submitted but not taken, in file order
+         */
+        private final Queue<CompletableFuture<List<Sequence>>> pending = new ArrayDeque<>();
+        /**
+         * Chunks that have been parsed but not taken, when producing the records as soon as they are parsed
+         */
+        private final BlockingQueue<CompletableFuture<List<Sequence>>> completed;
+        /**
+         * The start of the next chunk to submit
+         */
+        private CompletableFuture<Long> boundary = CompletableFuture.completedFuture(0L);
+        private int submitted;
+        private int taken;
+        private boolean cancelled;
+
+        private ChunkWindow(final boolean ordered) {
+            this.count = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+            this.window = Math.max(2, 2 * pool.getParallelism());
+            this.completed = ordered ? null : new LinkedBlockingQueue<>();
+            windows.add(this);
+            fill();
+        }
+
+        /**
+         * Submit chunks until the window is full or every chunk has been submitted
+         */
+        private synchronized void fill() {
+            while (!cancelled && submitted < count && submitted - taken < window) {
+                final long nominal = (long) ++submitted * chunkSize;
+                final CompletableFuture<Long> end = submitted < count
+                        ? CompletableFuture.supplyAsync(() -> findBoundary(nominal), pool)
+                        : CompletableFuture.completedFuture(size);
+                val chunk = boundary.thenCombineAsync(end, ParallelFastqReader.this::parseChunk, pool);
+                boundary = end;
+
+                pending.add(chunk);
+                if (completed != null)
+                    chunk.whenComplete((result, error) -> completed.add(chunk));
+            }
+        }
+
+        /**
+         * Stop submitting chunks and cancel the ones that have not been taken
+         */
+        private synchronized void cancel() {
+            cancelled = true;
+            boundary.cancel(false);
+            for (val chunk : pending) {
+                chunk.cancel(false);
+            }
+            pending.clear();
+        }
+
+        /**
+         * Take the next chunk, waiting for it to be parsed
+         *
+         * @return the records of the chunk, or null if every chunk has been taken
+         */
+        private List<Sequence> next() {
+            CompletableFuture<List<Sequence>> chunk;
+            synchronized (this) {
+                if (cancelled)
+                    throw new IllegalStateException("The reader has been closed");
+                if (taken == count)
+                    return null;
+                if (++taken == count)
+                    windows.remove(this);
+                chunk = completed == null ? pending.poll() : null;
+            }
+
+            if (chunk == null) {
+                chunk = takeCompleted();
+                synchronized (this) {
+                    pending.remove(chunk);
+                }
+            }
+
+            fill();
+            try {
+                return join(chunk);
+            } catch (final CancellationException e) {
+                throw new IllegalStateException("The reader has been closed", e);
+            }
+        }
+
+        /**
+         * Wait for the next chunk to finish parsing. The parse tasks may run on the pool of the calling thread, so the
+         * pool is told that the thread is blocked and may start another to keep parsing.
+         *
+         * @return the parsed chunk
+         */
+        private CompletableFuture<List<Sequence>> takeCompleted() {
+            final CompletedBlocker blocker = new CompletedBlocker(completed);
+            try {
+                ForkJoinPool.managedBlock(blocker);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a FASTQ chunk to be parsed", e);
+            }
+            return blocker.chunk;
+        }
+    }
+
+    /**
+     * Takes a parsed chunk from a queue, letting the {@link ForkJoinPool} of the waiting thread compensate for it
+     */
+    private static final class CompletedBlocker implements ForkJoinPool.ManagedBlocker {
+        private final BlockingQueue<CompletableFuture<List<Sequence>>> completed;
+        private CompletableFuture<List<Sequence>> chunk;
+
+        private CompletedBlocker(final BlockingQueue<CompletableFuture<List<Sequence>>> completed) {
+            this.completed = completed;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (chunk == null)
+                chunk = completed.take();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return chunk != null || (chunk = completed.poll()) != null;
+        }
+    }
+
+    /**
+     * Produces the records of the chunks as they are taken from a {@link ChunkWindow}. Splitting hands the rest of the
+     * current chunk, or the whole next chunk, to another spliterator so a parallel stream can consume several chunks at
+     * once while the order of the records is preserved.
+     */
+    private static final class ChunkSpliterator implements Spliterator<Sequence> {
+        private final ChunkWindow chunks;
+        private final boolean ordered;
+        private Iterator<Sequence> current = Collections.emptyIterator();
+
+        private ChunkSpliterator(final ChunkWindow chunks, final boolean ordered) {
+            this.chunks = chunks;
+            this.ordered = ordered;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Sequence> action) {
+            while (!current.hasNext()) {
+                val records = chunks.next();
+                if (records == null)
+                    return false;
+                current = records.iterator();
+            }
+
+            action.accept(current.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<Sequence> trySplit() {
+            if (current.hasNext()) {
+                // the prefix keeps the partly consumed chunk so the order is preserved
+                val rest = new ArrayList<Sequence>();
+                current.forEachRemaining(rest::add);
+                current = Collections.emptyIterator();
+                return rest.spliterator();
+            }
+
+            val records = chunks.next();
+            return records == null ? null : records.spliterator();
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return (ordered ? ORDERED : 0) | IMMUTABLE | NONNULL;
+        }
+    }
+}
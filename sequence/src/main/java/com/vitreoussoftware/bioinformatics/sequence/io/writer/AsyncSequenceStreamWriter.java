@@ -0,0 +1,246 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.writer;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Wraps a {@link SequenceStreamWriter} so that formatting and disk writes happen on a dedicated thread. Records are
+ * handed over through a bounded queue, so producers only block when they get a full queue ahead of the disk, and each
+ * record gets a {@link CompletableFuture} that completes once it has been written. Records are written in the order
+ * they were submitted.
+ * <p>
+ * Once a write fails every later write fails with it, so the output is never left with a gap.
+ */
+public final class AsyncSequenceStreamWriter implements SequenceStreamWriter {
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /**
+     * Work for the writer thread, it returns the number of characters written
+     */
+    @FunctionalInterface
+    private interface Action {
+        int run() throws Exception;
+    }
+
+    /**
+     * A queued piece of work and the future that reports its result
+     */
+    private static final class Task {
+        private final Action action;
+        private final boolean last;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private Task(final Action action, final boolean last) {
+            this.action = action;
+            this.last = last;
+        }
+    }
+
+    private final SequenceStreamWriter writer;
+    private final BlockingQueue<Task> queue;
+
+    /**
+     * The first failure of the writer, only set by the writer thread
+     */
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * Create an {@link AsyncSequenceStreamWriter} and start its writer thread
+     *
+     * @param writer    The writer to hand the records to, it is only used from the writer thread
+     * @param queueSize Optionally set the number of records that can be waiting to be written
+     */
+    @Builder
+    private AsyncSequenceStreamWriter(@NonNull final SequenceStreamWriter writer, final int queueSize) {
+        Preconditions.checkArgument(queueSize > 0, "queueSize must be a positive integer");
+
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+
+        final Thread thread = new Thread(this::drain, "sequence-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Builder instance with default value for queue size
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class AsyncSequenceStreamWriterBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+    }
+
+    /**
+     * Wrap a writer with the default queue size
+     *
+     * @param writer the writer to hand the records to
+     * @return the asynchronous writer
+     */
+    public static AsyncSequenceStreamWriter of(final SequenceStreamWriter writer) {
+        return AsyncSequenceStreamWriter.builder()
+                .writer(writer)
+                .build();
+    }
+
+    /**
+     * Queue the sequence to be written, blocking only while the queue is full
+     *
+     * @param sequence the sequence to write
+     * @return completes with the number of characters written, or exceptionally if the write failed
+     * @throws IllegalStateException the writer has been closed
+     */
+    public CompletableFuture<Integer> writeAsync(@NonNull final Sequence sequence) {
+        return submit(() -> writer.write(sequence), false);
+    }
+
+    /**
+     * Write the sequence, waiting until it has been written
+     *
+     * @return the number of characters written
+     * @throws IOException the sequence could not be written
+     */
+    @Override
+    public int write(final Sequence sequence) throws IOException {
+        return await(writeAsync(sequence));
+    }
+
+    /**
+     * Queue each of the sequences, then wait until all of them have been written
+     *
+     * @param sequences the sequences to write
+     * @return the number of characters written
+     * @throws IOException one of the sequences could not be written
+     */
+    @Override
+    public long writeAll(final Iterable<? extends Sequence> sequences) throws IOException {
+        final List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (final Sequence sequence : sequences) {
+            results.add(writeAsync(sequence));
+        }
+
+        long charactersWritten = 0;
+        for (final CompletableFuture<Integer> result : results) {
+            charactersWritten += await(result);
+        }
+        return charactersWritten;
+    }
+
+    /**
+     * Wait until every record queued so far has been written, then flush the wrapped writer
+     *
+     * @throws IOException a record or the flush failed
+     */
+    @Override
+    public void flush() throws IOException {
+        await(submit(() -> {
+            writer.flush();
+            return 0;
+        }, false));
+    }
+
+    /**
+     * Write every queued record, close the wrapped writer and stop the writer thread
+     *
+     * @throws IOException a record could not be written, or the wrapped writer failed to close
+     */
+    @Override
+    public void close() throws IOException {
+        final CompletableFuture<Integer> result;
+        synchronized (this) {
+            if (closed)
+                return;
+
+            result = submit(() -> {
+                writer.close();
+                return 0;
+            }, true);
+        }
+
+        await(result);
+        if (failure != null)
+            throw new IOException("Unable to write all of the sequences", failure);
+    }
+
+    /**
+     * Queue work for the writer thread
+     */
+    private synchronized CompletableFuture<Integer> submit(final Action action, final boolean last) {
+        if (closed)
+            throw new IllegalStateException("The writer has been closed");
+
+        final Task task = new Task(action, last);
+        try {
+            queue.put(task);
+            if (last)
+                closed = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.result.completeExceptionally(new InterruptedIOException("Interrupted while queueing for the writer"));
+        }
+        return task.result;
+    }
+
+    /**
+     * Run the queued work in order until the writer is closed, run on the writer thread
+     */
+    private void drain() {
+        while (true) {
+            final Task task;
+            try {
+                task = queue.take();
+            } catch (final InterruptedException e) {
+                return;
+            }
+
+            if (failure != null && !task.last) {
+                task.result.completeExceptionally(new IOException("An earlier write failed", failure));
+                continue;
+            }
+
+            try {
+                task.result.complete(task.action.run());
+            } catch (final Throwable e) {
+                // errors too, the thread has to keep completing the queued work or the callers wait forever
+                if (failure == null)
+                    failure = e;
+                task.result.completeExceptionally(e);
+            }
+
+            if (task.last)
+                return;
+        }
+    }
+
+    /**
+     * Wait for queued work to finish
+     *
+     * @param result the result of the work
+     * @return the number of characters written
+     * @throws IOException the work failed
+     */
+    static int await(final CompletableFuture<Integer> result) throws IOException {
+        try {
+            return result.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException("Unable to write", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.writer;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.Sequences;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.io.compression.Compression;
+import com.vitreoussoftware.bioinformatics.sequence.io.compression.CompressedOutputStreams;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File stream writer that collects output in a large reusable byte buffer and hands it to a {@link FileChannel} in
+ * bulk. Nucleotides are copied out of the {@link Sequence} in blocks and decoded through a lookup table straight into
+ * the buffer, with line terminators inserted at the requested width, so a record costs no system calls and no
+ * intermediate Strings. Output can be compressed as gzip or as BGZF, which deflates blocks on several threads.
+ */
+public final class BufferFileStreamWriter implements AutoCloseable {
+    private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024; // 1 MB write size
+    private static final int DEFAULT_COMPRESSION_THREADS = 4; // per writer, deflating is slower than formatting
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final int VALUES = 256;
+
+    private final WritableByteChannel channel;
+    /**
+     * The stream compressing the data written to {@link #channel}, null when the file is not compressed
+     */
+    private final OutputStream compressed;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Nucleotide values copied from the sequence being written, before they are decoded
+     */
+    private final byte[] values;
+
+    /**
+     * The ASCII character of each value of {@link #decodingScheme}, 0 for values it cannot decode
+     */
+    private final byte[] decodeTable = new byte[VALUES];
+    private EncodingScheme decodingScheme;
+
+    /**
+     * Create a {@link BufferFileStreamWriter} for a given file, replacing any existing contents
+     *
+     * @param filePath           The path to the file to write
+     * @param bufferSize         Optionally set the size of the buffer
+     * @param compression        Optionally set how to compress the file
+     * @param compressionThreads Optionally set the number of threads to compress BGZF blocks on, each writer has its
+     *                           own
+     * @throws IOException the file could not be opened
+     */
+    @Builder
+    private BufferFileStreamWriter(@NonNull final String filePath, final int bufferSize,
+                                   @NonNull final Compression compression, final int compressionThreads) throws IOException {
+        Preconditions.checkArgument(bufferSize >= MIN_BUFFER_SIZE, "bufferSize must be at least " + MIN_BUFFER_SIZE);
+        Preconditions.checkArgument(compressionThreads > 0, "compressionThreads must be a positive integer");
+
+        if (compression == Compression.NONE) {
+            this.compressed = null;
+            this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            this.compressed = CompressedOutputStreams.open(filePath, compression, compressionThreads);
+            this.channel = Channels.newChannel(compressed);
+        }
+        this.buffer = new byte[bufferSize];
+        this.values = new byte[bufferSize];
+    }
+
+    /**
+     * Builder instance with default values for buffer size and compression
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class BufferFileStreamWriterBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        @SuppressWarnings("FieldMayBeFinal")
+        private Compression compression = Compression.NONE;
+        @SuppressWarnings("FieldMayBeFinal")
+        private int compressionThreads = DEFAULT_COMPRESSION_THREADS;
+    }
+
+    /**
+     * Write a single ASCII character
+     *
+     * @param character the character
+     * @throws IOException the buffer could not be flushed
+     */
+    public void write(final char character) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) character;
+    }
+
+    /**
+     * Write a character repeatedly
+     *
+     * @param character the ASCII character
+     * @param count     the number of times to write it
+     * @throws IOException the buffer could not be flushed
+     */
+    public void write(final char character, final int count) throws IOException {
+        int remaining = count;
+        while (remaining > 0) {
+            final int chunk = Math.min(remaining, available());
+            for (int i = 0; i < chunk; i++) {
+                buffer[position++] = (byte) character;
+            }
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Write text, ASCII is copied directly and anything else is written as UTF-8
+     *
+     * @param text the text
+     * @throws IOException the buffer could not be flushed
+     */
+    public void write(final String text) throws IOException {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) >= 0x80) {
+                final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                write(bytes, 0, bytes.length);
+                return;
+            }
+        }
+
+        int start = 0;
+        while (start < length) {
+            final int chunk = Math.min(length - start, available());
+            for (int i = 0; i < chunk; i++) {
+                buffer[position++] = (byte) text.charAt(start + i);
+            }
+            start += chunk;
+        }
+    }
+
+    /**
+     * Write bytes
+     *
+     * @param source the bytes to write
+     * @param offset the position of the first byte
+     * @param length the number of bytes to write
+     * @throws IOException the buffer could not be flushed
+     */
+    public void write(final byte[] source, final int offset, final int length) throws IOException {
+        int start = 0;
+        while (start < length) {
+            final int chunk = Math.min(length - start, available());
+            System.arraycopy(source, offset + start, buffer, position, chunk);
+            position += chunk;
+            start += chunk;
+        }
+    }
+
+    /**
+     * Write a non-negative number right aligned in a field, as {@link String#format(String, Object...)} with "%Nd"
+     * would
+     *
+     * @param value the number
+     * @param width the minimum width of the field, wider numbers are not truncated
+     * @return the number of characters written
+     * @throws IOException the buffer could not be flushed
+     */
+    public int writeNumber(final long value, final int width) throws IOException {
+        Preconditions.checkArgument(value >= 0, "value must not be negative");
+
+        final int digits = digits(value);
+        final int padding = Math.max(0, width - digits);
+        write(' ', padding);
+
+        ensure(digits);
+        long remaining = value;
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        position += digits;
+
+        return padding + digits;
+    }
+
+    /**
+     * The number of decimal digits in a non-negative number
+     *
+     * @param value the number
+     * @return the number of digits
+     */
+    public static int digits(final long value) {
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10)
+            digits++;
+        return digits;
+    }
+
+    /**
+     * Write a range of the nucleotides of a sequence as ASCII characters
+     *
+     * @param sequence the sequence
+     * @param from     the index of the first nucleotide
+     * @param length   the number of nucleotides
+     * @throws IOException               the buffer could not be flushed
+     * @throws IndexOutOfBoundsException the range is outside of the sequence
+     */
+    public void write(final Sequence sequence, final int from, final int length) throws IOException {
+        Sequences.checkRange(sequence, from, length);
+        final byte[] table = decodeTable(sequence.getEncodingScheme());
+
+        int start = 0;
+        while (start < length) {
+            final int chunk = Math.min(length - start, available());
+            sequence.copyValues(from + start, values, 0, chunk);
+            for (int i = 0; i < chunk; i++) {
+                final byte character = table[values[i] & 0xFF];
+                if (character == 0)
+                    sequence.getEncodingScheme().toChar(values[i]); // throws the usual exception for the value
+                buffer[position++] = character;
+            }
+            start += chunk;
+        }
+    }
+
+    /**
+     * Write all of the nucleotides of a sequence as lines of at most lineWidth characters
+     *
+     * @param sequence  the sequence
+     * @param lineWidth the number of nucleotides on each line
+     * @return the number of characters written, including the line terminators
+     * @throws IOException the buffer could not be flushed
+     */
+    public int writeLines(final Sequence sequence, final int lineWidth) throws IOException {
+        final int length = sequence.length();
+        for (int start = 0; start < length; start += lineWidth) {
+            write(sequence, start, Math.min(lineWidth, length - start));
+            write('\n');
+        }
+        return length + lines(length, lineWidth);
+    }
+
+    /**
+     * Write all of the quality scores as lines of at most lineWidth Phred+33 characters
+     *
+     * @param qualities the quality scores
+     * @param lineWidth the number of scores on each line
+     * @return the number of characters written, including the line terminators
+     * @throws IOException the buffer could not be flushed
+     */
+    public int writeLines(final QualityScores qualities, final int lineWidth) throws IOException {
+        final int length = qualities.length();
+        for (int start = 0; start < length; start += lineWidth) {
+            int remaining = Math.min(lineWidth, length - start);
+            int from = start;
+            while (remaining > 0) {
+                final int chunk = Math.min(remaining, available());
+                qualities.writeTo(from, chunk, buffer, position);
+                position += chunk;
+                from += chunk;
+                remaining -= chunk;
+            }
+            write('\n');
+        }
+        return length + lines(length, lineWidth);
+    }
+
+    /**
+     * Write a character repeatedly as lines of at most lineWidth characters
+     *
+     * @param character the ASCII character
+     * @param length    the number of times to write it
+     * @param lineWidth the number of characters on each line
+     * @return the number of characters written, including the line terminators
+     * @throws IOException the buffer could not be flushed
+     */
+    public int writeLines(final char character, final int length, final int lineWidth) throws IOException {
+        for (int start = 0; start < length; start += lineWidth) {
+            write(character, Math.min(lineWidth, length - start));
+            write('\n');
+        }
+        return length + lines(length, lineWidth);
+    }
+
+    private static int lines(final int length, final int lineWidth) {
+        return (length + lineWidth - 1) / lineWidth;
+    }
+
+    /**
+     * Write the buffered data to the file, including any data the compressor is still holding
+     *
+     * @throws IOException the file could not be written
+     */
+    public void flush() throws IOException {
+        drain();
+        if (compressed != null)
+            compressed.flush();
+    }
+
+    /**
+     * Hand the buffered data to the channel. Compressed data is left with the compressor so it can fill whole
+     * blocks.
+     *
+     * @throws IOException the data could not be written
+     */
+    private void drain() throws IOException {
+        final ByteBuffer data = ByteBuffer.wrap(buffer, 0, position);
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+        position = 0;
+    }
+
+    /**
+     * Make room in the buffer
+     *
+     * @return the number of bytes that can be written before the buffer is full, at least 1
+     */
+    private int available() throws IOException {
+        if (position == buffer.length)
+            drain();
+        return buffer.length - position;
+    }
+
+    private void ensure(final int length) throws IOException {
+        if (position + length > buffer.length)
+            drain();
+    }
+
+    /**
+     * Get the ASCII character of each value of an {@link EncodingScheme}, building the table when the scheme changes
+     */
+    private byte[] decodeTable(final EncodingScheme encodingScheme) {
+        if (encodingScheme != decodingScheme) {
+            for (int value = 0; value < VALUES; value++) {
+                try {
+                    decodeTable[value] = (byte) encodingScheme.toChar((byte) value);
+                } catch (final InvalidDnaFormatException e) {
+                    decodeTable[value] = 0;
+                }
+            }
+            decodingScheme = encodingScheme;
+        }
+        return decodeTable;
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        close();
+        super.finalize();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen())
+            return;
+
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.writer;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Splits output across several shard files, such as reads.00.fq to reads.31.fq, so that downstream jobs can consume
+ * the shards independently. A {@link Partitioner} picks the shard for each record, and each shard is written by its
+ * own {@link AsyncSequenceStreamWriter} so the shards are formatted and written in parallel. Shard files are only
+ * created once a record is sent to them, and are closed as soon as the {@link Partitioner} reports that they are
+ * finished, so only the shards still being filled hold a thread and a file.
+ */
+public final class PartitionedSequenceStreamWriter implements SequenceStreamWriter {
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /**
+     * Opens a shard file as a {@link SequenceStreamWriter}, such as
+     * {@link com.vitreoussoftware.bioinformatics.sequence.io.writer.fastq.FastqFileStreamWriter#create(String)}
+     */
+    @FunctionalInterface
+    public interface WriterFactory {
+        /**
+         * Open a file
+         *
+         * @param filePath the file to open
+         * @return the writer for the file
+         * @throws IOException the file could not be opened
+         */
+        SequenceStreamWriter open(String filePath) throws IOException;
+    }
+
+    /**
+     * Picks the shard for each record. Partitioners are only called by one thread at a time, in the order the records
+     * are written, so they may keep state.
+     */
+    @FunctionalInterface
+    public interface Partitioner {
+        /**
+         * Pick the shard for a record
+         *
+         * @param sequence the record
+         * @return the index of the shard, counting from 0
+         */
+        int shard(Sequence sequence);
+
+        /**
+         * The number of shards, counting from 0, that will never be picked again so their files can be closed.
+         * Called after each {@link #shard(Sequence)}.
+         *
+         * @return the number of finished shards, 0 unless the partitioner fills the shards in order
+         */
+        default int finishedShards() {
+            return 0;
+        }
+
+        /**
+         * Deal the records out to the shards in turn
+         *
+         * @param shards the number of shards
+         * @return the partitioner
+         */
+        static Partitioner roundRobin(final int shards) {
+            Preconditions.checkArgument(shards > 0, "shards must be a positive integer");
+
+            final int[] next = {0};
+            return sequence -> {
+                final int shard = next[0];
+                next[0] = (shard + 1) % shards;
+                return shard;
+            };
+        }
+
+        /**
+         * Send records to shards by the hash of their metadata, so records with the same metadata always share a
+         * shard, across runs as well
+         *
+         * @param shards the number of shards
+         * @return the partitioner
+         */
+        static Partitioner byMetadata(final int shards) {
+            Preconditions.checkArgument(shards > 0, "shards must be a positive integer");
+
+            return sequence -> Math.floorMod(sequence.getMetadata().hashCode(), shards);
+        }
+
+        /**
+         * Fill one shard at a time, moving to a new shard once the current one holds at least the threshold of
+         * nucleotides. The number of shards grows with the output, and each shard is finished once the next is
+         * started.
+         *
+         * @param threshold the number of nucleotides that fills a shard
+         * @return the partitioner
+         */
+        static Partitioner bySize(final long threshold) {
+            Preconditions.checkArgument(threshold > 0, "threshold must be a positive integer");
+
+            return new Partitioner() {
+                private int current;
+                private long nucleotides;
+
+                @Override
+                public int shard(final Sequence sequence) {
+                    if (nucleotides >= threshold) {
+                        current++;
+                        nucleotides = 0;
+                    }
+                    nucleotides += sequence.length();
+                    return current;
+                }
+
+                @Override
+                public int finishedShards() {
+                    return current;
+                }
+            };
+        }
+    }
+
+    private final String filePattern;
+    private final WriterFactory writerFactory;
+    private final Partitioner partitioner;
+    private final int queueSize;
+
+    /**
+     * The writer for each shard, null for shards that have not been used yet or are finished
+     */
+    private final List<AsyncSequenceStreamWriter> writers = new ArrayList<>();
+    /**
+     * The shards whose files have been created
+     */
+    private final BitSet created = new BitSet();
+    /**
+     * The number of leading shards that are finished and have been closed
+     */
+    private int finished;
+    private boolean closed;
+
+    /**
+     * Create a {@link PartitionedSequenceStreamWriter}
+     *
+     * @param filePattern   The path of the shard files, formatted with the shard index, such as "reads.%02d.fq"
+     * @param writerFactory The {@link WriterFactory} to open each shard file with
+     * @param partitioner   The {@link Partitioner} that picks the shard for each record
+     * @param queueSize     Optionally set the number of records that can be waiting to be written to each shard
+     */
+    @Builder
+    private PartitionedSequenceStreamWriter(@NonNull final String filePattern,
+                                            @NonNull final WriterFactory writerFactory,
+                                            @NonNull final Partitioner partitioner,
+                                            final int queueSize) {
+        Preconditions.checkArgument(queueSize > 0, "queueSize must be a positive integer");
+        Preconditions.checkArgument(!String.format(Locale.ROOT, filePattern, 0).equals(String.format(Locale.ROOT, filePattern, 1)),
+                "filePattern must include the shard index, such as %%02d");
+
+        this.filePattern = filePattern;
+        this.writerFactory = writerFactory;
+        this.partitioner = partitioner;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Builder instance with default value for queue size
+     */
+    @SuppressWarnings("unused") // Lombok @Builder
+    public static class PartitionedSequenceStreamWriterBuilder {
+        @SuppressWarnings("FieldMayBeFinal")
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+    }
+
+    /**
+     * The path of a shard file
+     *
+     * @param shard the index of the shard
+     * @return the file path
+     */
+    public String shardPath(final int shard) {
+        return String.format(Locale.ROOT, filePattern, shard);
+    }
+
+    /**
+     * The shard files created so far, in shard order
+     *
+     * @return the file paths
+     */
+    public synchronized List<String> getFiles() {
+        final List<String> files = new ArrayList<>();
+        for (int shard = created.nextSetBit(0); shard >= 0; shard = created.nextSetBit(shard + 1)) {
+            files.add(shardPath(shard));
+        }
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * Queue the sequence to be written to its shard, blocking only while the queue of that shard is full
+     *
+     * @param sequence the sequence to write
+     * @return completes with the number of characters written, or exceptionally if the write failed
+     * @throws IOException           the shard file could not be opened, or a finished shard failed to close
+     * @throws IllegalStateException the writer has been closed, or the partitioner picked a finished shard
+     */
+    public synchronized CompletableFuture<Integer> writeAsync(@NonNull final Sequence sequence) throws IOException {
+        if (closed)
+            throw new IllegalStateException("The writer has been closed");
+
+        final int shard = partitioner.shard(sequence);
+        Preconditions.checkState(shard >= 0, "The partitioner picked a negative shard: %s", shard);
+        Preconditions.checkState(shard >= finished, "The partitioner picked shard %s after finishing it", shard);
+
+        closeFinished(Math.min(partitioner.finishedShards(), shard));
+        return writer(shard).writeAsync(sequence);
+    }
+
+    /**
+     * Write the sequence to its shard, waiting until it has been written
+     *
+     * @return the number of characters written
+     * @throws IOException the sequence could not be written
+     */
+    @Override
+    public int write(final Sequence sequence) throws IOException {
+        return AsyncSequenceStreamWriter.await(writeAsync(sequence));
+    }
+
+    /**
+     * Queue each of the sequences, then wait until all of them have been written
+     *
+     * @param sequences the sequences to write
+     * @return the number of characters written
+     * @throws IOException one of the sequences could not be written
+     */
+    @Override
+    public long writeAll(final Iterable<? extends Sequence> sequences) throws IOException {
+        final List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (final Sequence sequence : sequences) {
+            results.add(writeAsync(sequence));
+        }
+
+        long charactersWritten = 0;
+        for (final CompletableFuture<Integer> result : results) {
+            charactersWritten += AsyncSequenceStreamWriter.await(result);
+        }
+        return charactersWritten;
+    }
+
+    /**
+     * Wait until every record queued so far has been written, then flush every shard
+     *
+     * @throws IOException a record or the flush failed
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        for (final AsyncSequenceStreamWriter writer : writers) {
+            if (writer != null)
+                writer.flush();
+        }
+    }
+
+    /**
+     * Write every queued record and close every shard, even if some of them fail
+     *
+     * @throws IOException a record could not be written, or a shard failed to close
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        IOException failure = null;
+        for (final AsyncSequenceStreamWriter writer : writers) {
+            if (writer == null)
+                continue;
+
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Close the shards that the partitioner has finished, waiting for their queued records to be written
+     *
+     * @param count the number of leading shards that are finished
+     * @throws IOException a record could not be written, or a shard failed to close
+     */
+    private void closeFinished(final int count) throws IOException {
+        for (; finished < count; finished++) {
+            if (finished >= writers.size())
+                continue;
+
+            final AsyncSequenceStreamWriter writer = writers.get(finished);
+            if (writer != null) {
+                writers.set(finished, null);
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Get the writer for a shard, opening its file the first time it is used
+     */
+    private AsyncSequenceStreamWriter writer(final int shard) throws IOException {
+        while (writers.size() <= shard) {
+            writers.add(null);
+        }
+
+        AsyncSequenceStreamWriter writer = writers.get(shard);
+        if (writer == null) {
+            writer = AsyncSequenceStreamWriter.builder()
+                    .writer(writerFactory.open(shardPath(shard)))
+                    .queueSize(queueSize)
+                    .build();
+            writers.set(shard, writer);
+            created.set(shard);
+        }
+        return writer;
+    }
+}
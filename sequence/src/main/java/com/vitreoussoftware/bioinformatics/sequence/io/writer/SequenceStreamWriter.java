@@ -17,4 +17,25 @@ public interface SequenceStreamWriter extends AutoCloseable {
      * @return the number of characters written
      */
     public int write(Sequence sequence) throws IOException;
+
+    /**
+     * Write each of the sequences to the stream
+     *
+     * @param sequences the sequences to write
+     * @return the number of characters written
+     */
+    public default long writeAll(final Iterable<? extends Sequence> sequences) throws IOException {
+        long charactersWritten = 0;
+        for (final Sequence sequence : sequences) {
+            charactersWritten += write(sequence);
+        }
+
+        return charactersWritten;
+    }
+
+    /**
+     * Make sure everything written so far has been handed to the destination
+     */
+    public default void flush() throws IOException {
+    }
 }
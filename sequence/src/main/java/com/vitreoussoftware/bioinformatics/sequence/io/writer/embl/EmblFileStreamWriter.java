@@ -1,9 +1,10 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.writer.embl;
 
 import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.BufferFileStreamWriter;
 import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriter;
+import lombok.NonNull;
 
-import java.io.FileWriter;
 import java.io.IOException;
 
 /**
@@ -29,9 +30,10 @@ public final class EmblFileStreamWriter implements SequenceStreamWriter {
     private static final String METADATA_SEQUENCE_START = "SQ";
 
     /**
-     * Metadata indicating the length of the sequence data that will be written out
+     * Metadata indicating the length of the sequence data that will be written out, surrounding the length
      */
-    private static final String METADATA_SEQUENCE_LENGTH = "Sequence %d BP;\n";
+    private static final String METADATA_SEQUENCE_LENGTH_PREFIX = "Sequence ";
+    private static final String METADATA_SEQUENCE_LENGTH_SUFFIX = " BP;\n";
 
     /**
      * The spacing between the 2 character Metadata identifier and the content
@@ -42,19 +44,28 @@ public final class EmblFileStreamWriter implements SequenceStreamWriter {
      * Maximum length of a row of sequence data in EMBL format
      */
     private static final int MAX_ROW_LENGTH = 80;
-    private static final String BASE_PAIR_COUNT = "%9d";
+
+    /**
+     * Width of the right aligned cumulative base pair count that ends each row
+     */
+    private static final int BASE_PAIR_COUNT_WIDTH = 9;
+
+    /**
+     * Length of a block of sequence data, blocks are separated by a space
+     */
+    private static final int BLOCK_LENGTH = 10;
 
     /**
      * The EMBL file we are writing to
      */
-    private final FileWriter file;
+    private final BufferFileStreamWriter file;
 
     /**
      * Create a EMBL File Stream Reader for the given file
      *
      * @param file the file to run on
      */
-    private EmblFileStreamWriter(final FileWriter file) {
+    private EmblFileStreamWriter(final BufferFileStreamWriter file) {
         this.file = file;
     }
 
@@ -66,31 +77,47 @@ public final class EmblFileStreamWriter implements SequenceStreamWriter {
      * @throws java.io.FileNotFoundException the specified file was not found
      */
     public static SequenceStreamWriter create(final String fileName) throws IOException {
-        final FileWriter file = new FileWriter(fileName);
+        return create(BufferFileStreamWriter.builder().filePath(fileName).build());
+    }
+
+    /**
+     * Create an output stream for EMBL file format on a configured file, such as one that compresses its output
+     *
+     * @param file the EMBL file
+     * @return the output stream
+     */
+    public static SequenceStreamWriter create(@NonNull final BufferFileStreamWriter file) {
         return new EmblFileStreamWriter(file);
     }
 
     @Override
     public int write(final Sequence sequence) throws IOException {
         int charactersWritten = 0;
-        final String sequenceString = sequence.toString();
         charactersWritten += writeMetadata(sequence.getMetadata());
-        charactersWritten += writeSequenceStart(sequenceString.length());
-        charactersWritten += writeSequenceData(sequenceString);
+        charactersWritten += writeSequenceStart(sequence.length());
+        charactersWritten += writeSequenceData(sequence);
         charactersWritten += writeTermination();
 
         return charactersWritten;
     }
 
     private int writeSequenceStart(final int length) throws IOException {
-        final String sequenceLength = String.format(METADATA_SEQUENCE_LENGTH, length);
         file.write(METADATA_SEQUENCE_START);
         file.write(METADATA_SPACER);
-        file.write(sequenceLength);
+        file.write(METADATA_SEQUENCE_LENGTH_PREFIX);
+        final int lengthCharacters = file.writeNumber(length, 0);
+        file.write(METADATA_SEQUENCE_LENGTH_SUFFIX);
 
         return METADATA_SEQUENCE_START.length()
                 + METADATA_SPACER.length()
-                + sequenceLength.length();
+                + METADATA_SEQUENCE_LENGTH_PREFIX.length()
+                + lengthCharacters
+                + METADATA_SEQUENCE_LENGTH_SUFFIX.length();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.file.flush();
     }
 
     @Override
@@ -108,16 +135,16 @@ public final class EmblFileStreamWriter implements SequenceStreamWriter {
         file.write(METADATA_ID);
         file.write(METADATA_SPACER);
         file.write(metadata);
-        file.write("\n");
+        file.write('\n');
 
-        return metadata.length() + 2;
+        return METADATA_ID.length() + METADATA_SPACER.length() + metadata.length() + 1;
     }
 
-    private int writeSequenceData(final String sequenceData) throws IOException {
+    private int writeSequenceData(final Sequence sequence) throws IOException {
         int charactersWritten = 0;
         int start = 0;
         // Write the rows
-        while (start < sequenceData.length()) {
+        while (start < sequence.length()) {
             // Pad the sequence data start position over by the spacer
             file.write(SEQUENCE_SPACER);
 
@@ -125,13 +152,12 @@ public final class EmblFileStreamWriter implements SequenceStreamWriter {
             final int priorStart = start;
             int block = 0;
             // Write each of the (max 6) blocks in the row
-            for (; block < 6 && start < sequenceData.length(); block++) {
-                int dist = 10;
-                if (start + 10 > sequenceData.length())
-                    dist = sequenceData.length() - start;
+            for (; block < 6 && start < sequence.length(); block++) {
+                int dist = BLOCK_LENGTH;
+                if (start + BLOCK_LENGTH > sequence.length())
+                    dist = sequence.length() - start;
 
-                final String blockString = sequenceData.substring(start, start + dist);
-                file.write(blockString);
+                file.write(sequence, start, dist);
                 file.write(' ');
 
                 start += dist;
@@ -139,15 +165,14 @@ public final class EmblFileStreamWriter implements SequenceStreamWriter {
 
             // determine how many characters were written for this row to write the count
             final int written = start - priorStart;
-            // the cumulative count of items written
-            final String cumulativeCount = String.format(BASE_PAIR_COUNT, start);
+            // the width of the cumulative count of items written
+            final int cumulativeCountLength = Math.max(BASE_PAIR_COUNT_WIDTH, BufferFileStreamWriter.digits(start));
 
             // Pad out the row for missing characters
-            final int gap = MAX_ROW_LENGTH - written - block - SEQUENCE_SPACER.length() - cumulativeCount.length();
-            for (int i = 0; i < gap; i++)
-                file.write(' ');
+            final int gap = MAX_ROW_LENGTH - written - block - SEQUENCE_SPACER.length() - cumulativeCountLength;
+            file.write(' ', Math.max(0, gap));
 
-            file.write(cumulativeCount);
+            file.writeNumber(start, BASE_PAIR_COUNT_WIDTH);
 
             file.write('\n');
             charactersWritten += MAX_ROW_LENGTH + 1;
@@ -1,10 +1,12 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.writer.fasta;
 
+import com.google.common.base.Preconditions;
 import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.BufferFileStreamWriter;
 import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriter;
+import lombok.NonNull;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 
 /**
@@ -14,18 +16,30 @@ import java.io.IOException;
  */
 public final class FastaFileStreamWriter implements SequenceStreamWriter {
 
+    /**
+     * Maximum length of a row of sequence data in FASTA format
+     */
+    private static final int MAX_ROW_LENGTH = 80;
+
     /**
      * The FASTA file
      */
-    private final FileWriter file;
+    private final BufferFileStreamWriter file;
+
+    /**
+     * The number of nucleotides on each row of sequence data
+     */
+    private final int rowLength;
 
     /**
      * Create a FASTA File Stream Reader for the given file
      *
-     * @param file the file to run on
+     * @param file      the file to run on
+     * @param rowLength the number of nucleotides on each row
      */
-    private FastaFileStreamWriter(final FileWriter file) {
+    private FastaFileStreamWriter(final BufferFileStreamWriter file, final int rowLength) {
         this.file = file;
+        this.rowLength = rowLength;
     }
 
     /**
@@ -36,7 +50,7 @@ public final class FastaFileStreamWriter implements SequenceStreamWriter {
      * @throws java.io.FileNotFoundException the specified file was not found
      */
     public static SequenceStreamWriter create(final File file) throws IOException {
-        return new FastaFileStreamWriter(new FileWriter(file));
+        return create(file.getPath());
     }
 
     /**
@@ -47,7 +61,44 @@ public final class FastaFileStreamWriter implements SequenceStreamWriter {
      * @throws java.io.FileNotFoundException the specified file was not found
      */
     public static SequenceStreamWriter create(final String fileName) throws IOException {
-        return create(new File(fileName));
+        return create(fileName, MAX_ROW_LENGTH);
+    }
+
+    /**
+     * Create an input stream for FASTA file format
+     *
+     * @param fileName  the FASTA file
+     * @param rowLength the number of nucleotides on each row of sequence data
+     * @return the input stream
+     * @throws java.io.FileNotFoundException the specified file was not found
+     */
+    public static SequenceStreamWriter create(final String fileName, final int rowLength) throws IOException {
+        Preconditions.checkArgument(rowLength > 0, "rowLength must be a positive integer");
+
+        return create(BufferFileStreamWriter.builder().filePath(fileName).build(), rowLength);
+    }
+
+    /**
+     * Create an output stream for FASTA file format on a configured file, such as one that compresses its output
+     *
+     * @param file the FASTA file
+     * @return the output stream
+     */
+    public static SequenceStreamWriter create(final BufferFileStreamWriter file) {
+        return create(file, MAX_ROW_LENGTH);
+    }
+
+    /**
+     * Create an output stream for FASTA file format on a configured file, such as one that compresses its output
+     *
+     * @param file      the FASTA file
+     * @param rowLength the number of nucleotides on each row of sequence data
+     * @return the output stream
+     */
+    public static SequenceStreamWriter create(@NonNull final BufferFileStreamWriter file, final int rowLength) {
+        Preconditions.checkArgument(rowLength > 0, "rowLength must be a positive integer");
+
+        return new FastaFileStreamWriter(file, rowLength);
     }
 
 
@@ -55,37 +106,24 @@ public final class FastaFileStreamWriter implements SequenceStreamWriter {
     public int write(final Sequence sequence) throws IOException {
         int charactersWritten = 0;
         charactersWritten += writeMetadata(sequence.getMetadata());
-        charactersWritten += writeSequenceData(sequence.toString());
+        charactersWritten += file.writeLines(sequence, rowLength);
 
         return charactersWritten;
     }
 
     private int writeMetadata(final String metadata) throws IOException {
-        file.write(">");
+        file.write('>');
         file.write(metadata);
-        file.write("\n");
+        file.write('\n');
 
         return metadata.length() + 2;
     }
 
-    private int writeSequenceData(final String sequenceData) throws IOException {
-        int charactersWritten = 0;
-
-        for (int start = 0; start < sequenceData.length(); start += 80) {
-            int dist = 80;
-            if (start + 80 > sequenceData.length())
-                dist = sequenceData.length() - start;
-
-            final String row = sequenceData.substring(start, start + dist);
-            file.write(row);
-            file.write("\n");
-            charactersWritten += dist + 1;
-        }
-
-        return charactersWritten;
+    @Override
+    public void flush() throws IOException {
+        this.file.flush();
     }
 
-
     @Override
     protected void finalize() throws Throwable {
         this.file.close();
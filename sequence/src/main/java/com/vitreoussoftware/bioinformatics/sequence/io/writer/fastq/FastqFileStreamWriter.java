@@ -1,9 +1,12 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.writer.fastq;
 
+import com.google.common.base.Preconditions;
 import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.BufferFileStreamWriter;
 import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriter;
+import lombok.NonNull;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
 
-import java.io.FileWriter;
 import java.io.IOException;
 
 /**
@@ -13,18 +16,35 @@ import java.io.IOException;
  */
 public final class FastqFileStreamWriter implements SequenceStreamWriter {
 
+    /**
+     * Maximum length of a row of sequence data in FASTQ format
+     */
+    private static final int MAX_ROW_LENGTH = 80;
+
+    /**
+     * Placeholder quality score for sequences that are not a {@link QualitySequence}
+     */
+    private static final char PLACEHOLDER_QUALITY = 'I';
+
     /**
      * The FASTQ file
      */
-    private final FileWriter file;
+    private final BufferFileStreamWriter file;
+
+    /**
+     * The number of nucleotides on each row of sequence and quality data
+     */
+    private final int rowLength;
 
     /**
      * Create a FASTQ File Stream Reader for the given file
      *
-     * @param file the file to run on
+     * @param file      the file to run on
+     * @param rowLength the number of nucleotides on each row
      */
-    private FastqFileStreamWriter(final FileWriter file) {
+    private FastqFileStreamWriter(final BufferFileStreamWriter file, final int rowLength) {
         this.file = file;
+        this.rowLength = rowLength;
     }
 
     /**
@@ -35,8 +55,44 @@ public final class FastqFileStreamWriter implements SequenceStreamWriter {
      * @throws java.io.FileNotFoundException the specified file was not found
      */
     public static SequenceStreamWriter create(final String fileName) throws IOException {
-        final FileWriter file = new FileWriter(fileName);
-        return new FastqFileStreamWriter(file);
+        return create(fileName, MAX_ROW_LENGTH);
+    }
+
+    /**
+     * Create an input stream for FASTQ file format
+     *
+     * @param fileName  the FASTQ file
+     * @param rowLength the number of nucleotides on each row of sequence and quality data
+     * @return the input stream
+     * @throws java.io.FileNotFoundException the specified file was not found
+     */
+    public static SequenceStreamWriter create(final String fileName, final int rowLength) throws IOException {
+        Preconditions.checkArgument(rowLength > 0, "rowLength must be a positive integer");
+
+        return create(BufferFileStreamWriter.builder().filePath(fileName).build(), rowLength);
+    }
+
+    /**
+     * Create an output stream for FASTQ file format on a configured file, such as one that compresses its output
+     *
+     * @param file the FASTQ file
+     * @return the output stream
+     */
+    public static SequenceStreamWriter create(final BufferFileStreamWriter file) {
+        return create(file, MAX_ROW_LENGTH);
+    }
+
+    /**
+     * Create an output stream for FASTQ file format on a configured file, such as one that compresses its output
+     *
+     * @param file      the FASTQ file
+     * @param rowLength the number of nucleotides on each row of sequence data
+     * @return the output stream
+     */
+    public static SequenceStreamWriter create(@NonNull final BufferFileStreamWriter file, final int rowLength) {
+        Preconditions.checkArgument(rowLength > 0, "rowLength must be a positive integer");
+
+        return new FastqFileStreamWriter(file, rowLength);
     }
 
 
@@ -44,69 +100,43 @@ public final class FastqFileStreamWriter implements SequenceStreamWriter {
     public int write(final Sequence sequence) throws IOException {
         int charactersWritten = 0;
         charactersWritten += writeMetadata(sequence.getMetadata());
-        charactersWritten += writeSequenceData(sequence.toString());
+        charactersWritten += writeSequenceData(sequence);
         charactersWritten += writeComments(sequence.getMetadata());
-        charactersWritten += writeQuality(sequence.toString());
+        charactersWritten += writeQuality(sequence);
 
         return charactersWritten;
     }
 
     private int writeMetadata(final String metadata) throws IOException {
-        file.write("@");
+        file.write('@');
         file.write(metadata);
-        file.write("\n");
+        file.write('\n');
 
         return metadata.length() + 2;
     }
 
-    private int writeSequenceData(final String sequenceData) throws IOException {
-        int charactersWritten = 0;
-
-        for (int start = 0; start < sequenceData.length(); start += 80) {
-            int dist = 80;
-            if (start + 80 > sequenceData.length())
-                dist = sequenceData.length() - start;
-
-            final String row = sequenceData.substring(start, start + dist);
-            file.write(row);
-            file.write("\n");
-            charactersWritten += dist + 1;
-        }
-
-        return charactersWritten;
+    private int writeSequenceData(final Sequence sequence) throws IOException {
+        return file.writeLines(sequence, rowLength);
     }
 
     private int writeComments(final String metadata) throws IOException {
-        file.write("+");
+        file.write('+');
         file.write(metadata);
-        file.write("\n");
+        file.write('\n');
 
         return metadata.length() + 2;
     }
 
-    private int writeQuality(final String sequenceData) throws IOException {
-        int charactersWritten = 0;
+    private int writeQuality(final Sequence sequence) throws IOException {
+        if (sequence instanceof QualitySequence)
+            return file.writeLines(((QualitySequence) sequence).getQualities(), rowLength);
 
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 80; i++)
-            sb.append("I");
-        final String quality = sb.toString();
-
-        for (int start = 0; start < sequenceData.length(); start += 80) {
-            if (start + 80 > sequenceData.length()) {
-                final int dist = sequenceData.length() - start;
-                file.write(quality.substring(0, dist));
-                charactersWritten += dist;
-            } else {
-                file.write(quality);
-                charactersWritten += 80;
-            }
-
-            file.write("\n");
-            charactersWritten++;
-        }
+        return file.writeLines(PLACEHOLDER_QUALITY, sequence.length(), rowLength);
+    }
 
-        return charactersWritten;
+    @Override
+    public void flush() throws IOException {
+        this.file.flush();
     }
 
     @Override
@@ -0,0 +1,273 @@
+package com.vitreoussoftware.bioinformatics.sequence.packed;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.Sequences;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A DNA Sequence representation that stores each nucleotide in 4 bits, packing 16 nucleotides into every word.
+ * Works with any {@link EncodingScheme} whose alphabet has at most 16 values, such as {@link IupacEncodingScheme}.
+ * <p>
+ * The nibbles hold dense indices into that alphabet rather than the scheme's own byte values, so the bits carry no
+ * meaning of their own. Ambiguity matching, like the AMBIGUITY and REFLECTED bits of
+ * {@link com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme}, is not supported a word
+ * at a time; go through {@link #get(int)} and the {@link BasePair} it returns instead.
+ */
+public final class NibblePackedSequence implements Sequence {
+    /**
+     * The number of bits used to store a single nucleotide
+     */
+    private static final int BITS_PER_BASE = 4;
+
+    /**
+     * The number of nucleotides stored in a single word
+     */
+    private static final int BASES_PER_WORD = Long.SIZE / BITS_PER_BASE;
+
+    /**
+     * Mask for extracting a single nucleotide from a word
+     */
+    private static final long BASE_MASK = 0b1111;
+
+    @NonNull
+    private final long[] words;
+    @NonNull
+    private final PackedAlphabet alphabet;
+    private final int length;
+    private final String metadata;
+
+    /**
+     * Cache of {@link #hashCode()}, 0 until it is first computed
+     */
+    private int hash;
+
+    /**
+     * Cache of {@link #fingerprint()}, 0 until it is first computed
+     */
+    private long fingerprint;
+
+    private NibblePackedSequence(final PackedAlphabet alphabet, final int length, final String metadata) {
+        Preconditions.checkArgument(length > 0, "Cannot construct an empty Sequence");
+        this.words = new long[(length + BASES_PER_WORD - 1) / BASES_PER_WORD];
+        this.alphabet = alphabet;
+        this.length = length;
+        this.metadata = metadata;
+    }
+
+    private NibblePackedSequence(final PackedAlphabet alphabet, final long[] words, final int length, final String metadata) {
+        Preconditions.checkArgument(length > 0, "Cannot construct an empty Sequence");
+        Preconditions.checkArgument(words.length == (length + BASES_PER_WORD - 1) / BASES_PER_WORD, "%s words cannot hold exactly %s nucleotides", words.length, length);
+        final int used = BITS_PER_BASE * (length % BASES_PER_WORD);
+        Preconditions.checkArgument(used == 0 || words[words.length - 1] >>> used == 0, "The unused bits of the final word are not zero");
+        if (alphabet.size() < 1 << BITS_PER_BASE) {
+            for (int i = 0; i < length; i++) {
+                final long code = (words[i / BASES_PER_WORD] >>> (BITS_PER_BASE * (i % BASES_PER_WORD))) & BASE_MASK;
+                Preconditions.checkArgument(code < alphabet.size(), "Code %s at %s is not part of the alphabet", code, i);
+            }
+        }
+        this.words = words;
+        this.alphabet = alphabet;
+        this.length = length;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Can sequences of the given {@link EncodingScheme} be stored as a {@link NibblePackedSequence}?
+     *
+     * @param encodingScheme the {@link EncodingScheme} to check
+     * @return true if the alphabet of the {@link EncodingScheme} fits in 4 bits
+     */
+    public static boolean supports(final EncodingScheme encodingScheme) {
+        return PackedAlphabet.of(encodingScheme).fits(BITS_PER_BASE);
+    }
+
+    /**
+     * Create a new Sequence from a string and the given encoding scheme
+     *
+     * @param sequence       the string sequence to encode
+     * @param encodingScheme the scheme to use for encoding
+     * @return the encoded sequence
+     */
+    public static Optional<Sequence> create(final String sequence, final EncodingScheme encodingScheme) {
+        return create("", sequence, encodingScheme);
+    }
+
+    /**
+     * Create a new Sequence from a string and the given encoding scheme
+     *
+     * @param metadata       the string metadata for the sequence
+     * @param sequence       the string sequence to encode
+     * @param encodingScheme the scheme to use for encoding
+     * @return the encoded sequence
+     */
+    public static Optional<Sequence> create(final String metadata, final String sequence, final EncodingScheme encodingScheme) {
+        try {
+            return Optional.of(createWithError(metadata, sequence, encodingScheme));
+        } catch (final InvalidDnaFormatException e) {
+            System.err.println(e.getMessage());
+            System.err.println("\t" + sequence);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Create a new Sequence from a string and the given encoding scheme
+     *
+     * @param metadata       the string metadata for the sequence
+     * @param sequence       the string sequence to encode
+     * @param encodingScheme the scheme to use for encoding
+     * @return the encoded sequence
+     * @throws InvalidDnaFormatException the sequence contained values not supported by the encoding scheme
+     * @throws IllegalArgumentException  the alphabet of the encoding scheme does not fit in 4 bits
+     */
+    public static Sequence createWithError(final String metadata, final String sequence, final EncodingScheme encodingScheme) throws InvalidDnaFormatException {
+        val alphabet = PackedAlphabet.of(encodingScheme);
+        Preconditions.checkArgument(alphabet.fits(BITS_PER_BASE), "The alphabet of %s does not fit in %s bits", encodingScheme.getClass().getName(), BITS_PER_BASE);
+
+        val seq = new NibblePackedSequence(alphabet, sequence.length(), metadata);
+        for (int i = 0; i < sequence.length(); i++) {
+            final long code = alphabet.encode(sequence.charAt(i));
+            seq.words[i / BASES_PER_WORD] |= code << (BITS_PER_BASE * (i % BASES_PER_WORD));
+        }
+
+        return seq;
+    }
+
+    /**
+     * Wrap words that are already in the packed layout, without copying them
+     *
+     * @param metadata       the string metadata for the sequence
+     * @param words          the 4 bit codes, as produced by {@link #pack(Sequence)}
+     * @param length         the number of nucleotides
+     * @param encodingScheme the scheme the codes were packed from
+     * @return the sequence
+     * @throws IllegalArgumentException the words do not hold exactly length nucleotides of the alphabet
+     */
+    static Sequence wrap(final String metadata, final long[] words, final int length, final EncodingScheme encodingScheme) {
+        return new NibblePackedSequence(PackedAlphabet.of(encodingScheme), words, length, metadata);
+    }
+
+    /**
+     * Pack the nucleotides of a sequence into 4 bit codes of the alphabet of its {@link EncodingScheme}
+     *
+     * @param sequence the sequence to pack
+     * @return the words holding the codes, unused bits of the final word are zero
+     * @throws IllegalArgumentException the alphabet of the encoding scheme does not fit in 4 bits
+     */
+    static long[] pack(final Sequence sequence) {
+        val alphabet = PackedAlphabet.of(sequence.getEncodingScheme());
+        Preconditions.checkArgument(alphabet.fits(BITS_PER_BASE), "The alphabet of %s does not fit in %s bits", sequence.getEncodingScheme().getClass().getName(), BITS_PER_BASE);
+
+        if (sequence instanceof NibblePackedSequence && ((NibblePackedSequence) sequence).alphabet == alphabet)
+            return ((NibblePackedSequence) sequence).words.clone();
+
+        val values = new byte[sequence.length()];
+        sequence.copyValues(0, values, 0, values.length);
+
+        val words = new long[(values.length + BASES_PER_WORD - 1) / BASES_PER_WORD];
+        for (int i = 0; i < values.length; i++) {
+            final long code = alphabet.toCode(values[i]);
+            words[i / BASES_PER_WORD] |= code << (BITS_PER_BASE * (i % BASES_PER_WORD));
+        }
+        return words;
+    }
+
+    /**
+     * Get the 4 bit code for the nucleotide at the given index
+     *
+     * @param index the index of the nucleotide
+     * @return the 4 bit code
+     */
+    private int code(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the Sequence of length " + length);
+
+        return (int) ((words[index / BASES_PER_WORD] >>> (BITS_PER_BASE * (index % BASES_PER_WORD))) & BASE_MASK);
+    }
+
+    @Override
+    public BasePair get(final int index) {
+        return alphabet.toBasePair(code(index));
+    }
+
+    @Override
+    public byte getValue(final int index) {
+        return alphabet.toValue(code(index));
+    }
+
+    @Override
+    public String getMetadata() {
+        return this.metadata;
+    }
+
+    @Override
+    public String toString() {
+        final char[] characters = new char[length];
+        for (int i = 0; i < length; i++) {
+            characters[i] = alphabet.toBasePair(code(i)).toChar();
+        }
+        return new String(characters);
+    }
+
+    @Override
+    public int hashCode() {
+        // racy single check like String, every thread computes the same value so a lost write only costs a rescan
+        int result = hash;
+        if (result == 0) {
+            result = Sequences.hashCode(this);
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = Sequences.fingerprint(this);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof Sequence))
+            return false;
+        if (!(obj instanceof NibblePackedSequence)) {
+            // compare nucleotide by nucleotide through the shared Sequence accessors
+            return Sequences.contentEquals(this, (Sequence) obj);
+        }
+        val other = (NibblePackedSequence) obj;
+        if (!getEncodingScheme().equals(other.getEncodingScheme())) {
+            // the byte values differ between encoding schemes so compare the decoded nucleotides
+            return Sequences.contentEquals(this, other);
+        }
+
+        // unused bits in the final word are always zero so we can compare whole words
+        return length == other.length && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public EncodingScheme getEncodingScheme() {
+        return alphabet.getEncodingScheme();
+    }
+}
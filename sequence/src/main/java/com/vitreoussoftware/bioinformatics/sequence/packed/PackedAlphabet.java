@@ -0,0 +1,142 @@
+package com.vitreoussoftware.bioinformatics.sequence.packed;
+
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the byte values of an {@link EncodingScheme} onto dense codes so they can be packed into fewer bits.
+ * The codes are only used for storage, every lookup hands back the original byte value or {@link BasePair} so the
+ * bitwise ambiguity and complement logic of the {@link EncodingScheme} keeps working on packed data.
+ */
+final class PackedAlphabet {
+    private static final Map<EncodingScheme, PackedAlphabet> alphabets = new ConcurrentHashMap<>();
+
+    private final EncodingScheme encodingScheme;
+
+    /**
+     * The {@link EncodingScheme} byte value for each code
+     */
+    private final byte[] values;
+
+    /**
+     * The {@link BasePair} for each code
+     */
+    private final BasePair[] basePairs;
+
+    /**
+     * The code for each {@link EncodingScheme} byte value (as an unsigned index), -1 for values outside the alphabet
+     */
+    private final byte[] codes;
+
+    private PackedAlphabet(final EncodingScheme encodingScheme) {
+        this.encodingScheme = encodingScheme;
+
+        // The EncodingScheme does not publish its alphabet so discover it by asking which byte values it can decode
+        final List<Byte> members = new ArrayList<>();
+        for (int value = Byte.MIN_VALUE; value <= Byte.MAX_VALUE; value++) {
+            try {
+                encodingScheme.toChar((byte) value);
+                members.add((byte) value);
+            } catch (final InvalidDnaFormatException e) {
+                // not part of the alphabet
+            }
+        }
+
+        this.values = new byte[members.size()];
+        this.basePairs = new BasePair[members.size()];
+        this.codes = new byte[1 << Byte.SIZE];
+        Arrays.fill(this.codes, (byte) -1);
+
+        for (int code = 0; code < members.size(); code++) {
+            final byte value = members.get(code);
+            this.values[code] = value;
+            this.basePairs[code] = encodingScheme.toBasePair(value);
+            this.codes[value & 0xFF] = (byte) code;
+        }
+    }
+
+    /**
+     * Get the {@link PackedAlphabet} for the given {@link EncodingScheme}
+     *
+     * @param encodingScheme the {@link EncodingScheme} to map
+     * @return the {@link PackedAlphabet}
+     */
+    static PackedAlphabet of(final EncodingScheme encodingScheme) {
+        return alphabets.computeIfAbsent(encodingScheme, PackedAlphabet::new);
+    }
+
+    /**
+     * Can every value in this alphabet be stored in the given number of bits?
+     *
+     * @param bits the number of bits available per value
+     * @return true if the alphabet fits
+     */
+    boolean fits(final int bits) {
+        return values.length <= (1 << bits);
+    }
+
+    /**
+     * The number of values in this alphabet, codes run from 0 up to this
+     *
+     * @return the number of values
+     */
+    int size() {
+        return values.length;
+    }
+
+    EncodingScheme getEncodingScheme() {
+        return encodingScheme;
+    }
+
+    /**
+     * Get the code for a character of the alphabet
+     *
+     * @param nucleotide the character representation
+     * @return the code
+     * @throws InvalidDnaFormatException the character is not part of the {@link EncodingScheme}
+     */
+    int encode(final char nucleotide) throws InvalidDnaFormatException {
+        return codes[encodingScheme.getValue(nucleotide) & 0xFF];
+    }
+
+    /**
+     * Get the code for a byte value of the alphabet
+     *
+     * @param value the {@link EncodingScheme} byte value
+     * @return the code
+     * @throws InvalidDnaFormatException the value is not part of the {@link EncodingScheme}
+     */
+    int toCode(final byte value) throws InvalidDnaFormatException {
+        final int code = codes[value & 0xFF];
+        if (code < 0)
+            throw new InvalidDnaFormatException("Value is not part of the alphabet: " + value);
+        return code;
+    }
+
+    /**
+     * Get the {@link EncodingScheme} byte value for a code
+     *
+     * @param code the code
+     * @return the byte value
+     */
+    byte toValue(final int code) {
+        return values[code];
+    }
+
+    /**
+     * Get the {@link BasePair} for a code
+     *
+     * @param code the code
+     * @return the {@link BasePair}
+     */
+    BasePair toBasePair(final int code) {
+        return basePairs[code];
+    }
+}
@@ -0,0 +1,300 @@
+package com.vitreoussoftware.bioinformatics.sequence.packed;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.Sequences;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A DNA Sequence representation for {@link BasicDnaEncodingScheme} data that stores each nucleotide in 2 bits,
+ * packing 32 nucleotides into every word.
+ */
+public final class PackedDnaSequence implements Sequence {
+    /**
+     * The number of bits used to store a single nucleotide
+     */
+    private static final int BITS_PER_BASE = 2;
+
+    /**
+     * The number of nucleotides stored in a single word
+     */
+    private static final int BASES_PER_WORD = Long.SIZE / BITS_PER_BASE;
+
+    /**
+     * Mask for extracting a single nucleotide from a word
+     */
+    private static final long BASE_MASK = 0b11;
+
+    /**
+     * The {@link BasePair} for each 2 bit code, in code order
+     */
+    private static final BasePair[] CODE_TO_BASE_PAIR = {
+            BasicDnaEncodingScheme.A,
+            BasicDnaEncodingScheme.C,
+            BasicDnaEncodingScheme.G,
+            BasicDnaEncodingScheme.T
+    };
+
+    /**
+     * The 2 bit code for each {@link BasicDnaEncodingScheme} byte value, -1 for values that are not nucleotides
+     */
+    private static final byte[] VALUE_TO_CODE = new byte[16];
+
+    /**
+     * The {@link BasicDnaEncodingScheme} byte value for each 2 bit code
+     */
+    private static final byte[] CODE_TO_VALUE = new byte[CODE_TO_BASE_PAIR.length];
+
+    static {
+        Arrays.fill(VALUE_TO_CODE, (byte) -1);
+        for (int code = 0; code < CODE_TO_BASE_PAIR.length; code++) {
+            CODE_TO_VALUE[code] = CODE_TO_BASE_PAIR[code].getValue();
+            VALUE_TO_CODE[CODE_TO_VALUE[code]] = (byte) code;
+        }
+    }
+
+    @NonNull
+    private final long[] words;
+    private final int length;
+    private final String metadata;
+
+    /**
+     * Cache of {@link #hashCode()}, 0 until it is first computed
+     */
+    private int hash;
+
+    /**
+     * Cache of {@link #fingerprint()}, 0 until it is first computed
+     */
+    private long fingerprint;
+
+    private PackedDnaSequence(final int length, final String metadata) {
+        Preconditions.checkArgument(length > 0, "Cannot construct an empty Sequence");
+        this.words = new long[(length + BASES_PER_WORD - 1) / BASES_PER_WORD];
+        this.length = length;
+        this.metadata = metadata;
+    }
+
+    private PackedDnaSequence(final long[] words, final int length, final String metadata) {
+        Preconditions.checkArgument(length > 0, "Cannot construct an empty Sequence");
+        Preconditions.checkArgument(words.length == (length + BASES_PER_WORD - 1) / BASES_PER_WORD, "%s words cannot hold exactly %s nucleotides", words.length, length);
+        final int used = BITS_PER_BASE * (length % BASES_PER_WORD);
+        Preconditions.checkArgument(used == 0 || words[words.length - 1] >>> used == 0, "The unused bits of the final word are not zero");
+        this.words = words;
+        this.length = length;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Create a new Sequence from a string of A/C/G/T nucleotides
+     *
+     * @param sequence the string sequence to encode
+     * @return the encoded sequence
+     */
+    public static Optional<Sequence> create(final String sequence) {
+        return create("", sequence);
+    }
+
+    /**
+     * Create a new Sequence from a string of A/C/G/T nucleotides
+     *
+     * @param metadata the string metadata for the sequence
+     * @param sequence the string sequence to encode
+     * @return the encoded sequence
+     */
+    public static Optional<Sequence> create(final String metadata, final String sequence) {
+        try {
+            return Optional.of(createWithError(metadata, sequence));
+        } catch (final InvalidDnaFormatException e) {
+            System.err.println(e.getMessage());
+            System.err.println("\t" + sequence);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Create a new Sequence from a string of A/C/G/T nucleotides
+     *
+     * @param metadata the string metadata for the sequence
+     * @param sequence the string sequence to encode
+     * @return the encoded sequence
+     * @throws InvalidDnaFormatException the sequence contained values not supported by {@link BasicDnaEncodingScheme}
+     */
+    public static Sequence createWithError(final String metadata, final String sequence) throws InvalidDnaFormatException {
+        val seq = new PackedDnaSequence(sequence.length(), metadata);
+
+        for (int i = 0; i < sequence.length(); i++) {
+            seq.set(i, BasicDnaEncodingScheme.instance.getValue(sequence.charAt(i)));
+        }
+
+        return seq;
+    }
+
+    /**
+     * Create a new packed copy of an existing {@link Sequence}
+     *
+     * @param sequence the {@link Sequence} to copy
+     * @return the packed sequence, or empty if the sequence contains values not supported by {@link BasicDnaEncodingScheme}
+     */
+    public static Optional<Sequence> create(final Sequence sequence) {
+        return create(sequence.getMetadata(), sequence.toString());
+    }
+
+    /**
+     * Wrap words that are already in the packed layout, without copying them
+     *
+     * @param metadata the string metadata for the sequence
+     * @param words    the 2 bit codes, as produced by {@link #pack(Sequence)}
+     * @param length   the number of nucleotides
+     * @return the sequence
+     * @throws IllegalArgumentException the words do not hold exactly length nucleotides
+     */
+    static Sequence wrap(final String metadata, final long[] words, final int length) {
+        return new PackedDnaSequence(words, length, metadata);
+    }
+
+    /**
+     * Pack the nucleotides of a {@link BasicDnaEncodingScheme} sequence into 2 bit codes
+     *
+     * @param sequence the sequence to pack
+     * @return the words holding the codes, unused bits of the final word are zero
+     */
+    static long[] pack(final Sequence sequence) {
+        if (sequence instanceof PackedDnaSequence)
+            return ((PackedDnaSequence) sequence).words.clone();
+
+        val packed = new PackedDnaSequence(sequence.length(), sequence.getMetadata());
+        val values = new byte[sequence.length()];
+        sequence.copyValues(0, values, 0, values.length);
+        for (int i = 0; i < values.length; i++) {
+            packed.set(i, values[i]);
+        }
+        return packed.words;
+    }
+
+    /**
+     * Store the nucleotide at the given index, only used during construction
+     *
+     * @param index the index to store the nucleotide at
+     * @param value the {@link BasicDnaEncodingScheme} byte value of the nucleotide
+     */
+    private void set(final int index, final byte value) {
+        final long code = VALUE_TO_CODE[value];
+        words[index / BASES_PER_WORD] |= code << (BITS_PER_BASE * (index % BASES_PER_WORD));
+    }
+
+    /**
+     * Get the 2 bit code for the nucleotide at the given index
+     *
+     * @param index the index of the nucleotide
+     * @return the 2 bit code
+     */
+    private int code(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the Sequence of length " + length);
+
+        return (int) ((words[index / BASES_PER_WORD] >>> (BITS_PER_BASE * (index % BASES_PER_WORD))) & BASE_MASK);
+    }
+
+    @Override
+    public BasePair get(final int index) {
+        return CODE_TO_BASE_PAIR[code(index)];
+    }
+
+    @Override
+    public byte getValue(final int index) {
+        return CODE_TO_VALUE[code(index)];
+    }
+
+    @Override
+    public void copyValues(final int from, final byte[] destination, final int offset, final int length) {
+        Sequences.checkRange(this, from, length);
+        if (offset < 0 || offset + length > destination.length)
+            throw new IndexOutOfBoundsException("Destination of length " + destination.length + " cannot hold " + length + " values from " + offset);
+
+        int index = from;
+        int position = offset;
+        final int end = offset + length;
+        while (position < end) {
+            // decode the remainder of the current word without going back to the array for every base
+            long word = words[index / BASES_PER_WORD] >>> (BITS_PER_BASE * (index % BASES_PER_WORD));
+            final int available = Math.min(BASES_PER_WORD - index % BASES_PER_WORD, end - position);
+            for (int i = 0; i < available; i++) {
+                destination[position++] = CODE_TO_VALUE[(int) (word & BASE_MASK)];
+                word >>>= BITS_PER_BASE;
+            }
+            index += available;
+        }
+    }
+
+    @Override
+    public String getMetadata() {
+        return this.metadata;
+    }
+
+    @Override
+    public String toString() {
+        final char[] characters = new char[length];
+        for (int i = 0; i < length; i++) {
+            characters[i] = CODE_TO_BASE_PAIR[code(i)].toChar();
+        }
+        return new String(characters);
+    }
+
+    @Override
+    public int hashCode() {
+        // racy single check like String, every thread computes the same value so a lost write only costs a rescan
+        int result = hash;
+        if (result == 0) {
+            result = Sequences.hashCode(this);
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = Sequences.fingerprint(this);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof Sequence))
+            return false;
+        if (!(obj instanceof PackedDnaSequence)) {
+            // compare nucleotide by nucleotide through the shared Sequence accessors
+            return Sequences.contentEquals(this, (Sequence) obj);
+        }
+        val other = (PackedDnaSequence) obj;
+
+        // unused bits in the final word are always zero so we can compare whole words
+        return length == other.length && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public EncodingScheme getEncodingScheme() {
+        return BasicDnaEncodingScheme.instance;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vitreoussoftware.bioinformatics.sequence.packed;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Picks the most compact {@link Sequence} representation available for an {@link EncodingScheme}
+ */
+public final class PackedSequences {
+
+    /**
+     * This class should never be instantiated, it is just a holder for the selection logic
+     */
+    private PackedSequences() {
+    }
+
+    /**
+     * Create a new Sequence from a string and the given encoding scheme using the most compact representation
+     * available. {@link BasicDnaEncodingScheme} data uses 2 bits per base, alphabets of up to 16 values use 4 bits
+     * per base, and anything larger falls back to a {@link BasicSequence}.
+     *
+     * @param metadata       the string metadata for the sequence
+     * @param sequence       the string sequence to encode
+     * @param encodingScheme the scheme to use for encoding
+     * @return the encoded sequence
+     */
+    public static Optional<Sequence> create(final String metadata, final String sequence, final EncodingScheme encodingScheme) {
+        if (BasicDnaEncodingScheme.instance.equals(encodingScheme))
+            return PackedDnaSequence.create(metadata, sequence);
+        if (NibblePackedSequence.supports(encodingScheme))
+            return NibblePackedSequence.create(metadata, sequence, encodingScheme);
+
+        return BasicSequence.create(metadata, sequence, encodingScheme);
+    }
+
+    /**
+     * The number of bits {@link #create(String, String, EncodingScheme)} stores each nucleotide of an
+     * {@link EncodingScheme} in
+     *
+     * @param encodingScheme the scheme to check
+     * @return 2 or 4 for packed representations, otherwise {@link Byte#SIZE}
+     */
+    public static int bitsPerBase(final EncodingScheme encodingScheme) {
+        if (BasicDnaEncodingScheme.instance.equals(encodingScheme))
+            return 2;
+        if (NibblePackedSequence.supports(encodingScheme))
+            return 4;
+
+        return Byte.SIZE;
+    }
+
+    /**
+     * Pack the nucleotides of a sequence into words, in the layout used by the packed representation for its
+     * {@link EncodingScheme}. Codes fill each word from the low bits up, and unused bits of the final word are zero.
+     *
+     * @param sequence the sequence to pack
+     * @return the words
+     * @throws IllegalArgumentException the {@link EncodingScheme} of the sequence has no packed representation
+     */
+    public static long[] pack(@NonNull final Sequence sequence) {
+        switch (bitsPerBase(sequence.getEncodingScheme())) {
+            case 2:
+                return PackedDnaSequence.pack(sequence);
+            case 4:
+                return NibblePackedSequence.pack(sequence);
+            default:
+                throw new IllegalArgumentException("There is no packed representation for " + sequence.getEncodingScheme().getClass().getName());
+        }
+    }
+
+    /**
+     * Create a packed Sequence from words produced by {@link #pack(Sequence)}, without copying them
+     *
+     * @param metadata       the string metadata for the sequence
+     * @param words          the packed nucleotides
+     * @param length         the number of nucleotides
+     * @param encodingScheme the scheme the nucleotides were packed from
+     * @return the sequence
+     * @throws IllegalArgumentException the {@link EncodingScheme} has no packed representation, or the words do not
+     *                                  hold exactly length nucleotides of its alphabet
+     */
+    public static Sequence unpack(final String metadata, @NonNull final long[] words, final int length, final EncodingScheme encodingScheme) {
+        switch (bitsPerBase(encodingScheme)) {
+            case 2:
+                return PackedDnaSequence.wrap(metadata, words, length);
+            case 4:
+                return NibblePackedSequence.wrap(metadata, words, length, encodingScheme);
+            default:
+                throw new IllegalArgumentException("There is no packed representation for " + encodingScheme.getClass().getName());
+        }
+    }
+}
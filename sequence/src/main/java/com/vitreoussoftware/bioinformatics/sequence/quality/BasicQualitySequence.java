@@ -0,0 +1,117 @@
+package com.vitreoussoftware.bioinformatics.sequence.quality;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link QualitySequence} that pairs any {@link Sequence} with its {@link QualityScores}. The nucleotides are left
+ * in whatever representation the wrapped {@link Sequence} uses, and equality only considers the nucleotides so a
+ * {@link QualitySequence} equals the same {@link Sequence} without qualities.
+ */
+public final class BasicQualitySequence implements QualitySequence {
+    private final Sequence sequence;
+    private final QualityScores qualities;
+
+    private BasicQualitySequence(final Sequence sequence, final QualityScores qualities) {
+        this.sequence = sequence;
+        this.qualities = qualities;
+    }
+
+    /**
+     * Attach quality scores to a sequence
+     *
+     * @param sequence  the nucleotides
+     * @param qualities the quality scores, one for each nucleotide
+     * @return the sequence with qualities
+     * @throws IllegalArgumentException the number of quality scores does not match the length of the sequence
+     */
+    public static QualitySequence of(@NonNull final Sequence sequence, @NonNull final QualityScores qualities) {
+        Preconditions.checkArgument(sequence.length() == qualities.length(),
+                "Expected %s quality scores but found %s", sequence.length(), qualities.length());
+
+        return new BasicQualitySequence(sequence, qualities);
+    }
+
+    @Override
+    public QualityScores getQualities() {
+        return qualities;
+    }
+
+    @Override
+    public BasePair get(final int index) {
+        return sequence.get(index);
+    }
+
+    @Override
+    public byte getValue(final int index) {
+        return sequence.getValue(index);
+    }
+
+    @Override
+    public void copyValues(final int from, final byte[] destination, final int offset, final int length) {
+        sequence.copyValues(from, destination, offset, length);
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return sequence.asByteBuffer();
+    }
+
+    @Override
+    public void writeTo(final int from, final int length, final char[] destination, final int offset) {
+        sequence.writeTo(from, length, destination, offset);
+    }
+
+    @Override
+    public QualitySequence subSequence(final int start, final int end) {
+        return new BasicQualitySequence(sequence.subSequence(start, end), qualities.range(start, end));
+    }
+
+    @Override
+    public QualitySequence reverseComplement() {
+        return new BasicQualitySequence(sequence.reverseComplement(), qualities.reverse());
+    }
+
+    @Override
+    public EncodingScheme getEncodingScheme() {
+        return sequence.getEncodingScheme();
+    }
+
+    @Override
+    public String getMetadata() {
+        return sequence.getMetadata();
+    }
+
+    @Override
+    public int length() {
+        return sequence.length();
+    }
+
+    @Override
+    public String toString() {
+        return sequence.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return sequence.hashCode();
+    }
+
+    @Override
+    public long fingerprint() {
+        return sequence.fingerprint();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof BasicQualitySequence)
+            return sequence.equals(((BasicQualitySequence) obj).sequence);
+
+        return sequence.equals(obj);
+    }
+}
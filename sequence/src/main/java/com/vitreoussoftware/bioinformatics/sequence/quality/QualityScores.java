@@ -0,0 +1,273 @@
+package com.vitreoussoftware.bioinformatics.sequence.quality;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+
+/**
+ * Compact storage for the Phred quality scores of a sequence. Scores are stored one per byte, or binned to the 8
+ * Illumina levels and packed 3 bits each. Binning keeps the scores that matter for trimming and filtering while
+ * using less than half the memory.
+ */
+public final class QualityScores {
+    /**
+     * The offset of Phred+33 (Sanger / Illumina 1.8+) encoded quality characters
+     */
+    public static final int PHRED_OFFSET = 33;
+
+    /**
+     * The highest score that can be represented by a printable Phred+33 character
+     */
+    public static final int MAX_SCORE = '~' - PHRED_OFFSET;
+
+    private static final int BITS_PER_BIN = 3;
+    private static final int BIN_MASK = 0b111;
+
+    /**
+     * The representative score for each bin, in bin order
+     */
+    private static final byte[] BIN_TO_SCORE = {0, 6, 15, 22, 27, 33, 37, 40};
+
+    /**
+     * The bin for each score
+     */
+    private static final byte[] SCORE_TO_BIN = new byte[MAX_SCORE + 1];
+
+    static {
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            final int bin;
+            if (score < 2) bin = 0;
+            else if (score < 10) bin = 1;
+            else if (score < 20) bin = 2;
+            else if (score < 25) bin = 3;
+            else if (score < 30) bin = 4;
+            else if (score < 35) bin = 5;
+            else if (score < 40) bin = 6;
+            else bin = 7;
+            SCORE_TO_BIN[score] = (byte) bin;
+        }
+    }
+
+    /**
+     * One score per byte, or 3 bit bin codes when binned. Binned data has a trailing byte of padding so every code
+     * can be read from two bytes.
+     */
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+    private final boolean binned;
+
+    private QualityScores(final byte[] data, final int offset, final int length, final boolean binned) {
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+        this.binned = binned;
+    }
+
+    /**
+     * Store a set of Phred scores
+     *
+     * @param scores the Phred scores, one for each nucleotide
+     * @param binned bin the scores to 8 levels and pack them in 3 bits each
+     * @return the quality scores
+     * @throws IllegalArgumentException one of the scores is outside of [0, {@link #MAX_SCORE}]
+     */
+    public static QualityScores of(final byte[] scores, final boolean binned) {
+        final QualityScores qualities = allocate(scores.length, binned);
+        for (int i = 0; i < scores.length; i++) {
+            Preconditions.checkArgument(scores[i] >= 0 && scores[i] <= MAX_SCORE, "Quality score %s is outside of [0, %s]", scores[i], MAX_SCORE);
+            qualities.set(i, scores[i]);
+        }
+        return qualities;
+    }
+
+    /**
+     * Parse Phred+33 encoded quality characters, as found in FASTQ files
+     *
+     * @param quality the quality characters
+     * @param binned  bin the scores to 8 levels and pack them in 3 bits each
+     * @return the quality scores
+     * @throws InvalidDnaFormatException one of the characters is not a valid quality score
+     */
+    public static QualityScores parse(final CharSequence quality, final boolean binned) throws InvalidDnaFormatException {
+        final QualityScores qualities = allocate(quality.length(), binned);
+        for (int i = 0; i < quality.length(); i++) {
+            final int score = quality.charAt(i) - PHRED_OFFSET;
+            if (score < 0 || score > MAX_SCORE)
+                throw new InvalidDnaFormatException("Invalid quality character: " + quality.charAt(i));
+            qualities.set(i, (byte) score);
+        }
+        return qualities;
+    }
+
+    private static QualityScores allocate(final int length, final boolean binned) {
+        final int size = binned ? (length * BITS_PER_BIN + Byte.SIZE - 1) / Byte.SIZE + 1 : length;
+        return new QualityScores(new byte[size], 0, length, binned);
+    }
+
+    /**
+     * Store the score at the given index, only used during construction
+     *
+     * @param index the index to store the score at
+     * @param score the Phred score
+     */
+    private void set(final int index, final byte score) {
+        if (!binned) {
+            data[index] = score;
+            return;
+        }
+
+        final int bit = index * BITS_PER_BIN;
+        final int code = SCORE_TO_BIN[score] << (bit % Byte.SIZE);
+        data[bit / Byte.SIZE] |= (byte) code;
+        data[bit / Byte.SIZE + 1] |= (byte) (code >>> Byte.SIZE);
+    }
+
+    /**
+     * Get the Phred score at the given index. Binned scores return the representative score of their bin.
+     *
+     * @param index the index of the score
+     * @return the Phred score
+     */
+    public byte get(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the quality scores of length " + length);
+
+        if (!binned)
+            return data[offset + index];
+
+        final int bit = (offset + index) * BITS_PER_BIN;
+        final int word = (data[bit / Byte.SIZE] & 0xFF) | (data[bit / Byte.SIZE + 1] & 0xFF) << Byte.SIZE;
+        return BIN_TO_SCORE[(word >>> (bit % Byte.SIZE)) & BIN_MASK];
+    }
+
+    /**
+     * Get a view of the range [start, end) of the scores that shares the storage of these scores
+     *
+     * @param start the index of the first score of the view, inclusive
+     * @param end   the index of the end of the view, exclusive
+     * @return the view
+     * @throws IndexOutOfBoundsException the range is outside of the scores
+     */
+    public QualityScores range(final int start, final int end) {
+        if (start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is outside of the quality scores of length " + length);
+
+        return new QualityScores(data, offset + start, end - start, binned);
+    }
+
+    /**
+     * Get a copy of the scores in reverse order, as they pair with the reverse complement of the sequence
+     *
+     * @return the reversed scores
+     */
+    public QualityScores reverse() {
+        final QualityScores reversed = allocate(length, binned);
+        for (int i = 0; i < length; i++) {
+            reversed.set(i, get(length - 1 - i));
+        }
+        return reversed;
+    }
+
+    /**
+     * Are the scores binned to 8 levels?
+     *
+     * @return true if the scores are binned
+     */
+    public boolean isBinned() {
+        return binned;
+    }
+
+    /**
+     * The number of scores
+     *
+     * @return length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Write a range of the scores into the destination as Phred+33 encoded quality characters
+     *
+     * @param from        the index of the first score to write
+     * @param length      the number of scores to write
+     * @param destination the array to write the characters into
+     * @param offset      the position in the destination to start writing at
+     * @throws IndexOutOfBoundsException the range is outside of the scores or the destination
+     */
+    public void writeTo(final int from, final int length, final char[] destination, final int offset) {
+        if (from < 0 || length < 0 || from + length > this.length)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + length) + ") is outside of the quality scores of length " + this.length);
+        if (offset < 0 || offset + length > destination.length)
+            throw new IndexOutOfBoundsException("Destination of length " + destination.length + " cannot hold " + length + " values from " + offset);
+
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = (char) (get(from + i) + PHRED_OFFSET);
+        }
+    }
+
+    /**
+     * Write a range of the scores into the destination as Phred+33 encoded ASCII bytes
+     *
+     * @param from        the index of the first score to write
+     * @param length      the number of scores to write
+     * @param destination the array to write the bytes into
+     * @param offset      the position in the destination to start writing at
+     * @throws IndexOutOfBoundsException the range is outside of the scores or the destination
+     */
+    public void writeTo(final int from, final int length, final byte[] destination, final int offset) {
+        if (from < 0 || length < 0 || from + length > this.length)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + length) + ") is outside of the quality scores of length " + this.length);
+        if (offset < 0 || offset + length > destination.length)
+            throw new IndexOutOfBoundsException("Destination of length " + destination.length + " cannot hold " + length + " values from " + offset);
+
+        if (!binned) {
+            for (int i = 0; i < length; i++) {
+                destination[offset + i] = (byte) (data[this.offset + from + i] + PHRED_OFFSET);
+            }
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = (byte) (get(from + i) + PHRED_OFFSET);
+        }
+    }
+
+    /**
+     * The Phred+33 encoded quality characters, as found in FASTQ files
+     *
+     * @return the quality characters
+     */
+    @Override
+    public String toString() {
+        final char[] characters = new char[length];
+        writeTo(0, length, characters, 0);
+        return new String(characters);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < length; i++) {
+            result = 31 * result + get(i);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof QualityScores))
+            return false;
+        final QualityScores other = (QualityScores) obj;
+        if (length != other.length)
+            return false;
+
+        for (int i = 0; i < length; i++) {
+            if (get(i) != other.get(i))
+                return false;
+        }
+        return true;
+    }
+}
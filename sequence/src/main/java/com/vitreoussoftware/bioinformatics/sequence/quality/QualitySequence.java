@@ -0,0 +1,46 @@
+package com.vitreoussoftware.bioinformatics.sequence.quality;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+
+/**
+ * A {@link Sequence} that also carries a Phred quality score for every nucleotide, as read from FASTQ files
+ */
+public interface QualitySequence extends Sequence {
+
+    /**
+     * Get the quality scores of the sequence, one for each nucleotide
+     *
+     * @return the {@link QualityScores}
+     */
+    public QualityScores getQualities();
+
+    /**
+     * Get the Phred quality score of the nucleotide at the specified index
+     *
+     * @param index the index to get the score of
+     * @return the Phred score
+     */
+    public default byte getQuality(final int index) {
+        return getQualities().get(index);
+    }
+
+    /**
+     * Get a view of the range [start, end) of this sequence that keeps the matching quality scores
+     *
+     * @param start the index of the first element of the view, inclusive
+     * @param end   the index of the end of the view, exclusive
+     * @return the view
+     * @throws IndexOutOfBoundsException the range is outside of the sequence
+     * @throws IllegalArgumentException  the range is empty
+     */
+    @Override
+    public QualitySequence subSequence(int start, int end);
+
+    /**
+     * Get a view of the reverse complement of this sequence that keeps the quality scores, in reverse order
+     *
+     * @return the view
+     */
+    @Override
+    public QualitySequence reverseComplement();
+}
@@ -0,0 +1,55 @@
+package com.vitreoussoftware.bioinformatics.sequence.view;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import lombok.NonNull;
+
+/**
+ * A {@link CharSequence} over the nucleotides of a {@link Sequence}. Characters are decoded on demand so the
+ * {@link Sequence} can be handed to String based APIs without copying it.
+ */
+public final class CharSequenceView implements CharSequence {
+    @NonNull
+    private final Sequence sequence;
+    @NonNull
+    private final EncodingScheme encodingScheme;
+
+    private CharSequenceView(final Sequence sequence) {
+        this.sequence = sequence;
+        this.encodingScheme = sequence.getEncodingScheme();
+    }
+
+    /**
+     * Create a {@link CharSequence} view of the sequence
+     *
+     * @param sequence the {@link Sequence} to view
+     * @return the view
+     */
+    public static CharSequence of(@NonNull final Sequence sequence) {
+        return new CharSequenceView(sequence);
+    }
+
+    @Override
+    public int length() {
+        return sequence.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return encodingScheme.toChar(sequence.getValue(index));
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        // a Sequence cannot be empty but a CharSequence can
+        if (start == end && start >= 0 && end <= length())
+            return "";
+
+        return new CharSequenceView(sequence.subSequence(start, end));
+    }
+
+    @Override
+    public String toString() {
+        return sequence.toString();
+    }
+}
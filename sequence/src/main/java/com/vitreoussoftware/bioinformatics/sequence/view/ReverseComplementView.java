@@ -0,0 +1,141 @@
+package com.vitreoussoftware.bioinformatics.sequence.view;
+
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.Sequences;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import lombok.NonNull;
+
+/**
+ * The reverse complement of another {@link Sequence}. No data is copied, every access reads the mirrored position of
+ * the parent {@link Sequence} and complements it with {@link EncodingScheme#complement(byte)}.
+ */
+public final class ReverseComplementView implements Sequence {
+    @NonNull
+    private final Sequence parent;
+    @NonNull
+    private final EncodingScheme encodingScheme;
+
+    /**
+     * Cache of {@link #hashCode()}, 0 until it is first computed
+     */
+    private int hash;
+
+    /**
+     * Cache of {@link #fingerprint()}, 0 until it is first computed
+     */
+    private long fingerprint;
+
+    private ReverseComplementView(final Sequence parent) {
+        this.parent = parent;
+        this.encodingScheme = parent.getEncodingScheme();
+    }
+
+    /**
+     * Create a view of the reverse complement of the parent
+     *
+     * @param parent the {@link Sequence} to view
+     * @return the view
+     */
+    public static Sequence of(@NonNull final Sequence parent) {
+        return new ReverseComplementView(parent);
+    }
+
+    /**
+     * Convert an index in the view to the mirrored index in the parent
+     *
+     * @param index the index within the view
+     * @return the index within the parent
+     */
+    private int toParent(final int index) {
+        if (index < 0 || index >= parent.length())
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the Sequence of length " + parent.length());
+
+        return parent.length() - 1 - index;
+    }
+
+    @Override
+    public BasePair get(final int index) {
+        return encodingScheme.toBasePair(getValue(index));
+    }
+
+    @Override
+    public byte getValue(final int index) {
+        return encodingScheme.complement(parent.getValue(toParent(index)));
+    }
+
+    @Override
+    public void copyValues(final int from, final byte[] destination, final int offset, final int length) {
+        Sequences.checkRange(this, from, length);
+        // copy the mirrored range in bulk then reverse and complement it in place
+        parent.copyValues(parent.length() - from - length, destination, offset, length);
+
+        for (int low = offset, high = offset + length - 1; low <= high; low++, high--) {
+            final byte swap = destination[low];
+            destination[low] = encodingScheme.complement(destination[high]);
+            destination[high] = encodingScheme.complement(swap);
+        }
+    }
+
+    @Override
+    public Sequence reverseComplement() {
+        return parent;
+    }
+
+    @Override
+    public EncodingScheme getEncodingScheme() {
+        return encodingScheme;
+    }
+
+    @Override
+    public String getMetadata() {
+        return parent.getMetadata();
+    }
+
+    @Override
+    public int length() {
+        return parent.length();
+    }
+
+    @Override
+    public String toString() {
+        final char[] characters = new char[length()];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = encodingScheme.toChar(getValue(i));
+        }
+        return new String(characters);
+    }
+
+    @Override
+    public int hashCode() {
+        // racy single check like String, every thread computes the same value so a lost write only costs a rescan
+        int result = hash;
+        if (result == 0) {
+            result = Sequences.hashCode(this);
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = Sequences.fingerprint(this);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof Sequence))
+            return false;
+
+        return Sequences.contentEquals(this, (Sequence) obj);
+    }
+}
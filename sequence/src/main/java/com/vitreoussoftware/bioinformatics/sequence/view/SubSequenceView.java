@@ -0,0 +1,152 @@
+package com.vitreoussoftware.bioinformatics.sequence.view;
+
+import com.google.common.base.Preconditions;
+import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.Sequences;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import lombok.NonNull;
+
+/**
+ * A window onto part of another {@link Sequence}. No data is copied, every access is forwarded to the parent
+ * {@link Sequence} with the window offset applied.
+ */
+public final class SubSequenceView implements Sequence {
+    @NonNull
+    private final Sequence parent;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Cache of {@link #hashCode()}, 0 until it is first computed
+     */
+    private int hash;
+
+    /**
+     * Cache of {@link #fingerprint()}, 0 until it is first computed
+     */
+    private long fingerprint;
+
+    /**
+     * Create a view of the range [start, end) of the parent
+     *
+     * @param parent the {@link Sequence} to view
+     * @param start  the index of the first element of the view, inclusive
+     * @param end    the index of the end of the view, exclusive
+     */
+    private SubSequenceView(final Sequence parent, final int start, final int end) {
+        this.parent = parent;
+        this.offset = start;
+        this.length = end - start;
+    }
+
+    /**
+     * Create a view of the range [start, end) of the parent
+     *
+     * @param parent the {@link Sequence} to view
+     * @param start  the index of the first element of the view, inclusive
+     * @param end    the index of the end of the view, exclusive
+     * @return the view
+     * @throws IndexOutOfBoundsException the range is outside of the parent
+     * @throws IllegalArgumentException  the range is empty
+     */
+    public static Sequence of(@NonNull final Sequence parent, final int start, final int end) {
+        Preconditions.checkArgument(end > start, "Cannot construct an empty Sequence");
+        Sequences.checkRange(parent, start, end - start);
+
+        return new SubSequenceView(parent, start, end);
+    }
+
+    /**
+     * Ensure the index is inside of the view
+     *
+     * @param index the index within the view
+     * @return the index within the parent
+     */
+    private int toParent(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of the Sequence of length " + length);
+
+        return offset + index;
+    }
+
+    @Override
+    public BasePair get(final int index) {
+        return parent.get(toParent(index));
+    }
+
+    @Override
+    public byte getValue(final int index) {
+        return parent.getValue(toParent(index));
+    }
+
+    @Override
+    public void copyValues(final int from, final byte[] destination, final int offset, final int length) {
+        Sequences.checkRange(this, from, length);
+        parent.copyValues(this.offset + from, destination, offset, length);
+    }
+
+    @Override
+    public Sequence subSequence(final int start, final int end) {
+        Sequences.checkRange(this, start, end - start);
+        // view the parent directly rather than stacking views
+        return parent.subSequence(offset + start, offset + end);
+    }
+
+    @Override
+    public EncodingScheme getEncodingScheme() {
+        return parent.getEncodingScheme();
+    }
+
+    @Override
+    public String getMetadata() {
+        return parent.getMetadata();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        final char[] characters = new char[length];
+        for (int i = 0; i < length; i++) {
+            characters[i] = get(i).toChar();
+        }
+        return new String(characters);
+    }
+
+    @Override
+    public int hashCode() {
+        // racy single check like String, every thread computes the same value so a lost write only costs a rescan
+        int result = hash;
+        if (result == 0) {
+            result = Sequences.hashCode(this);
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = Sequences.fingerprint(this);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof Sequence))
+            return false;
+
+        return Sequences.contentEquals(this, (Sequence) obj);
+    }
+}
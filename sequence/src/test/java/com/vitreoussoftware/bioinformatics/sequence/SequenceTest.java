@@ -242,4 +242,24 @@ public class SequenceTest {
 
         assertThat(actualLength, is(expectedLength));
     }
+
+    /**
+     * The spliterator reports exactly the base pairs it has left, before and after splitting and advancing
+     */
+    @Test
+    public void testSpliteratorEstimateSize() {
+        final Sequence sequence = this.factory.fromString("AATTCCGGUU").get();
+        val spliterator = sequence.spliterator();
+
+        assertThat(spliterator.estimateSize(), is(10L));
+        assertThat(spliterator.getExactSizeIfKnown(), is(10L));
+
+        val prefix = spliterator.trySplit();
+        assertThat(prefix.estimateSize(), is(5L));
+        assertThat(spliterator.estimateSize(), is(5L));
+
+        prefix.tryAdvance(bp -> {
+        });
+        assertThat(prefix.estimateSize(), is(4L));
+    }
 }
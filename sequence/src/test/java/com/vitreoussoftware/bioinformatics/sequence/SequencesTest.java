@@ -0,0 +1,84 @@
+package com.vitreoussoftware.bioinformatics.sequence;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.NibblePackedSequence;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedDnaSequence;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Test the shared {@link Sequence} logic in {@link Sequences}
+ */
+public class SequencesTest {
+    private static final String SEQUENCE = "ACGTTGCAACGTTGCAACGT";
+
+    @Test
+    public void testContentEqualsSameEncodingScheme() {
+        val sequenceA = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get();
+        val sequenceB = NibblePackedSequence.create(SEQUENCE, IupacEncodingScheme.instance).get();
+
+        assertThat(Sequences.contentEquals(sequenceA, sequenceB), is(true));
+    }
+
+    @Test
+    public void testContentEqualsDifferentEncodingSchemes() {
+        val sequenceA = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get();
+        val sequenceB = BasicSequence.create(SEQUENCE, ExpandedIupacEncodingScheme.instance).get();
+        val sequenceC = PackedDnaSequence.create(SEQUENCE).get();
+
+        assertThat(Sequences.contentEquals(sequenceA, sequenceB), is(true));
+        assertThat(Sequences.contentEquals(sequenceB, sequenceC), is(true));
+        assertThat(Sequences.contentEquals(sequenceC, sequenceA), is(true));
+    }
+
+    @Test
+    public void testContentEqualsCanFail() {
+        val sequenceA = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get();
+        val sequenceB = BasicSequence.create(SEQUENCE.replace('G', 'C'), ExpandedIupacEncodingScheme.instance).get();
+        val sequenceC = PackedDnaSequence.create(SEQUENCE.replace('T', 'A')).get();
+
+        assertThat(Sequences.contentEquals(sequenceA, sequenceB), is(false));
+        assertThat(Sequences.contentEquals(sequenceA, sequenceC), is(false));
+    }
+
+    @Test
+    public void testContentEqualsDifferentLength() {
+        val sequenceA = BasicSequence.create(SEQUENCE, BasicDnaEncodingScheme.instance).get();
+        val sequenceB = BasicSequence.create(SEQUENCE + "A", IupacEncodingScheme.instance).get();
+
+        assertThat(Sequences.contentEquals(sequenceA, sequenceB), is(false));
+    }
+
+    @Test
+    public void testContentEqualsViews() {
+        val sequence = BasicSequence.create("AA" + SEQUENCE, IupacEncodingScheme.instance).get();
+        val view = sequence.subSequence(2, sequence.length());
+
+        assertThat(Sequences.contentEquals(view, PackedDnaSequence.create(SEQUENCE).get()), is(true));
+        assertThat(Sequences.contentEquals(view.reverseComplement().reverseComplement(), view), is(true));
+    }
+
+    @Test
+    public void testCheckRange() {
+        val sequence = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get();
+
+        Sequences.checkRange(sequence, 0, SEQUENCE.length());
+        Sequences.checkRange(sequence, SEQUENCE.length(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCheckRangePastEnd() {
+        Sequences.checkRange(BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get(), 1, SEQUENCE.length());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCheckRangeOverflow() {
+        Sequences.checkRange(BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get(), 2, Integer.MAX_VALUE);
+    }
+}
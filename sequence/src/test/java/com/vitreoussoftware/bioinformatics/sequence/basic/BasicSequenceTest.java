@@ -2,13 +2,26 @@ package com.vitreoussoftware.bioinformatics.sequence.basic;
 
 import com.google.common.collect.ImmutableList;
 import com.vitreoussoftware.bioinformatics.sequence.BasePair;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.collection.basic.SequenceSetFactory;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
 import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedDnaSequence;
 import lombok.val;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
@@ -67,4 +80,225 @@ public class BasicSequenceTest {
 
         assertThat(sequenceA, is(not(sequenceB)));
     }
+
+    @Test
+    public void testGetValue() {
+        val sequence = BasicSequence.create("ACGT", schemeA).get();
+
+        for (int i = 0; i < sequence.length(); i++) {
+            assertThat(sequence.getValue(i), is(sequence.get(i).getValue()));
+        }
+    }
+
+    @Test
+    public void testCopyValues() {
+        val sequence = BasicSequence.create("ACGT", schemeA).get();
+        val destination = new byte[4];
+
+        sequence.copyValues(1, destination, 1, 3);
+
+        assertThat(destination[0], is((byte) 0));
+        assertThat(destination[1], is(schemeA.getValue('C')));
+        assertThat(destination[2], is(schemeA.getValue('G')));
+        assertThat(destination[3], is(schemeA.getValue('T')));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCopyValuesOutOfRange() {
+        val sequence = BasicSequence.create("ACGT", schemeA).get();
+
+        sequence.copyValues(2, new byte[4], 0, 3);
+    }
+
+    @Test
+    public void testAsByteBuffer() {
+        val sequence = BasicSequence.create("ACGT", schemeA).get();
+        val buffer = sequence.asByteBuffer();
+
+        assertThat(buffer.isReadOnly(), is(true));
+        assertThat(buffer.remaining(), is(4));
+        for (int i = 0; i < sequence.length(); i++) {
+            assertThat(buffer.get(i), is(sequence.getValue(i)));
+        }
+    }
+
+    @Test
+    public void testValues() {
+        val sequence = BasicSequence.create("ACGT", schemeA).get();
+
+        val characters = sequence.values()
+                .mapToObj(value -> String.valueOf(schemeA.toChar((byte) value)))
+                .collect(Collectors.joining());
+
+        assertThat(characters, is("ACGT"));
+    }
+
+    @Test
+    public void testGetEncodingScheme() {
+        assertThat(BasicSequence.create("ACGT", schemeB).get().getEncodingScheme(), is(schemeB));
+    }
+
+    @Test
+    public void testSubSequence() {
+        val sequence = BasicSequence.create("metadata", "ACGTTGCA", schemeA).get();
+        val view = sequence.subSequence(2, 6);
+
+        assertThat(view.length(), is(4));
+        assertThat(view.toString(), is("GTTG"));
+        assertThat(view.getMetadata(), is("metadata"));
+        assertThat(view, is(BasicSequence.create("GTTG", schemeA).get()));
+        assertThat(view.hashCode(), is(BasicSequence.create("GTTG", schemeA).get().hashCode()));
+    }
+
+    @Test
+    public void testSubSequenceOfSubSequence() {
+        val sequence = BasicSequence.create("ACGTTGCA", schemeA).get();
+        val view = sequence.subSequence(1, 7).subSequence(2, 5);
+
+        assertThat(view.toString(), is("TTG"));
+        assertThat(view.getValue(0), is(sequence.getValue(3)));
+    }
+
+    @Test
+    public void testSubSequenceValues() {
+        val sequence = BasicSequence.create("ACGTTGCA", schemeA).get();
+        val view = sequence.subSequence(3, 7);
+        val buffer = view.asByteBuffer();
+        val destination = new byte[4];
+        view.copyValues(0, destination, 0, 4);
+
+        assertThat(buffer.remaining(), is(4));
+        for (int i = 0; i < view.length(); i++) {
+            assertThat(buffer.get(i), is(sequence.getValue(3 + i)));
+            assertThat(destination[i], is(sequence.getValue(3 + i)));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubSequenceGetOutOfRange() {
+        BasicSequence.create("ACGTTGCA", schemeA).get().subSequence(2, 4).get(2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubSequenceOutOfRange() {
+        BasicSequence.create("ACGT", schemeA).get().subSequence(2, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubSequenceEmpty() {
+        BasicSequence.create("ACGT", schemeA).get().subSequence(2, 2);
+    }
+
+    @Test
+    public void testHashCodeStable() {
+        val sequence = BasicSequence.create("ACGTTGCA", schemeA).get();
+
+        assertThat(sequence.hashCode(), is(sequence.hashCode()));
+        assertThat(sequence.hashCode(), is(BasicSequence.create("ACGTTGCA", schemeA).get().hashCode()));
+    }
+
+    /**
+     * Sequences with the same nucleotides are equal across encoding schemes, so they must hash the same
+     */
+    @Test
+    public void testHashCodeWithDifferentEncodingSchemes() {
+        val sequenceA = BasicSequence.create("ACGT", IupacEncodingScheme.instance).get();
+        val sequenceB = BasicSequence.create("ACGT", schemeA).get();
+        val sequenceC = BasicSequence.create("ACGT", schemeB).get();
+
+        assertThat(sequenceA, is(sequenceB));
+        assertThat(sequenceA.hashCode(), is(sequenceB.hashCode()));
+        assertThat(sequenceA.hashCode(), is(sequenceC.hashCode()));
+        assertThat(sequenceA.hashCode(), is(PackedDnaSequence.create("ACGT").get().hashCode()));
+    }
+
+    /**
+     * Mixed FASTA and FASTQ input is read with different encoding schemes, duplicates across them must still be
+     * removed by hash based collections
+     */
+    @Test
+    public void testDeduplicateWithDifferentEncodingSchemes() {
+        val sequenceA = BasicSequence.create("ACGT", IupacEncodingScheme.instance).get();
+        val sequenceB = BasicSequence.create("ACGT", schemeA).get();
+        val sequenceC = BasicSequence.create("ACGT", schemeB).get();
+
+        val set = new HashSet<Sequence>(Arrays.asList(sequenceA, sequenceB, sequenceC, PackedDnaSequence.create("ACGT").get()));
+        assertThat(set.size(), is(1));
+
+        val sequences = new SequenceSetFactory().getSequenceCollection();
+        sequences.addAll(Arrays.asList(sequenceA, sequenceB, sequenceC));
+        assertThat(sequences.size(), is(1));
+    }
+
+    @Test
+    public void testFingerprint() {
+        val sequenceA = BasicSequence.create("ACGTTGCAACGTTGCA", schemeA).get();
+        val sequenceB = BasicSequence.create("ACGTTGCAACGTTGCA", schemeA).get();
+
+        assertThat(sequenceA.fingerprint(), is(sequenceB.fingerprint()));
+        assertThat(sequenceA.fingerprint(), is(sequenceA.fingerprint()));
+    }
+
+    @Test
+    public void testFingerprintCanFail() {
+        val sequenceA = BasicSequence.create("ACGTTGCAACGTTGCA", schemeA).get();
+        val sequenceB = BasicSequence.create("ACGTTGCAACGTTGCT", schemeA).get();
+        val sequenceC = BasicSequence.create("ACGTTGCAACGTTGC", schemeA).get();
+
+        assertThat(sequenceA.fingerprint(), is(not(sequenceB.fingerprint())));
+        assertThat(sequenceA.fingerprint(), is(not(sequenceC.fingerprint())));
+    }
+
+    @Test
+    public void testFingerprintWithDifferentEncodingSchemes() {
+        val sequenceA = BasicSequence.create("ACGTTGCAACGTTGCA", schemeA).get();
+        val sequenceB = BasicSequence.create("ACGTTGCAACGTTGCA", schemeB).get();
+
+        assertThat(sequenceA.fingerprint(), is(sequenceB.fingerprint()));
+    }
+
+    @Test
+    public void testFingerprintSubSequence() {
+        val sequence = BasicSequence.create("TTACGTTGCAACGTTGCATT", schemeA).get();
+
+        assertThat(sequence.subSequence(2, 18).fingerprint(), is(BasicSequence.create("ACGTTGCAACGTTGCA", schemeB).get().fingerprint()));
+    }
+
+    @Test
+    public void testWriteToCharArray() {
+        val sequence = BasicSequence.create("ACGTTGCA", schemeA).get();
+        val characters = new char[10];
+        sequence.writeTo(characters, 1);
+        sequence.subSequence(2, 4).writeTo(1, 1, characters, 9);
+
+        assertThat(new String(characters, 1, 8), is("ACGTTGCA"));
+        assertThat(characters[9], is('T'));
+    }
+
+    @Test
+    public void testWriteToAppendable() throws IOException {
+        val sequence = BasicSequence.create("ACGTTGCA", schemeA).get();
+        val builder = new StringBuilder();
+        val writer = new StringWriter();
+        sequence.writeTo(builder);
+        sequence.writeTo(writer);
+
+        assertThat(builder.toString(), is("ACGTTGCA"));
+        assertThat(writer.toString(), is("ACGTTGCA"));
+    }
+
+    @Test
+    public void testWriteToByteBuffer() {
+        val sequence = BasicSequence.create("ACGTTGCA", schemeA).get();
+        val buffer = ByteBuffer.allocate(9);
+        buffer.put((byte) '>');
+        sequence.writeTo(buffer);
+
+        assertThat(new String(buffer.array(), StandardCharsets.US_ASCII), is(">ACGTTGCA"));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testWriteToByteBufferOverflow() {
+        BasicSequence.create("ACGTTGCA", schemeA).get().writeTo(ByteBuffer.allocate(7));
+    }
 }
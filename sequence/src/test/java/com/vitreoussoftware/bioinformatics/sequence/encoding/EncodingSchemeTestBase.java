@@ -98,6 +98,60 @@ public abstract class EncodingSchemeTestBase {
         assertThat(basePair1.complement(), is(basePair0));
     }
 
+    /**
+     * Given the set of valid pairs ensure the byte complement agrees with the {@link com.vitreoussoftware.bioinformatics.sequence.BasePair} complement
+     */
+    @Theory
+    public void theoryValueComplement(final EncodingScheme scheme, final Pair<Character, Character> pair) {
+        val value0 = scheme.getValue(pair.getValue0());
+        val value1 = scheme.getValue(pair.getValue1());
+
+        assertThat(scheme.complement(value0), is(value1));
+        assertThat(scheme.complement(value1), is(value0));
+    }
+
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testComplementInvalidByte() {
+        val scheme = getEncodingScheme();
+        scheme.complement((byte) -1);
+    }
+
+    /**
+     * Ensure that bulk encoding agrees with encoding one character at a time and can be decoded back
+     */
+    @Theory
+    public void theoryBulkEncodeDecode(final EncodingScheme scheme, final Character character) {
+        val source = "" + character + Character.toLowerCase(character) + character;
+        val encoded = new byte[source.length() + 1];
+        val decoded = new char[source.length()];
+
+        scheme.encode(source, 0, source.length(), encoded, 1);
+        scheme.decode(encoded, 1, source.length(), decoded, 0);
+
+        for (int i = 0; i < source.length(); i++) {
+            assertThat("Failed for character " + character, encoded[i + 1], is(scheme.getValue(character)));
+        }
+        assertThat(new String(decoded), is(source.toUpperCase()));
+    }
+
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testEncodeInvalidCharacter() {
+        val scheme = getEncodingScheme();
+        scheme.encode("A!", new byte[2]);
+    }
+
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testEncodeNonAsciiCharacter() {
+        val scheme = getEncodingScheme();
+        scheme.encode("\u00c5", new byte[1]);
+    }
+
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testDecodeInvalidByte() {
+        val scheme = getEncodingScheme();
+        scheme.decode(new byte[]{-1}, new char[1]);
+    }
+
     @Test(expected = InvalidDnaFormatException.class)
     public void testToBasePairInvalidByte() {
         val scheme = getEncodingScheme();
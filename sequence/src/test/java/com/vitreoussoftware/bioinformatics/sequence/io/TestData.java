@@ -195,6 +195,42 @@ public abstract class TestData {
         return getPath(SIMPLE_EXAMPLE);
     }
 
+    /**
+     * Return the file path used by the {@see getEmptyReader} function
+     *
+     * @return The file path
+     */
+    public String getEmptyPath() {
+        return getPath(EMPTY);
+    }
+
+    /**
+     * Return the file path used by the {@see getRealExamplesReader} function
+     *
+     * @return The file path
+     */
+    public String getRealExamplesPath() {
+        return getPath(REAL_EXAMPLES);
+    }
+
+    /**
+     * Return the file path used by the {@see getComplexExamplesReader} function
+     *
+     * @return The file path
+     */
+    public String getComplexExamplesPath() {
+        return getPath(COMPLEX);
+    }
+
+    /**
+     * Return the file path used by the {@see getPagingRequiredReader} function
+     *
+     * @return The file path
+     */
+    public String getPagingRequiredPath() {
+        return getPath(PAGING_REQUIRED);
+    }
+
     /**
      * Create a {@link StringStreamReader} for an empty test file
      *
@@ -0,0 +1,259 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.binary;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.EncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedDnaSequence;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the BinarySequenceReader and BinarySequenceWriter classes
+ */
+public class BinarySequenceReaderTest {
+    private static final String TEST_FILE = "build/binarytest.vseq";
+
+    private FastaData fastaData;
+    private FastqData fastqData;
+
+    @Before
+    public void setup() {
+        fastaData = new FastaData();
+        fastqData = new FastqData();
+    }
+
+    /**
+     * Records parsed from FASTA read back identically, in order and by index
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundTripFasta() throws Exception {
+        val expected = read(FastaStringFileStreamReader.create(fastaData.getPagingRequiredPath()), new FastaSequenceFactory());
+        write(expected);
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            assertThat(reader.size(), is(expected.size()));
+            assertThat(reader.stream().collect(Collectors.toList()), is(expected));
+            for (int i = expected.size() - 1; i >= 0; i--) {
+                assertThat(reader.get(i), is(expected.get(i)));
+                assertThat(reader.get(i).getMetadata(), is(expected.get(i).getMetadata()));
+                assertThat(reader.getMetadata(i), is(expected.get(i).getMetadata()));
+                assertThat(reader.getLength(i), is(expected.get(i).length()));
+            }
+        }
+    }
+
+    /**
+     * FASTQ records keep their quality scores
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundTripFastq() throws Exception {
+        val expected = read(FastqStringFileStreamReader.create(fastqData.getComplexExamplesPath()), FastqSequenceFactory.builder().encodingScheme(ExpandedIupacEncodingScheme.instance).qualities(true).build());
+        write(expected);
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            val actual = new ArrayList<Sequence>();
+            reader.forEach(actual::add);
+
+            assertThat(actual.size(), is(expected.size()));
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(actual.get(i), is(expected.get(i)));
+                assertThat(actual.get(i), instanceOf(QualitySequence.class));
+                assertThat(((QualitySequence) actual.get(i)).getQualities(), is(((QualitySequence) expected.get(i)).getQualities()));
+            }
+        }
+    }
+
+    /**
+     * Each encoding scheme is stored at its packed width and reloaded as the packed representation
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEncodingSchemes() throws Exception {
+        val dna = sequence("dna", "ACGTACGTTTGACCAGTACGATCGATCGACTAGCATGCA", BasicDnaEncodingScheme.instance);
+        val iupac = sequence("iupac", "ACGTURYKMSWBDHVN", IupacEncodingScheme.instance);
+        val expanded = fastaData.getRealExample1Sequence();
+        write(Arrays.asList(dna, iupac, expanded));
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            assertThat(reader.get(0), instanceOf(PackedDnaSequence.class));
+            assertThat(reader.get(0), is(dna));
+            assertThat(reader.get(0).getEncodingScheme(), is(dna.getEncodingScheme()));
+            assertThat(reader.get(1), is(iupac));
+            assertThat(reader.get(1).getEncodingScheme(), is(iupac.getEncodingScheme()));
+            assertThat(reader.get(2), is(expanded));
+            assertThat(reader.get(2).getEncodingScheme(), is(expanded.getEncodingScheme()));
+        }
+    }
+
+    /**
+     * Records can be found by their metadata
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetByMetadata() throws Exception {
+        val expected = read(FastaStringFileStreamReader.create(fastaData.getRealExamplesPath()), new FastaSequenceFactory());
+        write(expected);
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            for (val sequence : expected) {
+                assertThat(reader.get(sequence.getMetadata()).get(), is(sequence));
+            }
+            assertThat(reader.get("not a record").isPresent(), is(false));
+        }
+    }
+
+    /**
+     * Files larger than a single mapping are mapped in segments of whole records
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSegmentedMapping() throws Exception {
+        val expected = read(FastaStringFileStreamReader.create(fastaData.getPagingRequiredPath()), new FastaSequenceFactory());
+        write(expected);
+
+        try (val reader = BinarySequenceReader.builder().filePath(TEST_FILE).mappingSize(4096).build()) {
+            assertThat(reader.parallelStream().collect(Collectors.toList()), is(expected));
+        }
+    }
+
+    /**
+     * An empty container has no records
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEmpty() throws Exception {
+        write(new ArrayList<>());
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            assertThat(reader.size(), is(0));
+            assertThat(reader.iterator().hasNext(), is(false));
+        }
+    }
+
+    /**
+     * Records can be binned when they are loaded
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBinQualities() throws Exception {
+        val expected = read(FastqStringFileStreamReader.create(fastqData.getRealExamplesPath()), FastqSequenceFactory.builder().encodingScheme(ExpandedIupacEncodingScheme.instance).qualities(true).build());
+        write(expected);
+
+        try (val reader = BinarySequenceReader.builder().filePath(TEST_FILE).binQualities(true).build()) {
+            final QualityScores qualities = ((QualitySequence) reader.get(0)).getQualities();
+            assertThat(qualities.isBinned(), is(true));
+            assertThat(qualities.length(), is(expected.get(0).length()));
+        }
+    }
+
+    /**
+     * A file whose writer was never closed has no index and is rejected
+     *
+     * @throws Exception
+     */
+    @Test(expected = IOException.class)
+    public void testIncomplete() throws Exception {
+        write(read(FastaStringFileStreamReader.create(fastaData.getRealExamplesPath()), new FastaSequenceFactory()));
+        try (val file = new RandomAccessFile(TEST_FILE, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        BinarySequenceReader.create(TEST_FILE);
+    }
+
+    /**
+     * Packed words with bits set past the end of the record are rejected as corrupt
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testCorruptPackedWords() throws Exception {
+        write(Collections.singletonList(sequence("dna", "ACG", BasicDnaEncodingScheme.instance)));
+        try (val file = new RandomAccessFile(TEST_FILE, "rw")) {
+            // header (8), metadata length (4), "dna" (3), scheme, bits per base and flags (3), length (4), then the
+            // single little endian word whose high byte is unused
+            file.seek(8 + 4 + 3 + 3 + 4 + 7);
+            file.write(0x80);
+        }
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            reader.get(0);
+        }
+    }
+
+    /**
+     * Files that are not binary sequence containers are rejected
+     *
+     * @throws Exception
+     */
+    @Test(expected = IOException.class)
+    public void testNotContainer() throws Exception {
+        BinarySequenceReader.create(fastaData.getRealExamplesPath());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() throws Exception {
+        write(read(FastaStringFileStreamReader.create(fastaData.getRealExamplesPath()), new FastaSequenceFactory()));
+
+        try (val reader = BinarySequenceReader.create(TEST_FILE)) {
+            reader.get(reader.size());
+        }
+    }
+
+    private static void write(final List<Sequence> sequences) throws Exception {
+        try (val writer = BinarySequenceWriter.create(TEST_FILE)) {
+            writer.writeAll(sequences);
+        }
+    }
+
+    private static Sequence sequence(final String metadata, final String sequence, final EncodingScheme encodingScheme) {
+        return BasicSequence.create(metadata, sequence, encodingScheme).get();
+    }
+
+    private static List<Sequence> read(final StringStreamReader stringReader, final SequenceFactory factory) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(stringReader)
+                .factory(factory)
+                .build()) {
+            reader.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+}
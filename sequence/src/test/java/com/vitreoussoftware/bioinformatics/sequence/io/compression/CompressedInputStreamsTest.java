@@ -0,0 +1,326 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.BufferFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the CompressedInputStreams class, and compressed input through the string stream readers
+ */
+public class CompressedInputStreamsTest {
+    private static final String GZIP_TEST_FILE = "build/compressedtest.fasta.gz";
+    private static final String BGZF_TEST_FILE = "build/compressedtest.fasta.bgz";
+    private static final String BGZF_FASTQ_TEST_FILE = "build/compressedtest.fastq.bgz";
+    private static final int TEST_BLOCK_SIZE = 1000;
+
+    private FastaData fastaData;
+    private FastqData fastqData;
+
+    @Before
+    public void setup() {
+        fastaData = new FastaData();
+        fastqData = new FastqData();
+    }
+
+    /**
+     * Plain data is detected as uncompressed and passed through unchanged
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDetectNone() throws Exception {
+        val data = ">header\nACGT\n".getBytes();
+        val stream = new BufferedInputStream(new ByteArrayInputStream(data));
+
+        assertThat(CompressedInputStreams.detect(stream), is(Compression.NONE));
+        assertThat(readAll(CompressedInputStreams.open(stream, 4)), is(data));
+    }
+
+    /**
+     * Streams too short to hold a gzip header are uncompressed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDetectShort() throws Exception {
+        assertThat(CompressedInputStreams.detect(new BufferedInputStream(new ByteArrayInputStream(new byte[]{0x1f}))), is(Compression.NONE));
+        assertThat(CompressedInputStreams.detect(new BufferedInputStream(new ByteArrayInputStream(new byte[0]))), is(Compression.NONE));
+    }
+
+    /**
+     * Gzip data is detected and decompressed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDetectGzip() throws Exception {
+        val data = Files.readAllBytes(Paths.get(fastaData.getRealExamplesPath()));
+        val stream = new BufferedInputStream(new ByteArrayInputStream(gzip(data)));
+
+        assertThat(CompressedInputStreams.detect(stream), is(Compression.GZIP));
+        assertThat(readAll(CompressedInputStreams.open(stream, 4)), is(data));
+    }
+
+    /**
+     * BGZF data is detected, and decompressed in parallel when more than one thread is requested
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDetectBgzf() throws Exception {
+        val data = Files.readAllBytes(Paths.get(fastaData.getRealExamplesPath()));
+
+        val stream = new BufferedInputStream(new ByteArrayInputStream(bgzf(data)));
+        assertThat(CompressedInputStreams.detect(stream), is(Compression.BGZF));
+        try (val decompressed = CompressedInputStreams.open(stream, 4)) {
+            assertThat(decompressed, instanceOf(BgzfInputStream.class));
+            assertThat(readAll(decompressed), is(data));
+        }
+
+        // a single thread inflates the blocks as plain multi-member gzip
+        val single = new BufferedInputStream(new ByteArrayInputStream(bgzf(data)));
+        assertThat(readAll(CompressedInputStreams.open(single, 1)), is(data));
+    }
+
+    /**
+     * A block with a bad checksum is reported when read
+     *
+     * @throws Exception
+     */
+    @Test(expected = IOException.class)
+    public void testBgzfCorrupt() throws Exception {
+        val compressed = bgzf(Files.readAllBytes(Paths.get(fastaData.getRealExamplesPath())));
+        // the CRC of the first block sits just before its ISIZE
+        val blockSize = (compressed[16] & 0xFF | (compressed[17] & 0xFF) << 8) + 1;
+        compressed[blockSize - 8] ^= 0xFF;
+
+        try (val stream = new BgzfInputStream(new ByteArrayInputStream(compressed), 2)) {
+            readAll(stream);
+        }
+    }
+
+    /**
+     * A block size too small to hold the block header and trailer is reported when read
+     *
+     * @throws Exception
+     */
+    @Test(expected = ZipException.class)
+    public void testBgzfInvalidBlockSize() throws Exception {
+        val compressed = bgzf(Files.readAllBytes(Paths.get(fastaData.getRealExamplesPath())));
+        compressed[16] = 4;
+        compressed[17] = 0;
+
+        try (val stream = new BgzfInputStream(new ByteArrayInputStream(compressed), 2)) {
+            readAll(stream);
+        }
+    }
+
+    /**
+     * An inflated size larger than a BGZF block can hold is reported when read
+     *
+     * @throws Exception
+     */
+    @Test(expected = ZipException.class)
+    public void testBgzfInvalidInflatedSize() throws Exception {
+        val compressed = bgzf(Files.readAllBytes(Paths.get(fastaData.getRealExamplesPath())));
+        // the ISIZE of the first block is its last four bytes
+        val blockSize = (compressed[16] & 0xFF | (compressed[17] & 0xFF) << 8) + 1;
+        compressed[blockSize - 1] = (byte) 0xFF;
+
+        try (val stream = new BgzfInputStream(new ByteArrayInputStream(compressed), 2)) {
+            readAll(stream);
+        }
+    }
+
+    /**
+     * Thread counts must be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBgzfInvalidThreads() {
+        new BgzfInputStream(new ByteArrayInputStream(new byte[0]), 0);
+    }
+
+    /**
+     * Gzip compressed FASTA files read the same records as the plain file
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadGzipFasta() throws Exception {
+        compress(fastaData.getPagingRequiredPath(), GZIP_TEST_FILE, false);
+
+        assertThat(readFasta(FastaStringFileStreamReader.create(GZIP_TEST_FILE)),
+                is(readFasta(FastaStringFileStreamReader.create(fastaData.getPagingRequiredPath()))));
+    }
+
+    /**
+     * BGZF compressed FASTA files read the same records as the plain file regardless of thread count
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadBgzfFasta() throws Exception {
+        compress(fastaData.getPagingRequiredPath(), BGZF_TEST_FILE, true);
+        val expected = readFasta(FastaStringFileStreamReader.create(fastaData.getPagingRequiredPath()));
+
+        for (val threads : new int[]{1, 2, 8}) {
+            assertThat(readFasta(FastaStringFileStreamReader.create(BGZF_TEST_FILE, 4096, threads)), is(expected));
+        }
+    }
+
+    /**
+     * Compressed files can be read ahead on a background thread
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadAheadBgzfFasta() throws Exception {
+        compress(fastaData.getPagingRequiredPath(), BGZF_TEST_FILE, true);
+        val expected = readFasta(FastaStringFileStreamReader.create(fastaData.getPagingRequiredPath()));
+
+        assertThat(readFasta(FastaStringFileStreamReader.create(BufferFileStreamReader.builder()
+                .filePath(BGZF_TEST_FILE)
+                .decompressionThreads(2)
+                .readAheadBuffers(4)
+                .bufferSize(4096)
+                .build())), is(expected));
+    }
+
+    /**
+     * BGZF compressed FASTQ files keep their quality scores
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadBgzfFastq() throws Exception {
+        compress(fastqData.getRealExamplesPath(), BGZF_FASTQ_TEST_FILE, true);
+
+        val expected = readFastq(FastqStringFileStreamReader.create(fastqData.getRealExamplesPath()));
+        val actual = readFastq(FastqStringFileStreamReader.create(BGZF_FASTQ_TEST_FILE, 4096, 4));
+
+        assertThat(actual.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i), is(expected.get(i)));
+            assertThat(((QualitySequence) actual.get(i)).getQualities(), is(((QualitySequence) expected.get(i)).getQualities()));
+        }
+    }
+
+    private List<Optional<Sequence>> readFasta(final StringStreamReader stringReader) throws Exception {
+        val sequences = new ArrayList<Optional<Sequence>>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(stringReader)
+                .factory(new FastaSequenceFactory())
+                .build()) {
+            reader.forEach(sequences::add);
+        }
+        return sequences;
+    }
+
+    private List<Sequence> readFastq(final StringStreamReader stringReader) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(stringReader)
+                .factory(FastqSequenceFactory.builder().encodingScheme(ExpandedIupacEncodingScheme.instance).qualities(true).build())
+                .build()) {
+            reader.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+
+    private static void compress(final String source, final String destination, final boolean blocked) throws IOException {
+        val data = Files.readAllBytes(Paths.get(source));
+        try (OutputStream output = new FileOutputStream(destination)) {
+            output.write(blocked ? bgzf(data) : gzip(data));
+        }
+    }
+
+    private static byte[] gzip(final byte[] data) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        try (val output = new GZIPOutputStream(bytes)) {
+            output.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Compress data as small BGZF blocks, so even the small test files span many blocks, followed by the empty
+     * end of file block
+     */
+    private static byte[] bgzf(final byte[] data) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        for (int offset = 0; offset < data.length; offset += TEST_BLOCK_SIZE) {
+            writeBlock(bytes, Arrays.copyOfRange(data, offset, Math.min(data.length, offset + TEST_BLOCK_SIZE)));
+        }
+        writeBlock(bytes, new byte[0]);
+        return bytes.toByteArray();
+    }
+
+    private static void writeBlock(final ByteArrayOutputStream output, final byte[] block) {
+        val deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(block);
+        deflater.finish();
+        val compressed = new byte[block.length + 1024];
+        val compressedLength = deflater.deflate(compressed);
+        deflater.end();
+
+        val crc = new CRC32();
+        crc.update(block);
+
+        val blockSize = 12 + 6 + compressedLength + 8 - 1;
+        output.write(new byte[]{0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+                (byte) blockSize, (byte) (blockSize >>> 8)}, 0, 18);
+        output.write(compressed, 0, compressedLength);
+        writeInt(output, crc.getValue());
+        writeInt(output, block.length);
+    }
+
+    private static void writeInt(final ByteArrayOutputStream output, final long value) {
+        for (int i = 0; i < 4; i++) {
+            output.write((int) (value >>> (8 * i)) & 0xFF);
+        }
+    }
+
+    private static byte[] readAll(final InputStream stream) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        val buffer = new byte[777];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
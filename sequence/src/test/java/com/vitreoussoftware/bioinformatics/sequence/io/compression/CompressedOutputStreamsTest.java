@@ -0,0 +1,285 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.compression;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.BufferFileStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.fasta.FastaFileStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.fastq.FastqFileStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the CompressedOutputStreams class, and compressed output through the sequence stream writers
+ */
+public class CompressedOutputStreamsTest {
+    private static final String GZIP_TEST_FILE = "build/compressedwritetest.fasta.gz";
+    private static final String BGZF_TEST_FILE = "build/compressedwritetest.fasta.bgz";
+    private static final String BGZF_FASTQ_TEST_FILE = "build/compressedwritetest.fastq.bgz";
+
+    private FastaData fastaData;
+    private FastqData fastqData;
+
+    @Before
+    public void setup() {
+        fastaData = new FastaData();
+        fastqData = new FastqData();
+    }
+
+    /**
+     * Data spanning many blocks is compressed to the same bytes regardless of thread count, and reads back in order
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBgzfRoundTrip() throws Exception {
+        val data = nucleotides(1_000_000);
+        val single = bgzf(data, 1);
+
+        for (val threads : new int[]{2, 8}) {
+            assertThat(bgzf(data, threads), is(single));
+        }
+
+        val stream = new BufferedInputStream(new ByteArrayInputStream(single));
+        assertThat(CompressedInputStreams.detect(stream), is(Compression.BGZF));
+        assertThat(readAll(new BgzfInputStream(stream, 4)), is(data));
+        assertThat(readAll(new GZIPInputStream(new ByteArrayInputStream(single))), is(data));
+    }
+
+    /**
+     * BGZF output ends with the standard empty block
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBgzfEndOfFile() throws Exception {
+        val compressed = bgzf(new byte[0], 2);
+
+        assertThat(compressed, is(Bgzf.EOF_BLOCK));
+
+        val withData = bgzf(nucleotides(100_000), 2);
+        assertThat(Arrays.copyOfRange(withData, withData.length - Bgzf.EOF_BLOCK.length, withData.length), is(Bgzf.EOF_BLOCK));
+    }
+
+    /**
+     * Data that does not compress is stored instead, keeping every block within the BGZF size limit
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBgzfIncompressible() throws Exception {
+        val data = new byte[300_000];
+        new Random(7).nextBytes(data);
+
+        assertThat(readAll(new BgzfInputStream(new ByteArrayInputStream(bgzf(data, 4)), 4)), is(data));
+    }
+
+    /**
+     * Thread counts must be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBgzfInvalidThreads() {
+        new BgzfOutputStream(new ByteArrayOutputStream(), 0);
+    }
+
+    /**
+     * Gzip compressed FASTA output reads the same records as were written
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteGzipFasta() throws Exception {
+        val expected = readFasta(FastaStringFileStreamReader.create(fastaData.getRealExamplesPath()));
+        writeFasta(expected, GZIP_TEST_FILE, Compression.GZIP, 1);
+
+        assertThat(CompressedInputStreams.detect(GZIP_TEST_FILE), is(Compression.GZIP));
+        assertThat(readFasta(FastaStringFileStreamReader.create(GZIP_TEST_FILE)), is(expected));
+    }
+
+    /**
+     * BGZF compressed FASTA output reads the same records as were written regardless of thread count
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteBgzfFasta() throws Exception {
+        val expected = readFasta(FastaStringFileStreamReader.create(fastaData.getRealExamplesPath()));
+
+        for (val threads : new int[]{1, 4}) {
+            writeFasta(expected, BGZF_TEST_FILE, Compression.BGZF, threads);
+
+            assertThat(CompressedInputStreams.detect(BGZF_TEST_FILE), is(Compression.BGZF));
+            assertThat(readFasta(FastaStringFileStreamReader.create(BGZF_TEST_FILE, 4096, 4)), is(expected));
+        }
+    }
+
+    /**
+     * BGZF compressed FASTQ output keeps its quality scores
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteBgzfFastq() throws Exception {
+        val expected = readFastq(FastqStringFileStreamReader.create(fastqData.getRealExamplesPath()));
+
+        try (val writer = FastqFileStreamWriter.create(BufferFileStreamWriter.builder()
+                .filePath(BGZF_FASTQ_TEST_FILE)
+                .compression(Compression.BGZF)
+                .compressionThreads(4)
+                .build())) {
+            writer.writeAll(expected);
+        }
+
+        val actual = readFastq(FastqStringFileStreamReader.create(BGZF_FASTQ_TEST_FILE, 4096, 4));
+        assertThat(actual.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i), is(expected.get(i)));
+            assertThat(((QualitySequence) actual.get(i)).getQualities(), is(((QualitySequence) expected.get(i)).getQualities()));
+        }
+    }
+
+    /**
+     * Flushing a compressed writer writes out everything written so far, before the writer is closed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFlushCompressed() throws Exception {
+        val sequences = readFasta(FastaStringFileStreamReader.create(fastaData.getRealExamplesPath()));
+        writeFasta(sequences, GZIP_TEST_FILE, Compression.NONE, 1);
+        val expected = Files.readAllBytes(Paths.get(GZIP_TEST_FILE));
+
+        for (val compression : new Compression[]{Compression.GZIP, Compression.BGZF}) {
+            try (val writer = FastaFileStreamWriter.create(BufferFileStreamWriter.builder()
+                    .filePath(GZIP_TEST_FILE)
+                    .compression(compression)
+                    .compressionThreads(4)
+                    .build())) {
+                writer.writeAll(sequences);
+                writer.flush();
+
+                assertThat(compression.toString(), readFlushed(GZIP_TEST_FILE), is(expected));
+            }
+        }
+    }
+
+    /**
+     * Uncompressed output is written as is
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOpenNone() throws Exception {
+        val data = nucleotides(1000);
+        try (val output = CompressedOutputStreams.open(GZIP_TEST_FILE, Compression.NONE, 4)) {
+            output.write(data);
+        }
+
+        assertThat(Files.readAllBytes(Paths.get(GZIP_TEST_FILE)), is(data));
+    }
+
+    private static void writeFasta(final List<Sequence> sequences, final String filePath, final Compression compression, final int threads) throws Exception {
+        try (val writer = FastaFileStreamWriter.create(BufferFileStreamWriter.builder()
+                .filePath(filePath)
+                .compression(compression)
+                .compressionThreads(threads)
+                .build())) {
+            writer.writeAll(sequences);
+        }
+    }
+
+    private List<Sequence> readFasta(final StringStreamReader stringReader) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(stringReader)
+                .factory(new FastaSequenceFactory())
+                .build()) {
+            reader.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+
+    private List<Sequence> readFastq(final StringStreamReader stringReader) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(stringReader)
+                .factory(FastqSequenceFactory.builder().encodingScheme(ExpandedIupacEncodingScheme.instance).qualities(true).build())
+                .build()) {
+            reader.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+
+    private static byte[] bgzf(final byte[] data, final int threads) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        try (val output = new BgzfOutputStream(bytes, threads)) {
+            // uneven writes so blocks are filled across several calls
+            for (int offset = 0; offset < data.length; offset += 7777) {
+                output.write(data, offset, Math.min(7777, data.length - offset));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inflate a gzip or BGZF file that has not been finished yet, up to the data that has been flushed
+     */
+    private static byte[] readFlushed(final String filePath) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        val buffer = new byte[777];
+        try (val stream = new GZIPInputStream(new ByteArrayInputStream(Files.readAllBytes(Paths.get(filePath))))) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+        } catch (final EOFException e) {
+            // the file has no trailer until it is closed
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] nucleotides(final int length) {
+        val random = new Random(42);
+        val data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) "ACGT".charAt(random.nextInt(4));
+        }
+        return data;
+    }
+
+    private static byte[] readAll(final InputStream stream) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        val buffer = new byte[777];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,243 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.google.common.base.Throwables;
+import lombok.val;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the byte scanning primitives of the BufferFileStreamReader class
+ */
+public class BufferFileStreamReaderTest {
+    private static final String BUFFER_TEST_FILE = "build/bufferreadertest.txt";
+
+    /**
+     * Tokens are taken across buffer refills, leaving the stop character
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTakeUntilAcrossBuffers() throws Exception {
+        for (val bufferSize : new int[]{1, 3, 64}) {
+            try (val reader = create("header line\nACGTACGT ACGT", bufferSize)) {
+                val slice = new ByteSlice(1);
+
+                assertThat(reader.takeUntil('\n', slice), is(11));
+                assertThat(slice.toString(), is("header line"));
+                assertThat(reader.is('\n'), is(true));
+
+                reader.drop();
+                slice.clear();
+                assertThat(reader.takeUntilWhitespace(slice), is(8));
+                assertThat(slice.toString(), is("ACGTACGT"));
+
+                reader.dropWhileWhitespace();
+                slice.clear();
+                assertThat(reader.takeUntil(ByteSet.LINE_END, slice), is(4));
+                assertThat(slice.toString(), is("ACGT"));
+                assertThat(reader.isEof(), is(true));
+            }
+        }
+    }
+
+    /**
+     * Finding a byte leaves the reader on it, or at eof if it is missing
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFindByte() throws Exception {
+        try (val reader = create("abc\ndef@ghi", 2)) {
+            assertThat(reader.findNewline(), is(true));
+            assertThat(reader.drop(), is(1));
+            assertThat(reader.findByte('@'), is(true));
+            assertThat(reader.is('@'), is(true));
+            assertThat(reader.findByte('!'), is(false));
+            assertThat(reader.isEof(), is(true));
+        }
+    }
+
+    /**
+     * Dropping is limited by the data remaining
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDrop() throws Exception {
+        try (val reader = create("0123456789", 3)) {
+            assertThat(reader.drop(7), is(7));
+            assertThat(reader.is('7'), is(true));
+            assertThat(reader.drop(5), is(3));
+            assertThat(reader.isEof(), is(true));
+        }
+    }
+
+    /**
+     * Sets of bytes are skipped and searched for
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testByteSets() throws Exception {
+        try (val reader = create("  \t\r\nID 42 rest", 4)) {
+            reader.dropWhileWhitespace();
+            assertThat(reader.is('I'), is(true));
+
+            reader.dropUntil("ID");
+            assertThat(reader.dropUntil(ByteSet.DIGITS), is(true));
+            assertThat(reader.is('4'), is(true));
+
+            reader.dropUntilWhiteSpace();
+            assertThat(reader.is(ByteSet.WHITESPACE), is(true));
+            reader.dropWhile(ByteSet.WHITESPACE);
+            assertThat(reader.is(ByteSet.of('r')), is(true));
+            assertThat(reader.is(ByteSet.of('r').negate()), is(false));
+        }
+    }
+
+    /**
+     * Slices trim like Strings and read as characters
+     */
+    @Test
+    public void testSlice() {
+        val slice = new ByteSlice(2);
+        val bytes = " \tmetadata line\r ".getBytes();
+        slice.append(bytes, 0, bytes.length);
+
+        assertThat(slice.trim().toString(), is("metadata line"));
+        assertThat(slice.length(), is(13));
+        assertThat(slice.charAt(0), is('m'));
+        assertThat(slice.byteAt(12), is((byte) 'e'));
+        assertThat(slice.subSequence(0, 4).toString(), is("meta"));
+
+        slice.clear();
+        assertThat(slice.length(), is(0));
+    }
+
+    /**
+     * Reading ahead on a background thread, with heap or direct buffers, sees the same data
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadAhead() throws Exception {
+        val contents = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            contents.append("line ").append(i).append('\n');
+        }
+        write(contents.toString());
+
+        for (val direct : new boolean[]{false, true}) {
+            try (val reader = BufferFileStreamReader.builder()
+                    .filePath(BUFFER_TEST_FILE)
+                    .bufferSize(100)
+                    .readAheadBuffers(3)
+                    .directBuffers(direct)
+                    .build()) {
+                val slice = new ByteSlice();
+                for (int i = 0; i < 1000; i++) {
+                    slice.clear();
+                    reader.takeUntil('\n', slice);
+                    reader.drop();
+                    assertThat(slice.toString(), is("line " + i));
+                }
+                assertThat(reader.isEof(), is(true));
+            }
+        }
+    }
+
+    /**
+     * A read ahead ring needs at least two buffers to overlap reading with parsing
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadAheadSingleBuffer() throws Exception {
+        write("data");
+        BufferFileStreamReader.builder()
+                .filePath(BUFFER_TEST_FILE)
+                .readAheadBuffers(1)
+                .build();
+    }
+
+    /**
+     * An empty file is at eof straight away when read ahead
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadAheadEmpty() throws Exception {
+        write("");
+        try (val reader = BufferFileStreamReader.builder()
+                .filePath(BUFFER_TEST_FILE)
+                .readAheadBuffers(2)
+                .build()) {
+            assertThat(reader.isEof(), is(true));
+        }
+    }
+
+    /**
+     * A corrupt compressed file fails with the underlying format error as the cause, with or without read ahead
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCorruptGzip() throws Exception {
+        val bytes = new ByteArrayOutputStream();
+        try (val gzip = new GZIPOutputStream(bytes)) {
+            gzip.write("@read\nACGT\n+\nIIII\n".getBytes());
+        }
+        val corrupt = bytes.toByteArray();
+        corrupt[corrupt.length - 8] ^= 0xFF;
+        Files.write(Paths.get(BUFFER_TEST_FILE), corrupt);
+
+        for (val readAheadBuffers : new int[]{0, 2}) {
+            try (val reader = BufferFileStreamReader.builder()
+                    .filePath(BUFFER_TEST_FILE)
+                    .readAheadBuffers(readAheadBuffers)
+                    .build()) {
+                reader.findByte('!');
+                fail("The corrupt trailer should be reported");
+            } catch (final UncheckedIOException e) {
+                assertThat(Throwables.getRootCause(e), instanceOf(ZipException.class));
+            }
+        }
+    }
+
+    /**
+     * Characters that do not fit in a byte are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testByteSetWideCharacter() {
+        ByteSet.of('\u0100');
+    }
+
+    private static BufferFileStreamReader create(final String contents, final int bufferSize) throws IOException {
+        write(contents);
+
+        return BufferFileStreamReader.builder()
+                .filePath(BUFFER_TEST_FILE)
+                .bufferSize(bufferSize)
+                .build();
+    }
+
+    private static void write(final String contents) throws IOException {
+        try (OutputStream output = new FileOutputStream(BUFFER_TEST_FILE)) {
+            output.write(contents.getBytes());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.vitreoussoftware.bioinformatics.sequence.io.EmblData;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.TestData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaIndex;
+import lombok.val;
+import org.junit.Test;
+
+import java.util.TreeMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the SequenceStats class
+ */
+public class SequenceStatsTest {
+    /**
+     * Count, total, min, max and N50 of a known set of lengths
+     */
+    @Test
+    public void testAccumulator() {
+        val stats = new SequenceStats.Accumulator()
+                .add(2).add(3).add(4).add(5).add(6).add(10)
+                .build();
+
+        assertThat(stats.getCount(), is(6L));
+        assertThat(stats.getTotalBases(), is(30L));
+        assertThat(stats.getMinLength(), is(2L));
+        assertThat(stats.getMaxLength(), is(10L));
+        // 10 + 6 = 16 covers half of 30
+        assertThat(stats.getN50(), is(6L));
+        assertThat(stats.getMeanLength(), is(5.0));
+    }
+
+    /**
+     * Records are counted by exact length and by bin
+     */
+    @Test
+    public void testHistogram() {
+        val stats = new SequenceStats.Accumulator()
+                .add(5).add(5).add(12).add(19).add(20)
+                .build();
+
+        val lengths = new TreeMap<Long, Long>();
+        lengths.put(5L, 2L);
+        lengths.put(12L, 1L);
+        lengths.put(19L, 1L);
+        lengths.put(20L, 1L);
+        assertThat(stats.getLengths(), is(lengths));
+
+        val bins = new TreeMap<Long, Long>();
+        bins.put(0L, 2L);
+        bins.put(10L, 2L);
+        bins.put(20L, 1L);
+        assertThat(stats.histogram(10), is(bins));
+    }
+
+    /**
+     * No records is all zeros
+     */
+    @Test
+    public void testEmpty() {
+        val stats = new SequenceStats.Accumulator().build();
+
+        assertThat(stats.getCount(), is(0L));
+        assertThat(stats.getMinLength(), is(0L));
+        assertThat(stats.getMaxLength(), is(0L));
+        assertThat(stats.getN50(), is(0L));
+        assertThat(stats.getMeanLength(), is(0.0));
+    }
+
+    /**
+     * Scanning each format agrees with the lengths of the parsed records
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testScan() throws Exception {
+        for (final TestData testData : new TestData[]{new FastaData(), new FastqData(), new EmblData()}) {
+            val expected = new SequenceStats.Accumulator();
+            try (val reader = testData.getPagingRequiredReader()) {
+                reader.forEach(record -> expected.add(record.getValue1().length()));
+            }
+
+            try (val reader = testData.getPagingRequiredReader()) {
+                val stats = SequenceStats.scan(reader);
+                assertThat(stats.getCount(), is(81L));
+                assertThat(stats.getLengths(), is(expected.build().getLengths()));
+                assertThat(stats.getMinLength(), is((long) testData.getRealExample3().length()));
+                assertThat(stats.getMaxLength(), is((long) testData.getRealExample1().length()));
+            }
+        }
+    }
+
+    /**
+     * Stats from a FASTA index match scanning the file
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFastaIndex() throws Exception {
+        val testData = new FastaData();
+        val stats = SequenceStats.of(FastaIndex.build(testData.getRealExamplesPath()));
+
+        try (val reader = testData.getRealExamplesReader()) {
+            assertThat(stats.getLengths(), is(SequenceStats.scan(reader).getLengths()));
+        }
+        assertThat(stats.getCount(), is(3L));
+    }
+
+    /**
+     * Bin widths must be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBinWidth() {
+        new SequenceStats.Accumulator().add(1).build().histogram(0);
+    }
+}
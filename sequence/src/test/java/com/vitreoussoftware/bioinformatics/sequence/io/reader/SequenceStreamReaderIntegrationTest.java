@@ -1,11 +1,18 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.reader;
 
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
@@ -74,6 +81,145 @@ public class SequenceStreamReaderIntegrationTest {
         assertThat(i, greaterThan(0));
     }
 
+    /**
+     * Streaming reads the same records as iterating
+     */
+    @Test
+    public void testStream() throws Exception {
+        final List<Sequence> expected = readAll(getReader(testData.getPagingRequiredReader()));
+
+        try (SequenceStreamReader reader = getReader(testData.getPagingRequiredReader())) {
+            assertThat(reader.stream().collect(Collectors.toList()), is(expected));
+        }
+    }
+
+    /**
+     * Parallel streams keep the records in file order for any batch size
+     */
+    @Test
+    public void testParallelStream() throws Exception {
+        final List<Sequence> expected = readAll(getReader(testData.getPagingRequiredReader()));
+
+        for (final int batchSize : new int[]{1, 2, 1024}) {
+            try (SequenceStreamReader reader = SequenceStreamReader.builder()
+                    .reader(testData.getPagingRequiredReader())
+                    .factory(new FastqSequenceFactory())
+                    .batchSize(batchSize)
+                    .build()) {
+                assertThat(reader.parallelStream().collect(Collectors.toList()), is(expected));
+            }
+        }
+    }
+
+    /**
+     * Streams continue from the records already read
+     */
+    @Test
+    public void testStreamRemaining() throws Exception {
+        final List<Sequence> expected = readAll(getReader(testData.getRealExamplesReader()));
+
+        try (SequenceStreamReader reader = getReader(testData.getRealExamplesReader())) {
+            reader.next();
+            assertThat(reader.parallelStream().collect(Collectors.toList()), is(expected.subList(1, expected.size())));
+        }
+    }
+
+    /**
+     * Records read into a reusable holder keep their quality scores and end with the file
+     */
+    @Test
+    public void testReadInto() throws Exception {
+        final List<Sequence> expected = readAll(getReader(testData.getRealExamplesReader()));
+        final SequenceRecord record = new SequenceRecord();
+
+        try (SequenceStreamReader reader = getReader(testData.getRealExamplesReader())) {
+            for (final Sequence sequence : expected) {
+                assertThat(reader.readInto(record), is(true));
+                assertThat(record.getMetadata().toString(), is(sequence.getMetadata()));
+                assertThat(record.getSequence().toString(), is(sequence.toString()));
+                assertThat(record.getQuality().length(), is(sequence.length()));
+            }
+            assertThat(reader.readInto(record), is(false));
+        }
+    }
+
+    /**
+     * Batch sizes must be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() throws Exception {
+        SequenceStreamReader.builder()
+                .reader(testData.getRealExamplesReader())
+                .factory(new FastqSequenceFactory())
+                .batchSize(0)
+                .build();
+    }
+
+    /**
+     * Records the factory rejects fail the stream by default
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testStreamRejectedRecord() throws Exception {
+        try (SequenceStreamReader reader = SequenceStreamReader.builder()
+                .reader(testData.getPagingRequiredReader())
+                .factory(rejectingStartingWithA())
+                .build()) {
+            reader.parallelStream().count();
+        }
+    }
+
+    /**
+     * Records the factory rejects can be skipped instead, and are counted
+     */
+    @Test
+    public void testStreamSkipInvalid() throws Exception {
+        final List<Sequence> all = readAll(getReader(testData.getPagingRequiredReader()));
+        final List<Sequence> expected = all.stream()
+                .filter(sequence -> !sequence.toString().startsWith("A"))
+                .collect(Collectors.toList());
+
+        try (SequenceStreamReader reader = SequenceStreamReader.builder()
+                .reader(testData.getPagingRequiredReader())
+                .factory(rejectingStartingWithA())
+                .skipInvalid(true)
+                .build()) {
+            assertThat(reader.parallelStream().collect(Collectors.toList()), is(expected));
+            assertThat(reader.getSkipped(), is((long) (all.size() - expected.size())));
+            assertThat(reader.getSkipped(), greaterThan(0L));
+        }
+    }
+
+    /**
+     * A factory that rejects the sequences starting with an A
+     */
+    public static SequenceFactory rejectingStartingWithA() {
+        final FastqSequenceFactory factory = new FastqSequenceFactory();
+        return new SequenceFactory() {
+            @Override
+            public Optional<Sequence> fromString(final String metadata, final String sequence) {
+                return sequence.startsWith("A") ? Optional.empty() : factory.fromString(metadata, sequence);
+            }
+
+            @Override
+            public Optional<Sequence> fromString(final String metadata, final String sequence, final String quality) {
+                return sequence.startsWith("A") ? Optional.empty() : factory.fromString(metadata, sequence, quality);
+            }
+
+            @Override
+            public Optional<Sequence> fromSequence(final Sequence sequence) {
+                return factory.fromSequence(sequence);
+            }
+        };
+    }
+
+    private static List<Sequence> readAll(final SequenceStreamReader reader) throws Exception {
+        final List<Sequence> sequences = new ArrayList<>();
+        try (SequenceStreamReader closing = reader) {
+            closing.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+
 
     /**
      * Create the {@link SequenceStreamReader} from the given {@link StringStreamReader}
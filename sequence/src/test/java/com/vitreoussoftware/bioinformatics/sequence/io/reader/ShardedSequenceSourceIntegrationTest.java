@@ -0,0 +1,222 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader;
+
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader;
+import lombok.val;
+import org.javatuples.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the ShardedSequenceSource class
+ */
+public class ShardedSequenceSourceIntegrationTest {
+    private static final String SHARD_DIRECTORY = "build/shards";
+
+    private FastqData testData;
+
+    @Before
+    public void setup() {
+        testData = new FastqData();
+    }
+
+    /**
+     * Every record of every file is streamed once
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStreamAllFiles() throws Exception {
+        val files = Arrays.asList(testData.getRealExamplesPath(), testData.getPagingRequiredPath(), testData.getRealExamplesPath());
+
+        try (val source = create(files, 2, 4)) {
+            assertThat(count(source.stream().collect(Collectors.toList())), is(expected(files)));
+        }
+    }
+
+    /**
+     * Parallel streams see the same records
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParallelStream() throws Exception {
+        val files = Collections.nCopies(8, testData.getPagingRequiredPath());
+
+        try (val source = create(files, 3, 16)) {
+            assertThat(count(source.parallelStream().collect(Collectors.toList())), is(expected(files)));
+        }
+    }
+
+    /**
+     * No files is an empty stream
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNoFiles() throws Exception {
+        try (val source = create(Collections.emptyList(), 2, 4)) {
+            assertThat(source.stream().count(), is(0L));
+        }
+    }
+
+    /**
+     * Files that cannot be read fail the stream
+     *
+     * @throws Exception
+     */
+    @Test(expected = UncheckedIOException.class)
+    public void testMissingFile() throws Exception {
+        try (val source = create(Arrays.asList(testData.getRealExamplesPath(), "build/shards-missing.fastq"), 2, 1)) {
+            source.stream().count();
+        }
+    }
+
+    /**
+     * Records the factory rejects fail the stream by default
+     *
+     * @throws Exception
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testRejectedRecord() throws Exception {
+        try (val source = ShardedSequenceSource.builder()
+                .files(Collections.singletonList(testData.getPagingRequiredPath()))
+                .readerFactory(FastqStringFileStreamReader::create)
+                .factory(SequenceStreamReaderIntegrationTest.rejectingStartingWithA())
+                .build()) {
+            source.stream().count();
+        }
+    }
+
+    /**
+     * Records the factory rejects can be skipped instead, and are counted
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSkipInvalid() throws Exception {
+        val files = Arrays.asList(testData.getRealExamplesPath(), testData.getPagingRequiredPath());
+        val all = expected(files);
+        final long rejected = all.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("A"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        all.keySet().removeIf(sequence -> sequence.startsWith("A"));
+
+        try (val source = ShardedSequenceSource.builder()
+                .files(files)
+                .readerFactory(FastqStringFileStreamReader::create)
+                .factory(SequenceStreamReaderIntegrationTest.rejectingStartingWithA())
+                .skipInvalid(true)
+                .build()) {
+            assertThat(count(source.parallelStream().collect(Collectors.toList())), is(all));
+            assertThat(source.getSkipped(), is(rejected));
+        }
+    }
+
+    /**
+     * Errors thrown while reading a file fail the stream instead of leaving it waiting for the file
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalStateException.class, timeout = 30000)
+    public void testReaderError() throws Exception {
+        try (val source = ShardedSequenceSource.builder()
+                .files(Arrays.asList(testData.getRealExamplesPath(), testData.getPagingRequiredPath()))
+                .readerFactory(filePath -> new StringStreamReader() {
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Pair<String, String> next() {
+                        throw new AssertionError("corrupt record");
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                })
+                .factory(new FastqSequenceFactory())
+                .build()) {
+            source.stream().count();
+        }
+    }
+
+    /**
+     * A source can only be streamed once
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStreamTwice() throws Exception {
+        try (val source = create(Collections.singletonList(testData.getRealExamplesPath()), 1, 4)) {
+            source.stream().count();
+            source.stream();
+        }
+    }
+
+    /**
+     * Glob matches file names in a directory
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGlob() throws Exception {
+        Files.createDirectories(Paths.get(SHARD_DIRECTORY));
+        for (val name : new String[]{"b.fastq", "a.fastq", "c.fasta"}) {
+            Files.copy(Paths.get(testData.getRealExamplesPath()), Paths.get(SHARD_DIRECTORY, name), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        assertThat(ShardedSequenceSource.glob(SHARD_DIRECTORY, "*.fastq"),
+                is(Arrays.asList(Paths.get(SHARD_DIRECTORY, "a.fastq").toString(), Paths.get(SHARD_DIRECTORY, "b.fastq").toString())));
+    }
+
+    private static ShardedSequenceSource create(final List<String> files, final int readerThreads, final int queueSize) {
+        return ShardedSequenceSource.builder()
+                .files(files)
+                .readerFactory(FastqStringFileStreamReader::create)
+                .factory(new FastqSequenceFactory())
+                .readerThreads(readerThreads)
+                .queueSize(queueSize)
+                .build();
+    }
+
+    private static Map<String, Long> expected(final List<String> files) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        for (val file : files) {
+            try (val reader = SequenceStreamReader.builder()
+                    .reader(FastqStringFileStreamReader.create(file))
+                    .factory(new FastqSequenceFactory())
+                    .build()) {
+                reader.forEach(sequence -> sequences.add(sequence.get()));
+            }
+        }
+        return count(sequences);
+    }
+
+    private static Map<String, Long> count(final List<Sequence> sequences) {
+        return sequences.stream()
+                .map(Sequence::toString)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+}
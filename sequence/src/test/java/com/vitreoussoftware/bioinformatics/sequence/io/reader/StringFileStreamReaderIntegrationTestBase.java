@@ -276,4 +276,31 @@ public abstract class StringFileStreamReaderIntegrationTestBase<T extends TestDa
 
         assertThat("The number of records was not correct", index, is(81));
     }
+
+    /**
+     * Reading into a reusable record produces the same contents as reading Strings
+     */
+    @Test
+    public void testReadInto() throws Exception {
+        val record = new SequenceRecord();
+
+        try (val expected = getReader(testData.getPagingRequiredPath());
+             val actual = getReader(testData.getPagingRequiredPath())) {
+            int count = 0;
+            while (expected.hasNext()) {
+                assertThat(actual.hasNext(), is(true));
+
+                val next = expected.nextWithQuality();
+                actual.readInto(record);
+                assertThat(record.getMetadata().toString(), is(next.getValue0()));
+                assertThat(record.getSequence().toString(), is(next.getValue1()));
+                assertThat(record.getQuality().toString(), is(next.getValue2()));
+                assertThat(record.length(), is(next.getValue1().length()));
+                count++;
+            }
+
+            assertThat(actual.hasNext(), is(false));
+            assertThat(count, is(81));
+        }
+    }
 }
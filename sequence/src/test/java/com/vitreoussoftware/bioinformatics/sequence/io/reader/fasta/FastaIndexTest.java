@@ -0,0 +1,174 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
+
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the FastaIndex class
+ */
+public class FastaIndexTest {
+    private static final String INDEX_TEST_FILE = "build/fastaindextest.fasta";
+
+    private FastaData testData;
+
+    @Before
+    public void setup() {
+        testData = new FastaData();
+    }
+
+    /**
+     * Build an index with an entry for each record
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBuild() throws Exception {
+        val index = FastaIndex.build(testData.getRealExamplesPath());
+
+        assertThat(index.size(), is(3));
+        val entry = index.get("A27627.1.1472").get();
+        assertThat(entry.getName(), is("A27627.1.1472"));
+        assertThat(entry.getLength(), is((long) testData.getRealExample1().length()));
+        assertThat(entry.getOffset(), is((long) ">A27627.1.1472 ;\n".length()));
+        assertThat(entry.getLineBases(), is(80));
+        assertThat(entry.getLineWidth(), is(81));
+
+        assertThat(index.get("AX002996.1.1379").get().getLength(), is((long) testData.getRealExample2().length()));
+        assertThat(index.get("AX039537.1.1212").get().getLength(), is((long) testData.getRealExample3().length()));
+    }
+
+    /**
+     * Entries are kept in file order
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBuildOrder() throws Exception {
+        val names = new ArrayList<String>();
+        FastaIndex.build(testData.getRealExamplesPath()).entries().forEach(entry -> names.add(entry.getName()));
+
+        assertThat(names.get(0), is("A27627.1.1472"));
+        assertThat(names.get(1), is("AX002996.1.1379"));
+        assertThat(names.get(2), is("AX039537.1.1212"));
+    }
+
+    /**
+     * Looking up a name that is not in the index
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetMissing() throws Exception {
+        assertThat(FastaIndex.build(testData.getRealExamplesPath()).get("missing").isPresent(), is(false));
+    }
+
+    /**
+     * An empty file has an empty index
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBuildEmpty() throws Exception {
+        assertThat(FastaIndex.build(testData.getEmptyPath()).size(), is(0));
+    }
+
+    /**
+     * Write the index in the samtools format and read it back
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteRead() throws Exception {
+        val index = FastaIndex.build(testData.getRealExamplesPath());
+        val indexPath = FastaIndex.indexPath(INDEX_TEST_FILE);
+        new File(indexPath).getParentFile().mkdirs();
+        index.write(indexPath);
+
+        val lines = Files.readAllLines(Paths.get(indexPath), StandardCharsets.UTF_8);
+        assertThat(lines.get(0), is("A27627.1.1472\t" + testData.getRealExample1().length() + "\t17\t80\t81"));
+
+        val read = FastaIndex.read(indexPath);
+        assertThat(new ArrayList<>(read.entries()), is(new ArrayList<>(index.entries())));
+    }
+
+    /**
+     * Handle carriage returns and a final line without a terminator
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBuildWindowsLineEndings() throws Exception {
+        write(">first description\r\nACGT\r\nAC\r\n>second\r\nGGGG\r\nTT");
+        val index = FastaIndex.build(INDEX_TEST_FILE);
+
+        val first = index.get("first").get();
+        assertThat(first.getLength(), is(6L));
+        assertThat(first.getOffset(), is(20L));
+        assertThat(first.getLineBases(), is(4));
+        assertThat(first.getLineWidth(), is(6));
+
+        val second = index.get("second").get();
+        assertThat(second.getLength(), is(6L));
+        assertThat(second.getOffset(), is(39L));
+    }
+
+    /**
+     * Lines in the middle of a record that differ in length cannot be indexed
+     *
+     * @throws Exception
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testBuildInconsistentLines() throws Exception {
+        write(">first\nACGT\nAC\nACGT\n");
+        FastaIndex.build(INDEX_TEST_FILE);
+    }
+
+    /**
+     * Two records with the same name cannot both be found through the index
+     *
+     * @throws Exception
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testBuildDuplicateName() throws Exception {
+        write(">first\nACGT\n>second\nGG\n>first other\nTT\n");
+        FastaIndex.build(INDEX_TEST_FILE);
+    }
+
+    /**
+     * A record without any sequence data is indexed with no line length
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBuildEmptyRecord() throws Exception {
+        write(">first\n>second\nGGGG\nTT\n");
+        val index = FastaIndex.build(INDEX_TEST_FILE);
+
+        val first = index.get("first").get();
+        assertThat(first.getLength(), is(0L));
+        assertThat(first.getLineBases(), is(0));
+        assertThat(first.position(0), is(first.getOffset()));
+
+        assertThat(index.get("second").get().position(5), is(21L));
+    }
+
+    private void write(final String contents) throws Exception {
+        new File(INDEX_TEST_FILE).getParentFile().mkdirs();
+        try (val writer = new FileWriter(INDEX_TEST_FILE)) {
+            writer.write(contents);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
+
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the IndexedFastaReader class
+ */
+public class IndexedFastaReaderIntegrationTest {
+    private static final String INDEXED_TEST_FILE = "build/indexedreadertest.fasta";
+
+    private FastaData testData;
+
+    @Before
+    public void setup() {
+        testData = new FastaData();
+    }
+
+    /**
+     * Fetch whole records by name
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchRecord() throws Exception {
+        try (val reader = IndexedFastaReader.create(testData.getRealExamplesPath())) {
+            assertThat(reader.fetch("AX039537.1.1212").get().toString(), is(testData.getRealExample3()));
+            assertThat(reader.fetch("A27627.1.1472").get().toString(), is(testData.getRealExample1()));
+            assertThat(reader.fetch("AX002996.1.1379").get().toString(), is(testData.getRealExample2()));
+        }
+    }
+
+    /**
+     * The fetched record uses its name as metadata
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchMetadata() throws Exception {
+        try (val reader = IndexedFastaReader.create(testData.getRealExamplesPath())) {
+            assertThat(reader.fetch("A27627.1.1472").get().getMetadata(), is("A27627.1.1472"));
+        }
+    }
+
+    /**
+     * Fetch regions that start, end and span line boundaries
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchRegion() throws Exception {
+        val expected = testData.getRealExample1();
+        try (val reader = IndexedFastaReader.create(testData.getRealExamplesPath())) {
+            for (val range : new int[][]{{0, 1}, {0, 80}, {79, 81}, {80, 160}, {5, 400}, {expected.length() - 3, expected.length()}}) {
+                assertThat(reader.fetch("A27627.1.1472", range[0], range[1]).get().toString(),
+                        is(expected.substring(range[0], range[1])));
+            }
+        }
+    }
+
+    /**
+     * Fetching a name that is not in the index
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchMissing() throws Exception {
+        try (val reader = IndexedFastaReader.create(testData.getRealExamplesPath())) {
+            assertThat(reader.fetch("missing").isPresent(), is(false));
+            assertThat(reader.fetch("missing", 0, 10).isPresent(), is(false));
+        }
+    }
+
+    /**
+     * Fetching past the end of a record
+     *
+     * @throws Exception
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFetchOutOfRange() throws Exception {
+        try (val reader = IndexedFastaReader.create(testData.getRealExamplesPath())) {
+            reader.fetch("A27627.1.1472", 0, testData.getRealExample1().length() + 1);
+        }
+    }
+
+    /**
+     * Fetching an empty region
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFetchEmpty() throws Exception {
+        try (val reader = IndexedFastaReader.create(testData.getRealExamplesPath())) {
+            reader.fetch("A27627.1.1472", 10, 10);
+        }
+    }
+
+    /**
+     * Use the index stored next to the FASTA file
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchWithStoredIndex() throws Exception {
+        new File(INDEXED_TEST_FILE).getParentFile().mkdirs();
+        Files.copy(new File(testData.getRealExamplesPath()).toPath(), new File(INDEXED_TEST_FILE).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        FastaIndex.build(INDEXED_TEST_FILE).write(FastaIndex.indexPath(INDEXED_TEST_FILE));
+
+        try (val reader = IndexedFastaReader.create(INDEXED_TEST_FILE)) {
+            assertThat(reader.getIndex().size(), is(3));
+            assertThat(reader.fetch("AX002996.1.1379", 100, 200).get().toString(),
+                    is(testData.getRealExample2().substring(100, 200)));
+        }
+    }
+}
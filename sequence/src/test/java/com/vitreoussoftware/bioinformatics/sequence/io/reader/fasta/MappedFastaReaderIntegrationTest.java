@@ -0,0 +1,174 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the MappedFastaReader class
+ */
+public class MappedFastaReaderIntegrationTest {
+    private static final String MAPPED_TEST_FILE = "build/mappedfastatest.fasta";
+
+    private FastaData testData;
+
+    @Before
+    public void setup() {
+        testData = new FastaData();
+    }
+
+    /**
+     * An empty file has no records
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEmpty() throws Exception {
+        try (val reader = MappedFastaReader.create(testData.getEmptyPath())) {
+            assertThat(reader.hasNext(), is(false));
+        }
+    }
+
+    /**
+     * Read a record from the reader
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadRecord() throws Exception {
+        try (val reader = MappedFastaReader.create(testData.getSimpleExamplePath())) {
+            val sequence = reader.next().get();
+
+            assertThat(sequence.toString(), is(testData.getSimpleRecord()));
+            assertThat(reader.hasNext(), is(false));
+        }
+    }
+
+    /**
+     * Read the complex records, including the metadata
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadRecordComplex() throws Exception {
+        try (val reader = MappedFastaReader.create(testData.getComplexExamplesPath())) {
+            Sequence sequence = reader.next().get();
+            assertThat(sequence.getMetadata(), is(testData.getFastaMultiLineDescriptionMetadata()));
+            assertThat(sequence.toString(), is(testData.getFastaMultiLineDescription()));
+
+            sequence = reader.next().get();
+            assertThat(sequence.getMetadata(), is(testData.getFastaTerminatedMetadata()));
+            assertThat(sequence.toString(), is(testData.getFastaTerminated()));
+
+            sequence = reader.next().get();
+            assertThat(sequence.getMetadata(), is(testData.getFastaLargeHeaderMetadata()));
+            assertThat(sequence.toString(), is(testData.getFastaLargeHeader()));
+
+            assertThat(reader.hasNext(), is(false));
+        }
+    }
+
+    /**
+     * Match the records produced by {@link FastaStringFileStreamReader}
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMatchesStringReader() throws Exception {
+        for (val path : new String[]{testData.getRealExamplesPath(), testData.getComplexExamplesPath(), testData.getPagingRequiredPath()}) {
+            try (val reader = MappedFastaReader.create(path)) {
+                assertThat(path, read(reader), is(readExpected(path)));
+            }
+        }
+    }
+
+    /**
+     * Records that straddle the boundary between two mapped windows are read correctly
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSmallWindows() throws Exception {
+        for (val windowSize : new int[]{1, 7, 64}) {
+            try (val reader = MappedFastaReader.builder()
+                    .filePath(testData.getComplexExamplesPath())
+                    .windowSize(windowSize)
+                    .build()) {
+                assertThat(read(reader), is(readExpected(testData.getComplexExamplesPath())));
+            }
+        }
+
+        try (val reader = MappedFastaReader.builder()
+                .filePath(testData.getPagingRequiredPath())
+                .windowSize(4096)
+                .build()) {
+            assertThat(read(reader), is(readExpected(testData.getPagingRequiredPath())));
+        }
+    }
+
+    /**
+     * Records larger than the scratch space grow it, and later records still read correctly
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLargeRecord() throws Exception {
+        val large = new StringBuilder();
+        for (int i = 0; i < 200 * 1024; i++) {
+            large.append("ACGT".charAt(i % 4));
+        }
+        new File(MAPPED_TEST_FILE).getParentFile().mkdirs();
+        try (val writer = new FileWriter(MAPPED_TEST_FILE)) {
+            writer.write(">large\n" + large + "\n>small\nTTGA\n");
+        }
+
+        try (val reader = MappedFastaReader.builder().filePath(MAPPED_TEST_FILE).build()) {
+            val sequences = read(reader);
+
+            assertThat(sequences.size(), is(2));
+            assertThat(sequences.get(0).get().toString(), is(large.toString()));
+            assertThat(sequences.get(1).get().toString(), is("TTGA"));
+        }
+    }
+
+    /**
+     * Window sizes must be positive
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindowSize() throws Exception {
+        MappedFastaReader.builder()
+                .filePath(testData.getSimpleExamplePath())
+                .windowSize(0)
+                .build();
+    }
+
+    private List<Optional<Sequence>> read(final Iterable<Optional<Sequence>> reader) {
+        val sequences = new ArrayList<Optional<Sequence>>();
+        reader.forEach(sequences::add);
+        return sequences;
+    }
+
+    private List<Optional<Sequence>> readExpected(final String path) throws Exception {
+        try (val reader = SequenceStreamReader.builder()
+                .reader(FastaStringFileStreamReader.create(path))
+                .factory(new FastaSequenceFactory())
+                .build()) {
+            return read(reader);
+        }
+    }
+}
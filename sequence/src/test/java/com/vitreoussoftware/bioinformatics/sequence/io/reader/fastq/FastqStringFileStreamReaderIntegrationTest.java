@@ -1,16 +1,23 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq;
 
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
 import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
 import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringFileStreamReaderIntegrationTestBase;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
 import org.junit.Test;
 
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test the FastqFileStreamReader class
@@ -151,4 +158,56 @@ public class FastqStringFileStreamReaderIntegrationTest extends StringFileStream
         assertEquals(testData.getComplex7Metadata(), next.getValue0());
         assertEquals(testData.getComplex7SequenceString(), next.getValue1());
     }
+
+    /**
+     * Read a record along with its quality scores
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testReadRecordWithQuality() throws IOException {
+        final StringStreamReader reader = testData.getComplexExamplesReader();
+
+        reader.next();
+        final Triplet<String, String, String> next = reader.nextWithQuality();
+        assertEquals(testData.getComplex2Metadata(), next.getValue0());
+        assertEquals(testData.getComplex2SequenceString(), next.getValue1());
+        assertEquals(testData.getComplex2Quality(), next.getValue2());
+    }
+
+    /**
+     * The {@link SequenceStreamReader} keeps the quality scores of each record when the factory asks for them
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadQualitySequence() throws Exception {
+        try (SequenceStreamReader reader = SequenceStreamReader.builder()
+                .reader(testData.getComplexExamplesReader())
+                .factory(FastqSequenceFactory.builder().encodingScheme(ExpandedIupacEncodingScheme.instance).qualities(true).build())
+                .build()) {
+            final Sequence sequence = reader.next().get();
+
+            assertTrue(sequence instanceof QualitySequence);
+            assertEquals(testData.getComplex1Quality(), ((QualitySequence) sequence).getQualities().toString());
+        }
+    }
+
+    /**
+     * The quality scores are dropped by default
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadWithoutQualities() throws Exception {
+        try (SequenceStreamReader reader = SequenceStreamReader.builder()
+                .reader(testData.getComplexExamplesReader())
+                .factory(getFactory())
+                .build()) {
+            final Sequence sequence = reader.next().get();
+
+            assertFalse(sequence instanceof QualitySequence);
+            assertEquals(testData.getComplex1SequenceString(), sequence.toString());
+        }
+    }
 }
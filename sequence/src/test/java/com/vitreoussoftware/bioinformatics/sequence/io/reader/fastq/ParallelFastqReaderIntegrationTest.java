@@ -0,0 +1,299 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq;
+
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.SequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReaderIntegrationTest;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the ParallelFastqReader class
+ */
+public class ParallelFastqReaderIntegrationTest {
+    private static final String PARALLEL_TEST_FILE = "build/parallelfastqtest.fastq";
+
+    private FastqData testData;
+
+    @Before
+    public void setup() {
+        testData = new FastqData();
+    }
+
+    /**
+     * An empty file has no records
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEmpty() throws Exception {
+        try (val reader = ParallelFastqReader.create(testData.getEmptyPath())) {
+            assertThat(reader.stream().count(), is(0L));
+        }
+    }
+
+    /**
+     * Read the complex records, including the metadata
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadRecordComplex() throws Exception {
+        try (val reader = ParallelFastqReader.create(testData.getComplexExamplesPath())) {
+            val sequences = reader.stream().collect(Collectors.toList());
+
+            assertThat(sequences.get(0).getMetadata(), is(testData.getComplex1Metadata()));
+            assertThat(sequences.get(0).toString(), is(testData.getComplex1SequenceString()));
+            assertThat(sequences.get(6).getMetadata(), is(testData.getComplex7Metadata()));
+            assertThat(sequences.get(6).toString(), is(testData.getComplex7SequenceString()));
+        }
+    }
+
+    /**
+     * Produce the same records, in the same order, as {@link FastqStringFileStreamReader} for any chunk size
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOrderedMatchesStringReader() throws Exception {
+        for (val path : new String[]{testData.getRealExamplesPath(), testData.getComplexExamplesPath(), testData.getPagingRequiredPath()}) {
+            val expected = readExpected(path);
+            for (val chunkSize : new int[]{64, 1000, 4096, 1024 * 1024}) {
+                try (val reader = ParallelFastqReader.builder().filePath(path).chunkSize(chunkSize).build()) {
+                    assertThat(path + " " + chunkSize, metadata(reader.stream().collect(Collectors.toList())), is(metadata(expected)));
+                    assertThat(path + " " + chunkSize, reader.parallelStream().collect(Collectors.toList()), is(expected));
+                }
+            }
+        }
+    }
+
+    /**
+     * Produce the same records as {@link FastqStringFileStreamReader}, in any order
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnorderedMatchesStringReader() throws Exception {
+        val path = testData.getPagingRequiredPath();
+        val expected = sorted(readExpected(path));
+
+        try (val reader = ParallelFastqReader.builder().filePath(path).chunkSize(1000).build()) {
+            val actual = StreamSupport.stream(reader.spliterator(false), false).collect(Collectors.toList());
+            assertThat(sorted(actual), is(expected));
+        }
+    }
+
+    /**
+     * Only a bounded number of chunks are parsed ahead of the consumer
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParsesAheadOfConsumerBounded() throws Exception {
+        val path = testData.getPagingRequiredPath();
+        final int total = readExpected(path).size();
+        val parsed = new AtomicInteger();
+        val fastq = new FastqSequenceFactory();
+        val factory = new SequenceFactory() {
+            @Override
+            public Optional<Sequence> fromString(final String metadata, final String sequence) {
+                parsed.incrementAndGet();
+                return fastq.fromString(metadata, sequence);
+            }
+
+            @Override
+            public Optional<Sequence> fromSequence(final Sequence sequence) {
+                return fastq.fromSequence(sequence);
+            }
+        };
+        val pool = new ForkJoinPool(1);
+
+        try (val reader = ParallelFastqReader.builder().filePath(path).factory(factory).chunkSize(1000).pool(pool).build()) {
+            val iterator = reader.stream().iterator();
+            iterator.next();
+            pool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+            assertThat(parsed.get() + " of " + total, parsed.get() * 10 < total, is(true));
+
+            int count = 1;
+            for (; iterator.hasNext(); iterator.next()) count++;
+            assertThat(count, is(total));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Records the factory rejects fail the stream by default
+     *
+     * @throws Exception
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testRejectedRecord() throws Exception {
+        try (val reader = ParallelFastqReader.builder()
+                .filePath(testData.getPagingRequiredPath())
+                .factory(SequenceStreamReaderIntegrationTest.rejectingStartingWithA())
+                .build()) {
+            reader.stream().count();
+        }
+    }
+
+    /**
+     * Records the factory rejects can be skipped instead, and are counted
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSkipInvalid() throws Exception {
+        val path = testData.getPagingRequiredPath();
+        val all = readExpected(path);
+        val expected = all.stream()
+                .filter(sequence -> !sequence.toString().startsWith("A"))
+                .collect(Collectors.toList());
+
+        try (val reader = ParallelFastqReader.builder()
+                .filePath(path)
+                .factory(SequenceStreamReaderIntegrationTest.rejectingStartingWithA())
+                .chunkSize(1000)
+                .skipInvalid(true)
+                .build()) {
+            assertThat(reader.stream().collect(Collectors.toList()), is(expected));
+            assertThat(reader.getSkipped(), is((long) (all.size() - expected.size())));
+        }
+    }
+
+    /**
+     * An unordered parallel stream consumed on the pool that parses the chunks does not starve the parse tasks
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 30000)
+    public void testUnorderedOnParsingPool() throws Exception {
+        val path = testData.getPagingRequiredPath();
+        val expected = sorted(readExpected(path));
+        val pool = new ForkJoinPool(1);
+
+        try (val reader = ParallelFastqReader.builder().filePath(path).chunkSize(1000).pool(pool).build()) {
+            val actual = pool.submit(() -> StreamSupport.stream(reader.spliterator(false), true).collect(Collectors.toList())).get();
+            assertThat(sorted(actual), is(expected));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Closing the reader cancels the chunks still being parsed
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testCloseCancelsParsing() throws Exception {
+        val pool = new ForkJoinPool(1);
+        try {
+            val reader = ParallelFastqReader.builder().filePath(testData.getPagingRequiredPath()).chunkSize(1000).pool(pool).build();
+            val iterator = reader.stream().iterator();
+            iterator.next();
+            reader.close();
+
+            while (iterator.hasNext()) iterator.next();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Quality lines that start with '@' are not mistaken for the start of a record
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQualityStartingWithHeaderCharacter() throws Exception {
+        write("@first\nACGTACGT\nACGT\n+\n@@@@@@\n@@@@@@\n@second\nTTTT\n+second\n@III\n");
+
+        for (int chunkSize = 1; chunkSize < 60; chunkSize++) {
+            try (val reader = ParallelFastqReader.builder().filePath(PARALLEL_TEST_FILE).chunkSize(chunkSize).build()) {
+                val sequences = reader.stream().collect(Collectors.toList());
+
+                assertThat(sequences.size(), is(2));
+                assertThat(sequences.get(0).toString(), is("ACGTACGTACGT"));
+                assertThat(sequences.get(1).getMetadata(), is("second"));
+                assertThat(sequences.get(1).toString(), is("TTTT"));
+            }
+        }
+    }
+
+    /**
+     * A record without all of its quality data is rejected
+     *
+     * @throws Exception
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testMissingQuality() throws Exception {
+        write("@first\nACGTACGT\n+\nIIII");
+
+        try (val reader = ParallelFastqReader.create(PARALLEL_TEST_FILE)) {
+            reader.stream().count();
+        }
+    }
+
+    /**
+     * Chunk sizes must be positive
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() throws Exception {
+        ParallelFastqReader.builder()
+                .filePath(testData.getSimpleExamplePath())
+                .chunkSize(0)
+                .build();
+    }
+
+    private List<Sequence> readExpected(final String path) throws Exception {
+        try (val reader = SequenceStreamReader.builder()
+                .reader(FastqStringFileStreamReader.create(path))
+                .factory(new FastqSequenceFactory())
+                .build()) {
+            val sequences = new ArrayList<Sequence>();
+            reader.forEach(sequence -> sequence.ifPresent(sequences::add));
+            return sequences;
+        }
+    }
+
+    private List<String> metadata(final List<Sequence> sequences) {
+        return sequences.stream().map(Sequence::getMetadata).collect(Collectors.toList());
+    }
+
+    private List<String> sorted(final List<Sequence> sequences) {
+        return sequences.stream()
+                .map(sequence -> sequence.getMetadata() + "\n" + sequence)
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+    }
+
+    private void write(final String contents) throws Exception {
+        new File(PARALLEL_TEST_FILE).getParentFile().mkdirs();
+        try (val writer = new FileWriter(PARALLEL_TEST_FILE)) {
+            writer.write(contents);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.writer;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.fasta.FastaFileStreamWriter;
+import lombok.val;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the AsyncSequenceStreamWriter class, wrapping a FASTA writer
+ */
+public class AsyncSequenceStreamWriterIntegrationTest extends SequenceStreamWriterIntegrationTestBase<FastaData> {
+    private static final String WRITER_TEST_FILE = "build/asynctestwriter.fasta";
+
+    @Override
+    protected FastaData getTestData() {
+        return new FastaData();
+    }
+
+    @Override
+    protected SequenceStreamWriter getWriter(final String path) throws Exception {
+        return AsyncSequenceStreamWriter.of(FastaFileStreamWriter.create(path));
+    }
+
+    @Override
+    protected SequenceStreamReader getReader(final String path) throws Exception {
+        return SequenceStreamReader.builder()
+                .reader(FastaStringFileStreamReader.create(path))
+                .factory(new FastaSequenceFactory())
+                .build();
+    }
+
+    @Override
+    protected String getTestFile() {
+        return WRITER_TEST_FILE;
+    }
+
+    /**
+     * Records queued asynchronously are written in order, and their futures count the characters written
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteAsync() throws Exception {
+        val expected = new ArrayList<Sequence>();
+        try (val reader = getReader(testData.getPagingRequiredPath())) {
+            reader.forEach(sequence -> expected.add(sequence.get()));
+        }
+
+        long charactersWritten = 0;
+        try (val writer = AsyncSequenceStreamWriter.builder()
+                .writer(FastaFileStreamWriter.create(WRITER_TEST_FILE))
+                .queueSize(2)
+                .build()) {
+            val results = new ArrayList<CompletableFuture<Integer>>();
+            for (val sequence : expected) {
+                results.add(writer.writeAsync(sequence));
+            }
+            for (val result : results) {
+                charactersWritten += result.get();
+            }
+        }
+
+        assertThat(charactersWritten, is(new File(WRITER_TEST_FILE).length()));
+
+        val actual = new ArrayList<Sequence>();
+        try (val reader = getReader(WRITER_TEST_FILE)) {
+            reader.forEach(sequence -> actual.add(sequence.get()));
+        }
+        assertThat(actual, is(expected));
+    }
+
+    /**
+     * Flushing waits for the queued records, so they are in the file before the writer is closed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFlush() throws Exception {
+        try (val writer = AsyncSequenceStreamWriter.of(FastaFileStreamWriter.create(WRITER_TEST_FILE))) {
+            val result = writer.writeAsync(testData.getRealExample1Sequence());
+            writer.flush();
+
+            assertThat(result.isDone(), is(true));
+            assertThat(new File(WRITER_TEST_FILE).length(), is((long) result.get()));
+        }
+    }
+
+    /**
+     * A failed write fails its future and every later write, and is reported when the writer is closed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        val writer = AsyncSequenceStreamWriter.of(new FailingWriter());
+        val failed = writer.writeAsync(testData.getRealExample1Sequence());
+        val later = writer.writeAsync(testData.getRealExample2Sequence());
+
+        assertFails(failed);
+        assertFails(later);
+
+        try {
+            writer.flush();
+            fail("The flush should report the failed write");
+        } catch (final IOException e) {
+            // expected
+        }
+
+        try {
+            writer.close();
+            fail("Closing should report the failed write");
+        } catch (final IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * An error thrown by the wrapped writer fails its future and every later write instead of stopping the writer thread
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 30000)
+    public void testError() throws Exception {
+        val writer = AsyncSequenceStreamWriter.of(new ErrorWriter());
+        val failed = writer.writeAsync(testData.getRealExample1Sequence());
+        val later = writer.writeAsync(testData.getRealExample2Sequence());
+
+        try {
+            failed.get();
+            fail("The write should have failed");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(AssertionError.class));
+        }
+        assertFails(later);
+
+        try {
+            writer.close();
+            fail("Closing should report the failed write");
+        } catch (final IOException e) {
+            assertThat(e.getCause(), instanceOf(AssertionError.class));
+        }
+    }
+
+    /**
+     * Producers are held back while the queue is full
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQueueFull() throws Exception {
+        val blocked = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+
+        try (val writer = AsyncSequenceStreamWriter.builder()
+                .writer(new BlockingWriter(blocked, release))
+                .queueSize(1)
+                .build()) {
+            writer.writeAsync(testData.getRealExample1Sequence());
+            blocked.await();
+            writer.writeAsync(testData.getRealExample2Sequence());
+
+            val producer = new Thread(() -> writer.writeAsync(testData.getRealExample3Sequence()));
+            producer.start();
+            producer.join(200);
+            assertThat(producer.isAlive(), is(true));
+
+            release.countDown();
+            producer.join();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteAfterClose() throws Exception {
+        val writer = AsyncSequenceStreamWriter.of(FastaFileStreamWriter.create(WRITER_TEST_FILE));
+        writer.close();
+        writer.close();
+
+        writer.writeAsync(testData.getRealExample1Sequence());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueSize() throws Exception {
+        AsyncSequenceStreamWriter.builder()
+                .writer(new FailingWriter())
+                .queueSize(0)
+                .build();
+    }
+
+    private static void assertFails(final CompletableFuture<Integer> result) throws InterruptedException {
+        try {
+            result.get();
+            fail("The write should have failed");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    /**
+     * A writer that cannot write anything
+     */
+    private static final class FailingWriter implements SequenceStreamWriter {
+        @Override
+        public int write(final Sequence sequence) throws IOException {
+            throw new IOException("The disk is full");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A writer that throws an error on every write
+     */
+    private static final class ErrorWriter implements SequenceStreamWriter {
+        @Override
+        public int write(final Sequence sequence) {
+            throw new AssertionError("The record is corrupt");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A writer that holds its first write until it is released
+     */
+    private static final class BlockingWriter implements SequenceStreamWriter {
+        private final CountDownLatch blocked;
+        private final CountDownLatch release;
+
+        private BlockingWriter(final CountDownLatch blocked, final CountDownLatch release) {
+            this.blocked = blocked;
+            this.release = release;
+        }
+
+        @Override
+        public int write(final Sequence sequence) throws IOException {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            return sequence.length();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
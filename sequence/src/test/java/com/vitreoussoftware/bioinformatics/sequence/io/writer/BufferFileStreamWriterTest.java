@@ -0,0 +1,112 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.writer;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import lombok.val;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the BufferFileStreamWriter class
+ */
+public class BufferFileStreamWriterTest {
+    private static final String BUFFER_TEST_FILE = "build/bufferwritertest.txt";
+
+    /**
+     * Output larger than the buffer is flushed as it is written
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSmallBuffer() throws Exception {
+        val text = new StringBuilder();
+        for (int i = 0; i < 100; i++)
+            text.append("ACGT");
+        val sequence = BasicSequence.create(text.toString(), new ExpandedIupacEncodingScheme()).get();
+
+        try (val writer = create(64)) {
+            writer.write("header\n");
+            assertThat(writer.writeLines(sequence, 30), is(400 + 14));
+        }
+
+        val expected = new StringBuilder("header\n");
+        for (int start = 0; start < text.length(); start += 30)
+            expected.append(text, start, Math.min(text.length(), start + 30)).append('\n');
+        assertThat(read(), is(expected.toString()));
+    }
+
+    /**
+     * Numbers are right aligned and never truncated
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteNumber() throws Exception {
+        try (val writer = create(64)) {
+            assertThat(writer.writeNumber(42, 5), is(5));
+            writer.write('|');
+            assertThat(writer.writeNumber(1234567, 3), is(7));
+            writer.write('|');
+            assertThat(writer.writeNumber(0, 0), is(1));
+        }
+
+        assertThat(read(), is(String.format("%5d|%3d|%d", 42, 1234567, 0)));
+        assertThat(BufferFileStreamWriter.digits(1000), is(4));
+    }
+
+    /**
+     * Quality scores and fill characters are wrapped like sequences
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteQualityLines() throws Exception {
+        try (val writer = create(64)) {
+            assertThat(writer.writeLines(QualityScores.parse("!#%'+5?I", false), 3), is(11));
+            assertThat(writer.writeLines('I', 4, 3), is(6));
+        }
+
+        assertThat(read(), is("!#%\n'+5\n?I\nIII\nI\n"));
+    }
+
+    /**
+     * Text outside of ASCII is written as UTF-8
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnicode() throws Exception {
+        try (val writer = create(64)) {
+            writer.write("caf\u00e9");
+        }
+
+        assertThat(new String(Files.readAllBytes(Paths.get(BUFFER_TEST_FILE)), "UTF-8"), is("caf\u00e9"));
+    }
+
+    /**
+     * Buffers must hold a reasonable amount of data
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBufferSize() throws Exception {
+        create(1);
+    }
+
+    private static BufferFileStreamWriter create(final int bufferSize) throws Exception {
+        return BufferFileStreamWriter.builder()
+                .filePath(BUFFER_TEST_FILE)
+                .bufferSize(bufferSize)
+                .build();
+    }
+
+    private static String read() throws Exception {
+        return new String(Files.readAllBytes(Paths.get(BUFFER_TEST_FILE)), "US-ASCII");
+    }
+}
@@ -0,0 +1,301 @@
+package com.vitreoussoftware.bioinformatics.sequence.io.writer;
+
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
+import com.vitreoussoftware.bioinformatics.sequence.io.FastqData;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fasta.FastaStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.PartitionedSequenceStreamWriter.Partitioner;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.fasta.FastaFileStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.io.writer.fastq.FastqFileStreamWriter;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the PartitionedSequenceStreamWriter class
+ */
+public class PartitionedSequenceStreamWriterIntegrationTest {
+    private static final String FASTA_PATTERN = "build/partitionedtest.%02d.fasta";
+    private static final String FASTQ_PATTERN = "build/partitionedtest.%02d.fq";
+
+    private FastaData fastaData;
+    private FastqData fastqData;
+
+    @Before
+    public void setup() {
+        fastaData = new FastaData();
+        fastqData = new FastqData();
+    }
+
+    /**
+     * Round robin deals the records out to every shard in turn, keeping their quality scores
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundRobin() throws Exception {
+        val expected = readFastq(fastqData.getComplexExamplesPath());
+        final int shards = 3;
+
+        final List<String> files;
+        try (val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTQ_PATTERN)
+                .writerFactory(FastqFileStreamWriter::create)
+                .partitioner(Partitioner.roundRobin(shards))
+                .build()) {
+            writer.writeAll(expected);
+            files = writer.getFiles();
+        }
+
+        assertThat(files, is(Arrays.asList("build/partitionedtest.00.fq", "build/partitionedtest.01.fq", "build/partitionedtest.02.fq")));
+        for (int shard = 0; shard < shards; shard++) {
+            val actual = readFastq(files.get(shard));
+            for (int i = 0; i < actual.size(); i++) {
+                val record = expected.get(i * shards + shard);
+                assertThat(actual.get(i), is(record));
+                assertThat(((QualitySequence) actual.get(i)).getQualities(), is(((QualitySequence) record).getQualities()));
+            }
+            assertThat(actual.size(), is((expected.size() - shard + shards - 1) / shards));
+        }
+    }
+
+    /**
+     * Records with the same metadata share a shard, and every record is written once
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testByMetadata() throws Exception {
+        val records = readFasta(fastaData.getPagingRequiredPath());
+        val expected = new ArrayList<Sequence>(records);
+        expected.addAll(records);
+        final int shards = 4;
+
+        long charactersWritten = 0;
+        final List<String> files;
+        try (val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTA_PATTERN)
+                .writerFactory(FastaFileStreamWriter::create)
+                .partitioner(Partitioner.byMetadata(shards))
+                .build()) {
+            for (val sequence : expected) {
+                charactersWritten += writer.write(sequence);
+            }
+            files = writer.getFiles();
+        }
+
+        long fileLength = 0;
+        int written = 0;
+        for (val file : files) {
+            fileLength += new File(file).length();
+            for (val sequence : readFasta(file)) {
+                written++;
+                final int shard = Math.floorMod(sequence.getMetadata().hashCode(), shards);
+                assertThat(file, is(String.format(FASTA_PATTERN, shard)));
+            }
+        }
+        assertThat(written, is(expected.size()));
+        assertThat(charactersWritten, is(fileLength));
+    }
+
+    /**
+     * Size based partitioning fills each shard past the threshold before moving on, keeping the records in order
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBySize() throws Exception {
+        val expected = readFasta(fastaData.getPagingRequiredPath());
+        final long threshold = 1000;
+
+        final List<String> files;
+        try (val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTA_PATTERN)
+                .writerFactory(FastaFileStreamWriter::create)
+                .partitioner(Partitioner.bySize(threshold))
+                .queueSize(4)
+                .build()) {
+            writer.writeAll(expected);
+            files = writer.getFiles();
+        }
+
+        assertTrue("Expected the output to span several shards", files.size() > 1);
+        val actual = new ArrayList<Sequence>();
+        for (int shard = 0; shard < files.size(); shard++) {
+            val records = readFasta(files.get(shard));
+            final long nucleotides = records.stream().mapToLong(Sequence::length).sum();
+            if (shard < files.size() - 1)
+                assertTrue("Shard " + shard + " was closed before reaching the threshold", nucleotides >= threshold);
+            assertTrue("Shard " + shard + " passed the threshold too early", nucleotides - records.get(records.size() - 1).length() < threshold);
+            actual.addAll(records);
+        }
+        assertThat(actual, is(expected));
+    }
+
+    /**
+     * Size based partitioning closes each shard once it is filled, while the later shards are still being written
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBySizeClosesFilledShards() throws Exception {
+        val expected = readFasta(fastaData.getPagingRequiredPath());
+        val open = new AtomicInteger();
+        val mostOpen = new AtomicInteger();
+        final PartitionedSequenceStreamWriter.WriterFactory counting = filePath -> {
+            val writer = FastaFileStreamWriter.create(filePath);
+            mostOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            return new SequenceStreamWriter() {
+                @Override
+                public int write(final Sequence sequence) throws IOException {
+                    return writer.write(sequence);
+                }
+
+                @Override
+                public void close() throws Exception {
+                    writer.close();
+                    open.decrementAndGet();
+                }
+            };
+        };
+
+        final List<String> files;
+        try (val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTA_PATTERN)
+                .writerFactory(counting)
+                .partitioner(Partitioner.bySize(1000))
+                .queueSize(4)
+                .build()) {
+            for (val sequence : expected) {
+                writer.write(sequence);
+                assertThat(open.get(), is(1));
+            }
+            files = writer.getFiles();
+        }
+
+        assertTrue("Expected the output to span several shards", files.size() > 1);
+        assertThat(mostOpen.get(), is(1));
+        assertThat(open.get(), is(0));
+
+        val actual = new ArrayList<Sequence>();
+        for (val file : files) {
+            actual.addAll(readFasta(file));
+        }
+        assertThat(actual, is(expected));
+    }
+
+    /**
+     * A partitioner may not pick a shard it has already finished
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPickFinishedShard() throws Exception {
+        val shards = new int[]{0, 1, 0};
+        val next = new AtomicInteger();
+        try (val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTA_PATTERN)
+                .writerFactory(FastaFileStreamWriter::create)
+                .partitioner(new Partitioner() {
+                    @Override
+                    public int shard(final Sequence sequence) {
+                        return shards[next.getAndIncrement()];
+                    }
+
+                    @Override
+                    public int finishedShards() {
+                        return next.get() - 1;
+                    }
+                })
+                .build()) {
+            for (int i = 0; i < shards.length; i++) {
+                writer.write(fastaData.getRealExample1Sequence());
+            }
+        }
+    }
+
+    /**
+     * Shards that never receive a record are not created
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnusedShards() throws Exception {
+        try (val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTA_PATTERN)
+                .writerFactory(FastaFileStreamWriter::create)
+                .partitioner(sequence -> 2)
+                .build()) {
+            writer.write(fastaData.getRealExample1Sequence());
+            writer.flush();
+
+            assertThat(writer.getFiles(), is(Arrays.asList(writer.shardPath(2))));
+            assertTrue("The shard should hold the flushed record", new File(writer.shardPath(2)).length() > 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPatternWithoutShard() {
+        PartitionedSequenceStreamWriter.builder()
+                .filePattern("build/partitionedtest.fasta")
+                .writerFactory(FastaFileStreamWriter::create)
+                .partitioner(Partitioner.roundRobin(2))
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShards() {
+        Partitioner.byMetadata(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteAfterClose() throws Exception {
+        val writer = PartitionedSequenceStreamWriter.builder()
+                .filePattern(FASTA_PATTERN)
+                .writerFactory(FastaFileStreamWriter::create)
+                .partitioner(Partitioner.roundRobin(2))
+                .build();
+        writer.close();
+
+        writer.write(fastaData.getRealExample1Sequence());
+    }
+
+    private static List<Sequence> readFasta(final String path) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(FastaStringFileStreamReader.create(path))
+                .factory(new FastaSequenceFactory())
+                .build()) {
+            reader.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+
+    private static List<Sequence> readFastq(final String path) throws Exception {
+        val sequences = new ArrayList<Sequence>();
+        try (val reader = SequenceStreamReader.builder()
+                .reader(FastqStringFileStreamReader.create(path))
+                .factory(FastqSequenceFactory.builder().encodingScheme(ExpandedIupacEncodingScheme.instance).qualities(true).build())
+                .build()) {
+            reader.forEach(sequence -> sequences.add(sequence.get()));
+        }
+        return sequences;
+    }
+}
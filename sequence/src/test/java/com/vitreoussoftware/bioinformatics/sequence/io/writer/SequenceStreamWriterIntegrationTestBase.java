@@ -9,6 +9,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -182,4 +183,35 @@ public abstract class SequenceStreamWriterIntegrationTestBase<T extends TestData
             assertEquals(testData.getRealExample3Sequence(), reader.next().get());
         }
     }
+
+    /**
+     * Write a batch of records, which count the same characters as writing them one at a time
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteAll() throws Exception {
+        final Iterable<Sequence> sequences = Arrays.asList(
+                testData.getRealExample1Sequence(),
+                testData.getRealExample2Sequence(),
+                testData.getRealExample3Sequence());
+
+        long expected = 0;
+        try (SequenceStreamWriter writer = getWriter()) {
+            for (final Sequence sequence : sequences)
+                expected += writer.write(sequence);
+        }
+
+        try (SequenceStreamWriter writer = getWriter()) {
+            assertEquals(expected, writer.writeAll(sequences));
+            writer.flush();
+            assertEquals(expected, new File(getTestFile()).length());
+        }
+
+        try (SequenceStreamReader reader = getReader()) {
+            for (final Sequence sequence : sequences)
+                assertEquals(sequence, reader.next().get());
+            assertFalse(reader.hasNext());
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.vitreoussoftware.bioinformatics.sequence.io.writer.fasta;
 
+import com.vitreoussoftware.bioinformatics.sequence.Sequence;
 import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
 import com.vitreoussoftware.bioinformatics.sequence.io.FastaData;
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamReader;
@@ -9,6 +10,12 @@ import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWrit
 import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriterIntegrationTestBase;
 import org.junit.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
 /**
  * Test the FastaFileStreamWriter class
  *
@@ -88,4 +95,50 @@ public class FastaFileStreamWriterIntegrationTest extends SequenceStreamWriterIn
     public void testReadRecordLargeHeader() throws Exception {
         writeAndCheckSequence(testData.getFastaLargeHeaderSequence());
     }
+
+    /**
+     * Rows of sequence data are wrapped at the requested length
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRowLength() throws Exception {
+        try (SequenceStreamWriter writer = FastaFileStreamWriter.create(WRITER_TEST_FILE, 7)) {
+            writer.write(testData.getRealExample1Sequence());
+        }
+
+        final String expected = testData.getRealExample1();
+        final String[] lines = new String(Files.readAllBytes(Paths.get(WRITER_TEST_FILE))).split("\n");
+        assertThat(lines.length, is(1 + (expected.length() + 6) / 7));
+        for (int i = 1; i < lines.length - 1; i++)
+            assertThat(lines[i].length(), is(7));
+
+        writeAndCheckSequence(testData.getRealExample1Sequence());
+    }
+
+    /**
+     * Rows must hold at least one nucleotide
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRowLength() throws Exception {
+        FastaFileStreamWriter.create(WRITER_TEST_FILE, 0);
+    }
+
+    /**
+     * Metadata outside of ASCII is read back as it was written
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadRecordNonAsciiMetadata() throws Exception {
+        final Sequence expected = new FastaSequenceFactory()
+                .fromString("caf\u00e9 \u00b5m", testData.getRealExample1Sequence().toString()).get();
+        writeAndCheckSequence(expected);
+
+        try (SequenceStreamReader reader = getReader(WRITER_TEST_FILE)) {
+            assertThat(reader.next().get().getMetadata(), is("caf\u00e9 \u00b5m"));
+        }
+    }
 }
@@ -6,8 +6,15 @@ import com.vitreoussoftware.bioinformatics.sequence.io.reader.SequenceStreamRead
 import com.vitreoussoftware.bioinformatics.sequence.io.reader.fastq.FastqStringFileStreamReader;
 import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriter;
 import com.vitreoussoftware.bioinformatics.sequence.io.writer.SequenceStreamWriterIntegrationTestBase;
+import com.vitreoussoftware.bioinformatics.sequence.io.reader.StringStreamReader;
+import com.vitreoussoftware.bioinformatics.sequence.quality.BasicQualitySequence;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualityScores;
+import com.vitreoussoftware.bioinformatics.sequence.quality.QualitySequence;
+import org.javatuples.Triplet;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * Test the FastqFileStreamWriter class
  *
@@ -95,4 +102,35 @@ public class FastqFileStreamWriterIntegrationTest extends SequenceStreamWriterIn
     public void testReadRecordComplex7() throws Exception {
         writeAndCheckSequence(testData.getComplex7Sequence());
     }
+
+    /**
+     * Write the quality scores of a {@link QualitySequence} and read them back
+     */
+    @Test
+    public void testWriteQuality() throws Exception {
+        final QualitySequence expected = BasicQualitySequence.of(testData.getComplex2Sequence(),
+                QualityScores.parse(testData.getComplex2Quality(), false));
+        writeSequence(expected);
+
+        try (StringStreamReader reader = FastqStringFileStreamReader.create(getTestFile())) {
+            assertEquals(testData.getComplex2Quality(), reader.nextWithQuality().getValue2());
+        }
+    }
+
+    /**
+     * Metadata outside of ASCII is read back as it was written
+     */
+    @Test
+    public void testReadRecordNonAsciiMetadata() throws Exception {
+        final QualitySequence expected = BasicQualitySequence.of(
+                new FastaSequenceFactory().fromString("caf\u00e9 \u00b5m", testData.getComplex2Sequence().toString()).get(),
+                QualityScores.parse(testData.getComplex2Quality(), false));
+        writeSequence(expected);
+
+        try (StringStreamReader reader = FastqStringFileStreamReader.create(getTestFile())) {
+            final Triplet<String, String, String> record = reader.nextWithQuality();
+            assertEquals("caf\u00e9 \u00b5m", record.getValue0());
+            assertEquals(testData.getComplex2Quality(), record.getValue2());
+        }
+    }
 }
@@ -0,0 +1,176 @@
+package com.vitreoussoftware.bioinformatics.sequence.packed;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.embl.EmblSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.fasta.FastaSequenceFactory;
+import com.vitreoussoftware.bioinformatics.sequence.fastq.FastqSequenceFactory;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+
+/**
+ * Test parts of the {@link NibblePackedSequence} and the packed {@link PackedSequences} selection
+ */
+public class NibblePackedSequenceTest {
+    /**
+     * Every IUPAC character, long enough to span several words of packed data
+     */
+    private static final String IUPAC_SEQUENCE = "ACGTURYKMSWBDHVNNVHDBWSMKYRUTGCAACGTURYKMSWBDHVN";
+
+    @Test
+    public void testSupports() {
+        assertThat(NibblePackedSequence.supports(IupacEncodingScheme.instance), is(true));
+        assertThat(NibblePackedSequence.supports(BasicDnaEncodingScheme.instance), is(true));
+        assertThat(NibblePackedSequence.supports(ExpandedIupacEncodingScheme.instance), is(false));
+    }
+
+    @Test
+    public void testCreate() {
+        val sequence = NibblePackedSequence.create("metadata", IUPAC_SEQUENCE, IupacEncodingScheme.instance);
+
+        assertThat(sequence.isPresent(), is(true));
+        assertThat(sequence.get().length(), is(IUPAC_SEQUENCE.length()));
+        assertThat(sequence.get().getMetadata(), is("metadata"));
+        assertThat(sequence.get().toString(), is(IUPAC_SEQUENCE));
+    }
+
+    @Test
+    public void testCreateInvalid() {
+        val sequence = NibblePackedSequence.create("ACGX", IupacEncodingScheme.instance);
+
+        assertThat(sequence.isPresent(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateUnsupportedScheme() {
+        NibblePackedSequence.createWithError("", "ACGT", ExpandedIupacEncodingScheme.instance);
+    }
+
+    /**
+     * Packed words round trip through {@link PackedSequences#unpack}, whatever representation they were packed from
+     */
+    @Test
+    public void testPackUnpack() {
+        val packed = NibblePackedSequence.create("metadata", IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+        val basic = BasicSequence.create("metadata", IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+
+        assertThat(PackedSequences.pack(basic), is(PackedSequences.pack(packed)));
+
+        val unpacked = PackedSequences.unpack("metadata", PackedSequences.pack(basic), IUPAC_SEQUENCE.length(), IupacEncodingScheme.instance);
+        assertThat(unpacked, instanceOf(NibblePackedSequence.class));
+        assertThat(unpacked.toString(), is(IUPAC_SEQUENCE));
+        assertThat(unpacked.getMetadata(), is("metadata"));
+        assertThat(unpacked, is(packed));
+
+        val dna = BasicSequence.create("dna", "ACGTTGCAACGTTGCAACGTTGCAACGTTGCAACGT", BasicDnaEncodingScheme.instance).get();
+        val unpackedDna = PackedSequences.unpack("dna", PackedSequences.pack(dna), dna.length(), BasicDnaEncodingScheme.instance);
+        assertThat(unpackedDna, instanceOf(PackedDnaSequence.class));
+        assertThat(unpackedDna, is(dna));
+        assertThat(PackedSequences.bitsPerBase(BasicDnaEncodingScheme.instance), is(2));
+        assertThat(PackedSequences.bitsPerBase(IupacEncodingScheme.instance), is(4));
+        assertThat(PackedSequences.bitsPerBase(ExpandedIupacEncodingScheme.instance), is(Byte.SIZE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnpackWrongLength() {
+        val packed = NibblePackedSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+
+        PackedSequences.unpack("", PackedSequences.pack(packed), IUPAC_SEQUENCE.length() * 2, IupacEncodingScheme.instance);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnpackTrailingBits() {
+        val words = PackedSequences.pack(NibblePackedSequence.create("ACGT", IupacEncodingScheme.instance).get());
+        words[0] |= 1L << 60;
+
+        PackedSequences.unpack("", words, 4, IupacEncodingScheme.instance);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnpackDnaTrailingBits() {
+        val words = PackedSequences.pack(PackedDnaSequence.create("ACGT").get());
+        words[0] |= 1L << 60;
+
+        PackedSequences.unpack("", words, 4, BasicDnaEncodingScheme.instance);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrapCodeOutsideAlphabet() {
+        NibblePackedSequence.wrap("", new long[]{0xF}, 1, BasicDnaEncodingScheme.instance);
+    }
+
+    /**
+     * The {@link com.vitreoussoftware.bioinformatics.sequence.BasePair} handed back must carry the original encoding
+     * so ambiguity aware operations such as complement still work
+     */
+    @Test
+    public void testGetKeepsEncoding() {
+        val sequence = NibblePackedSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+
+        for (int i = 0; i < IUPAC_SEQUENCE.length(); i++) {
+            val expected = IupacEncodingScheme.instance.fromCharacter(IUPAC_SEQUENCE.charAt(i));
+            assertThat(sequence.get(i), is(expected));
+            assertThat(sequence.get(i).getValue(), is(expected.getValue()));
+            assertThat(sequence.get(i).complement(), is(expected.complement()));
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        val sequenceA = NibblePackedSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+        val sequenceB = NibblePackedSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+
+        assertThat(sequenceA, is(sequenceB));
+        assertThat(sequenceA.hashCode(), is(sequenceB.hashCode()));
+    }
+
+    @Test
+    public void testEqualsCanFail() {
+        val sequenceA = NibblePackedSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+        val sequenceB = NibblePackedSequence.create(IUPAC_SEQUENCE.replace('N', 'A'), IupacEncodingScheme.instance).get();
+
+        assertThat(sequenceA, is(not(sequenceB)));
+    }
+
+    @Test
+    public void testEqualsDifferentEncodingSchemes() {
+        val sequenceA = NibblePackedSequence.create("ACGT", IupacEncodingScheme.instance).get();
+        val sequenceB = NibblePackedSequence.create("ACGT", BasicDnaEncodingScheme.instance).get();
+
+        assertThat(sequenceA, is(sequenceB));
+    }
+
+    @Test
+    public void testEqualsBasicSequence() {
+        val packed = NibblePackedSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+        val basic = BasicSequence.create(IUPAC_SEQUENCE, IupacEncodingScheme.instance).get();
+
+        assertThat(packed, is(basic));
+        assertThat(basic, is(packed));
+        assertThat(packed.hashCode(), is(basic.hashCode()));
+    }
+
+    @Test
+    public void testPackedSequencesSelection() {
+        assertThat(PackedSequences.create("", "ACGT", BasicDnaEncodingScheme.instance).get(), is(instanceOf(PackedDnaSequence.class)));
+        assertThat(PackedSequences.create("", "ACGT", IupacEncodingScheme.instance).get(), is(instanceOf(NibblePackedSequence.class)));
+        assertThat(PackedSequences.create("", "ACGT", ExpandedIupacEncodingScheme.instance).get(), is(instanceOf(BasicSequence.class)));
+    }
+
+    @Test
+    public void testFactoriesCreatePacked() {
+        val scheme = IupacEncodingScheme.instance;
+
+        assertThat(new FastaSequenceFactory(scheme, true).fromString(IUPAC_SEQUENCE).get(), is(instanceOf(NibblePackedSequence.class)));
+        assertThat(FastqSequenceFactory.builder().encodingScheme(scheme).packed(true).build().fromString(IUPAC_SEQUENCE).get(), is(instanceOf(NibblePackedSequence.class)));
+        assertThat(new EmblSequenceFactory(scheme, true).fromString(IUPAC_SEQUENCE).get(), is(instanceOf(NibblePackedSequence.class)));
+        assertThat(new FastaSequenceFactory(scheme).fromString(IUPAC_SEQUENCE).get(), is(instanceOf(BasicSequence.class)));
+    }
+}
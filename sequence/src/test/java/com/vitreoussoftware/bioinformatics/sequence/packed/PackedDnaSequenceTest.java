@@ -0,0 +1,158 @@
+package com.vitreoussoftware.bioinformatics.sequence.packed;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+
+/**
+ * Test parts of the {@link PackedDnaSequence}
+ */
+public class PackedDnaSequenceTest {
+    /**
+     * Long enough to span several words of packed data
+     */
+    private static final String LONG_SEQUENCE = "ACGTTGCAACGTTGCAACGTTGCAACGTTGCAGGGCCCAAATTTACGTACGTACGTACGTACGTACGTAC";
+
+    @Test
+    public void testCreate() {
+        val sequence = PackedDnaSequence.create("metadata", LONG_SEQUENCE);
+
+        assertThat(sequence.isPresent(), is(true));
+        assertThat(sequence.get().length(), is(LONG_SEQUENCE.length()));
+        assertThat(sequence.get().getMetadata(), is("metadata"));
+        assertThat(sequence.get().toString(), is(LONG_SEQUENCE));
+    }
+
+    @Test
+    public void testCreateLowerCase() {
+        val sequence = PackedDnaSequence.create("acgt");
+
+        assertThat(sequence.get().toString(), is("ACGT"));
+    }
+
+    @Test
+    public void testCreateInvalid() {
+        val sequence = PackedDnaSequence.create("ACGUN");
+
+        assertThat(sequence.isPresent(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateEmpty() {
+        PackedDnaSequence.createWithError("", "");
+    }
+
+    @Test
+    public void testGet() {
+        val sequence = PackedDnaSequence.create(LONG_SEQUENCE).get();
+
+        for (int i = 0; i < LONG_SEQUENCE.length(); i++) {
+            assertThat(sequence.get(i), is(BasicDnaEncodingScheme.instance.fromCharacter(LONG_SEQUENCE.charAt(i))));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        PackedDnaSequence.create("ACGT").get().get(4);
+    }
+
+    @Test
+    public void testCreateFromSequence() {
+        val basic = BasicSequence.create("metadata", LONG_SEQUENCE, BasicDnaEncodingScheme.instance).get();
+        val packed = PackedDnaSequence.create(basic).get();
+
+        assertThat(packed.getMetadata(), is("metadata"));
+        assertThat(packed, is(basic));
+    }
+
+    @Test
+    public void testEquals() {
+        val sequenceA = PackedDnaSequence.create(LONG_SEQUENCE).get();
+        val sequenceB = PackedDnaSequence.create(LONG_SEQUENCE).get();
+
+        assertThat(sequenceA, is(sequenceB));
+        assertThat(sequenceA.hashCode(), is(sequenceB.hashCode()));
+    }
+
+    @Test
+    public void testEqualsCanFail() {
+        val sequenceA = PackedDnaSequence.create(LONG_SEQUENCE).get();
+        val sequenceB = PackedDnaSequence.create(LONG_SEQUENCE.replace('G', 'C')).get();
+
+        assertThat(sequenceA, is(not(sequenceB)));
+    }
+
+    /**
+     * A is stored as all zero bits, so make sure length is part of equality
+     */
+    @Test
+    public void testEqualsDifferentLength() {
+        val sequenceA = PackedDnaSequence.create("A").get();
+        val sequenceB = PackedDnaSequence.create("AA").get();
+
+        assertThat(sequenceA, is(not(sequenceB)));
+    }
+
+    @Test
+    public void testEqualsBasicSequence() {
+        val packed = PackedDnaSequence.create(LONG_SEQUENCE).get();
+        val basic = BasicSequence.create(LONG_SEQUENCE, BasicDnaEncodingScheme.instance).get();
+
+        assertThat(packed, is(basic));
+        assertThat(basic, is(packed));
+    }
+
+    @Test
+    public void testHashCodeMatchesBasicSequence() {
+        val packed = PackedDnaSequence.create(LONG_SEQUENCE).get();
+        val basic = BasicSequence.create(LONG_SEQUENCE, BasicDnaEncodingScheme.instance).get();
+
+        assertThat(packed.hashCode(), is(basic.hashCode()));
+    }
+
+    @Test
+    public void testCopyValues() {
+        val sequence = PackedDnaSequence.create(LONG_SEQUENCE).get();
+        val expected = BasicSequence.create(LONG_SEQUENCE, BasicDnaEncodingScheme.instance).get();
+
+        // cover ranges that start and end in the middle of a word
+        for (int from = 0; from < 40; from += 7) {
+            val length = LONG_SEQUENCE.length() - from - 3;
+            val destination = new byte[length + 1];
+            sequence.copyValues(from, destination, 1, length);
+
+            for (int i = 0; i < length; i++) {
+                assertThat(destination[i + 1], is(expected.getValue(from + i)));
+                assertThat(sequence.getValue(from + i), is(expected.getValue(from + i)));
+            }
+        }
+    }
+
+    @Test
+    public void testFingerprintMatchesBasicSequence() {
+        val packed = PackedDnaSequence.create(LONG_SEQUENCE).get();
+        val basic = BasicSequence.create(LONG_SEQUENCE, BasicDnaEncodingScheme.instance).get();
+
+        assertThat(packed.fingerprint(), is(basic.fingerprint()));
+    }
+
+    /**
+     * The fingerprint is computed in chunks, so make sure sequences spanning several chunks still agree
+     */
+    @Test
+    public void testFingerprintMatchesBasicSequenceAcrossChunks() {
+        val builder = new StringBuilder();
+        while (builder.length() < 20000) {
+            builder.append(LONG_SEQUENCE);
+        }
+        val packed = PackedDnaSequence.create(builder.toString()).get();
+        val basic = BasicSequence.create(builder.toString(), BasicDnaEncodingScheme.instance).get();
+
+        assertThat(packed.fingerprint(), is(basic.fingerprint()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.vitreoussoftware.bioinformatics.sequence.quality;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.ExpandedIupacEncodingScheme;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link BasicQualitySequence}
+ */
+public class BasicQualitySequenceTest {
+    private static final String SEQUENCE = "ACGTTGCANN";
+    private static final String QUALITY = "II9IG9IC#!";
+
+    private QualitySequence create() {
+        return BasicQualitySequence.of(BasicSequence.create("meta", SEQUENCE, ExpandedIupacEncodingScheme.instance).get(),
+                QualityScores.parse(QUALITY, false));
+    }
+
+    /**
+     * The sequence keeps both the nucleotides and the scores
+     */
+    @Test
+    public void testCreate() {
+        val sequence = create();
+
+        assertThat(sequence.toString(), is(SEQUENCE));
+        assertThat(sequence.getMetadata(), is("meta"));
+        assertThat(sequence.getQualities().toString(), is(QUALITY));
+        assertThat(sequence.getQuality(0), is((byte) 40));
+        assertThat(sequence.getQuality(9), is((byte) 0));
+    }
+
+    /**
+     * There must be a score for every nucleotide
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateMismatchedLength() {
+        BasicQualitySequence.of(BasicSequence.create(SEQUENCE, ExpandedIupacEncodingScheme.instance).get(),
+                QualityScores.parse("III", false));
+    }
+
+    /**
+     * Equality only considers the nucleotides, in both directions
+     */
+    @Test
+    public void testEqualsPlainSequence() {
+        val plain = BasicSequence.create(SEQUENCE, ExpandedIupacEncodingScheme.instance).get();
+        val sequence = create();
+
+        assertThat(sequence.equals(plain), is(true));
+        assertThat(plain.equals(sequence), is(true));
+        assertThat(sequence.hashCode(), is(plain.hashCode()));
+        assertThat(sequence.fingerprint(), is(plain.fingerprint()));
+    }
+
+    /**
+     * A sub sequence keeps the matching scores
+     */
+    @Test
+    public void testSubSequence() {
+        val sub = create().subSequence(2, 7);
+
+        assertThat(sub.toString(), is(SEQUENCE.substring(2, 7)));
+        assertThat(sub.getQualities().toString(), is(QUALITY.substring(2, 7)));
+    }
+
+    /**
+     * The reverse complement keeps the scores, in reverse order
+     */
+    @Test
+    public void testReverseComplement() {
+        val reversed = create().reverseComplement();
+
+        assertThat(reversed.toString(), is("NNTGCAACGT"));
+        assertThat(reversed.getQualities().toString(), is(new StringBuilder(QUALITY).reverse().toString()));
+        assertThat(reversed.subSequence(1, 4).getQualities().toString(), is("#CI"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.vitreoussoftware.bioinformatics.sequence.quality;
+
+import com.vitreoussoftware.bioinformatics.sequence.InvalidDnaFormatException;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link QualityScores}
+ */
+public class QualityScoresTest {
+    private static final String QUALITY = "!\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~";
+
+    /**
+     * Unbinned scores are kept exactly
+     */
+    @Test
+    public void testParse() {
+        val qualities = QualityScores.parse(QUALITY, false);
+
+        assertThat(qualities.length(), is(QUALITY.length()));
+        assertThat(qualities.isBinned(), is(false));
+        for (int i = 0; i < QUALITY.length(); i++) {
+            assertThat(qualities.get(i), is((byte) i));
+        }
+        assertThat(qualities.toString(), is(QUALITY));
+    }
+
+    /**
+     * Binned scores return the representative score of their bin
+     */
+    @Test
+    public void testParseBinned() {
+        val qualities = QualityScores.parse(QUALITY, true);
+        final byte[] expected = {0, 0, 6, 6, 6, 6, 6, 6, 6, 6, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15,
+                22, 22, 22, 22, 22, 27, 27, 27, 27, 27, 33, 33, 33, 33, 33, 37, 37, 37, 37, 37, 40, 40};
+
+        assertThat(qualities.isBinned(), is(true));
+        for (int i = 0; i < QUALITY.length(); i++) {
+            assertThat("score " + i, qualities.get(i), is(i < expected.length ? expected[i] : 40));
+        }
+    }
+
+    /**
+     * Binning is stable, binning already binned scores does not change them
+     */
+    @Test
+    public void testBinnedRoundTrip() {
+        val binned = QualityScores.parse(QUALITY, true);
+        assertThat(QualityScores.parse(binned.toString(), true), is(binned));
+        assertThat(QualityScores.parse(binned.toString(), false), is(binned));
+    }
+
+    /**
+     * Construct from Phred scores
+     */
+    @Test
+    public void testOf() {
+        assertThat(QualityScores.of(new byte[]{0, 40, 93}, false).toString(), is("!I~"));
+    }
+
+    /**
+     * Scores above the printable range are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfInvalid() {
+        QualityScores.of(new byte[]{94}, false);
+    }
+
+    /**
+     * Characters below the Phred+33 range are rejected
+     */
+    @Test(expected = InvalidDnaFormatException.class)
+    public void testParseInvalid() {
+        QualityScores.parse("II I", false);
+    }
+
+    /**
+     * A range shares the scores
+     */
+    @Test
+    public void testRange() {
+        for (val binned : new boolean[]{false, true}) {
+            val range = QualityScores.parse(QUALITY, binned).range(5, 50);
+
+            assertThat(range.length(), is(45));
+            assertThat(range, is(QualityScores.parse(QUALITY.substring(5, 50), binned)));
+        }
+    }
+
+    /**
+     * Reversing copies the scores in reverse order
+     */
+    @Test
+    public void testReverse() {
+        for (val binned : new boolean[]{false, true}) {
+            val reversed = QualityScores.parse(QUALITY, binned).range(5, 50).reverse();
+
+            assertThat(reversed, is(QualityScores.parse(new StringBuilder(QUALITY.substring(5, 50)).reverse(), binned)));
+            assertThat(reversed.isBinned(), is(binned));
+        }
+    }
+
+    /**
+     * A range must fall inside the scores
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRangeOutOfBounds() {
+        QualityScores.parse("IIII", false).range(2, 5);
+    }
+
+    /**
+     * Scores are compared by value
+     */
+    @Test
+    public void testEquals() {
+        assertThat(QualityScores.parse("II#", false), is(QualityScores.parse("II#", false)));
+        assertThat(QualityScores.parse("II#", false).hashCode(), is(QualityScores.parse("II#", false).hashCode()));
+        assertThat(QualityScores.parse("II#", false), is(not(QualityScores.parse("II$", false))));
+    }
+}
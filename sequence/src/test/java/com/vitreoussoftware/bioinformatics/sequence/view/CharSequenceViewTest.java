@@ -0,0 +1,56 @@
+package com.vitreoussoftware.bioinformatics.sequence.view;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedDnaSequence;
+import lombok.val;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Test parts of the {@link CharSequenceView}
+ */
+public class CharSequenceViewTest {
+    private static final String SEQUENCE = "ACGTTGCAACGTTGCANRY";
+
+    @Test
+    public void testCharAt() {
+        val characters = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get().asCharSequence();
+
+        assertThat(characters.length(), is(SEQUENCE.length()));
+        for (int i = 0; i < SEQUENCE.length(); i++) {
+            assertThat(characters.charAt(i), is(SEQUENCE.charAt(i)));
+        }
+    }
+
+    @Test
+    public void testSubSequence() {
+        val characters = PackedDnaSequence.create(SEQUENCE.substring(0, 16)).get().asCharSequence();
+
+        assertThat(characters.subSequence(3, 9).toString(), is(SEQUENCE.substring(3, 9)));
+        assertThat(characters.subSequence(3, 3).length(), is(0));
+    }
+
+    @Test
+    public void testToString() {
+        val characters = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get().asCharSequence();
+
+        assertThat(characters.toString(), is(SEQUENCE));
+    }
+
+    /**
+     * The point of the view is to use String based APIs without copying, so make sure one works
+     */
+    @Test
+    public void testRegex() {
+        val characters = BasicSequence.create(SEQUENCE, IupacEncodingScheme.instance).get().asCharSequence();
+        val matcher = Pattern.compile("TTGCA").matcher(characters);
+
+        assertThat(matcher.find(), is(true));
+        assertThat(matcher.start(), is(3));
+    }
+}
@@ -0,0 +1,90 @@
+package com.vitreoussoftware.bioinformatics.sequence.view;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.IupacEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedDnaSequence;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+/**
+ * Test parts of the {@link ReverseComplementView}
+ */
+public class ReverseComplementViewTest {
+    private static final String SEQUENCE = "AACGTTTGCA";
+    private static final String REVERSE_COMPLEMENT = "TGCAAACGTT";
+
+    @Test
+    public void testReverseComplement() {
+        val sequence = BasicSequence.create("metadata", SEQUENCE, BasicDnaEncodingScheme.instance).get();
+        val view = sequence.reverseComplement();
+
+        assertThat(view, instanceOf(ReverseComplementView.class));
+        assertThat(view.length(), is(SEQUENCE.length()));
+        assertThat(view.toString(), is(REVERSE_COMPLEMENT));
+        assertThat(view.get(0), is(BasicDnaEncodingScheme.T));
+        assertThat(view.getMetadata(), is("metadata"));
+    }
+
+    @Test
+    public void testReverseComplementOfView() {
+        val sequence = BasicSequence.create(SEQUENCE, BasicDnaEncodingScheme.instance).get();
+
+        assertThat(sequence.reverseComplement().reverseComplement(), is(sameInstance(sequence)));
+    }
+
+    @Test
+    public void testReverseComplementAmbiguous() {
+        val sequence = BasicSequence.create("ARYN", IupacEncodingScheme.instance).get();
+
+        assertThat(sequence.reverseComplement().toString(), is("NRYT"));
+    }
+
+    @Test
+    public void testReverseComplementPacked() {
+        val sequence = PackedDnaSequence.create(SEQUENCE).get();
+
+        assertThat(sequence.reverseComplement(), is(BasicSequence.create(REVERSE_COMPLEMENT, BasicDnaEncodingScheme.instance).get()));
+    }
+
+    @Test
+    public void testSubSequence() {
+        val sequence = BasicSequence.create(SEQUENCE, BasicDnaEncodingScheme.instance).get();
+
+        assertThat(sequence.reverseComplement().subSequence(2, 6).toString(), is(REVERSE_COMPLEMENT.substring(2, 6)));
+    }
+
+    @Test
+    public void testCopyValues() {
+        val sequence = BasicSequence.create(SEQUENCE, BasicDnaEncodingScheme.instance).get();
+        val expected = BasicSequence.create(REVERSE_COMPLEMENT, BasicDnaEncodingScheme.instance).get();
+        val view = sequence.reverseComplement();
+        val destination = new byte[6];
+        view.copyValues(3, destination, 1, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(destination[i + 1], is(expected.getValue(3 + i)));
+        }
+    }
+
+    @Test
+    public void testCopyOf() {
+        val sequence = BasicSequence.create("metadata", SEQUENCE, BasicDnaEncodingScheme.instance).get();
+        val copy = BasicSequence.copyOf(sequence.reverseComplement());
+
+        assertThat(copy, instanceOf(BasicSequence.class));
+        assertThat(copy.toString(), is(REVERSE_COMPLEMENT));
+        assertThat(copy.getMetadata(), is("metadata"));
+        assertThat(copy.hashCode(), is(sequence.reverseComplement().hashCode()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        BasicSequence.create(SEQUENCE, BasicDnaEncodingScheme.instance).get().reverseComplement().get(SEQUENCE.length());
+    }
+}
@@ -0,0 +1,71 @@
+package com.vitreoussoftware.bioinformatics.sequence.view;
+
+import com.vitreoussoftware.bioinformatics.sequence.basic.BasicSequence;
+import com.vitreoussoftware.bioinformatics.sequence.encoding.BasicDnaEncodingScheme;
+import com.vitreoussoftware.bioinformatics.sequence.packed.PackedDnaSequence;
+import lombok.val;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+/**
+ * Test parts of the {@link SubSequenceView}
+ */
+public class SubSequenceViewTest {
+    private static final String SEQUENCE = "ACGTTGCAACGTTGCAACGTTGCAACGTTGCAGGGCCC";
+
+    @Test
+    public void testSubSequence() {
+        val parent = PackedDnaSequence.create("metadata", SEQUENCE).get();
+        val view = parent.subSequence(30, 36);
+
+        assertThat(view, instanceOf(SubSequenceView.class));
+        assertThat(view.length(), is(6));
+        assertThat(view.toString(), is(SEQUENCE.substring(30, 36)));
+        assertThat(view.getMetadata(), is("metadata"));
+        assertThat(view.getEncodingScheme(), is(BasicDnaEncodingScheme.instance));
+    }
+
+    @Test
+    public void testEqualsBasicSequence() {
+        val view = PackedDnaSequence.create(SEQUENCE).get().subSequence(5, 20);
+        val basic = BasicSequence.create(SEQUENCE.substring(5, 20), BasicDnaEncodingScheme.instance).get();
+
+        assertThat(view, is(basic));
+        assertThat(basic, is(view));
+        assertThat(view.hashCode(), is(basic.hashCode()));
+    }
+
+    @Test
+    public void testSubSequenceOfView() {
+        val parent = PackedDnaSequence.create(SEQUENCE).get();
+        val view = parent.subSequence(4, 30).subSequence(2, 10);
+
+        assertThat(view.toString(), is(SEQUENCE.substring(6, 14)));
+        assertThat(view.getValue(0), is(parent.getValue(6)));
+    }
+
+    @Test
+    public void testCopyValues() {
+        val parent = PackedDnaSequence.create(SEQUENCE).get();
+        val view = parent.subSequence(10, 30);
+        val destination = new byte[5];
+        view.copyValues(3, destination, 0, 5);
+
+        for (int i = 0; i < destination.length; i++) {
+            assertThat(destination[i], is(parent.getValue(13 + i)));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        PackedDnaSequence.create(SEQUENCE).get().subSequence(0, 4).get(4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCopyValuesOutOfRange() {
+        PackedDnaSequence.create(SEQUENCE).get().subSequence(0, 4).copyValues(2, new byte[4], 0, 3);
+    }
+}